@@ -1,6 +1,11 @@
 package cn.kurt6.landlord;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class Card {
+    static final String[] SUITS = {"♠", "♥", "♣", "♦"};
+
     private final String suit;    // 花色 ♠♥♣♦
     private final int value;      // 牌值 3-15(2), 16(小王), 17(大王)
     
@@ -17,6 +22,48 @@ public class Card {
         return value;
     }
 
+    /**
+     * 获取牌的规范编号(0-53)：普通牌为 (牌值-3)*4+花色序号，小王52，大王53
+     */
+    public int getIndex() {
+        if (value == 16) return 52;
+        if (value == 17) return 53;
+        return (value - 3) * 4 + suitIndex(suit);
+    }
+
+    public static Card fromIndex(int index) {
+        if (index == 52) return new Card("", 16);
+        if (index == 53) return new Card("", 17);
+        return new Card(SUITS[index % 4], index / 4 + 3);
+    }
+
+    // 把一组牌压缩成54位掩码
+    public static long toMask(List<Card> cards) {
+        long mask = 0L;
+        for (Card card : cards) {
+            mask |= 1L << card.getIndex();
+        }
+        return mask;
+    }
+
+    // 从54位掩码还原牌（按牌值降序，与手牌排序一致）
+    public static List<Card> fromMask(long mask) {
+        List<Card> cards = new ArrayList<>(Long.bitCount(mask));
+        for (int i = 53; i >= 0; i--) {
+            if ((mask & (1L << i)) != 0) {
+                cards.add(fromIndex(i));
+            }
+        }
+        return cards;
+    }
+
+    private static int suitIndex(String suit) {
+        for (int i = 0; i < SUITS.length; i++) {
+            if (SUITS[i].equals(suit)) return i;
+        }
+        return 0;
+    }
+
     public String getDisplayName() {
         return switch (value) {
             case 17 -> "大王";
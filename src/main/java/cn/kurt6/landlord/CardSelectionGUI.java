@@ -3,105 +3,160 @@ package cn.kurt6.landlord;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
-import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
-import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.inventory.Inventory;
-import org.bukkit.inventory.ItemFlag;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.*;
 
-public class CardSelectionGUI implements Listener {
+/**
+ * 房间的出牌/叫分界面，事件由全局 GuiListener 按界面持有者转交
+ * 出牌界面每个座位整局只创建一次，之后按格子对比只写入变化的内容，回合之间保持打开
+ * 对局结束或玩家离开后座位界面留作备用，下一局（包括房间被回收复用后）直接沿用
+ */
+public class CardSelectionGUI {
+    private static final int MAX_HAND = 20;                      // 地主最多20张
+    private static final int SEAT_ROWS = (MAX_HAND + 8) / 9 + 2; // 牌区 + 操作行 + 信息行
+
     private final Landlord plugin;
     private final GameRoom gameRoom;
+    private final ItemTemplates templates;
     private final Map<Player, Inventory> openInventories = new HashMap<>();
+    private final Map<UUID, MenuHolder> seatMenus = new HashMap<>();
+    private final Map<MenuHolder, ItemStack[]> shownSlots = new HashMap<>(); // 各座位界面当前显示的内容
+    private final Deque<MenuHolder> spareSeats = new ArrayDeque<>(); // 已关闭、可重新分配的座位界面
     private final Map<Player, List<Integer>> selectedSlots = new HashMap<>();
     private final Set<Player> intentionallyClosing = new HashSet<>();
 
     public CardSelectionGUI(Landlord plugin, GameRoom gameRoom) {
         this.plugin = plugin;
         this.gameRoom = gameRoom;
+        this.templates = plugin.getItemTemplates();
+    }
+
+    /**
+     * 房间移除时清理界面状态
+     */
+    public void cleanup() {
+        openInventories.clear();
+        spareSeats.addAll(seatMenus.values());
+        seatMenus.clear();
+        selectedSlots.clear();
+        intentionallyClosing.clear();
+        reopeningPlayers.clear();
+    }
 
-        Bukkit.getPluginManager().registerEvents(this, plugin);
+    /**
+     * 玩家离开房间时清理其界面状态
+     */
+    public void removePlayer(Player player) {
+        openInventories.remove(player);
+        MenuHolder menu = seatMenus.remove(player.getUniqueId());
+        if (menu != null) {
+            spareSeats.add(menu);
+        }
+        selectedSlots.remove(player);
+        intentionallyClosing.remove(player);
+        reopeningPlayers.remove(player.getUniqueId());
     }
 
+    /**
+     * 轮到玩家出牌时显示出牌界面：已打开则原地更新，否则重新打开本座位的界面
+     */
     public void openGUI(Player player, List<Card> cards) {
         // 手牌为空检查
         if (cards == null || cards.isEmpty()) {
             return;
         }
-        // 如果已经有打开的GUI或是托管玩家，则不再打开
-        if (openInventories.containsKey(player) || gameRoom.isAutoPlay(player)) {
+        // 托管玩家不打开
+        if (gameRoom.isAutoPlay(player)) {
             return;
         }
 
-        // 计算需要的行数 (每行9个物品)
-        // 牌区域: 足够容纳所有牌的最小行数
-        // 操作区: 固定1行
-        // 信息区: 固定1行
-        int cardRows = (int) Math.ceil(cards.size() / 9.0);
-        int totalRows = cardRows + 2; // +1操作行 +1信息行
-
-        Inventory inv = Bukkit.createInventory(player, totalRows * 9, ChatColor.GOLD + "选择要出的牌");
+        // 新的回合清空上一回合的选择
+        selectedSlots.put(player, new ArrayList<>());
+        MenuHolder menu = seatMenus.computeIfAbsent(player.getUniqueId(), this::createSeatMenu);
+        render(player, cards);
 
-        // 添加牌到GUI (从第一行开始)
-        for (int i = 0; i < cards.size(); i++) {
-            inv.setItem(i, createCardItem(cards.get(i), false));
+        if (openInventories.get(player) != menu.getInventory()) {
+            if (openInventories.containsKey(player)) {
+                intentionallyClosing.add(player); // 替换叫分等旧界面，不触发重新打开
+            }
+            gameRoom.runAt(player, () -> player.openInventory(menu.getInventory()));
+            openInventories.put(player, menu.getInventory());
         }
+    }
 
-        // 添加操作按钮 (倒数第二行)
-        int buttonRow = (totalRows - 2) * 9;
-        inv.setItem(buttonRow, createButton(Material.LIME_WOOL, ChatColor.GREEN + "✔ 确认出牌",
-                Collections.singletonList(ChatColor.GRAY + "点击确认出牌")));
-        inv.setItem(buttonRow + 1, createButton(Material.RED_WOOL, ChatColor.RED + "✖ 清空选择",
-                Collections.singletonList(ChatColor.GRAY + "点击清空已选牌")));
-        boolean canPass = !(gameRoom.getLastPlayedCards().isEmpty() && gameRoom.getPassCount() == 0);
-        inv.setItem(buttonRow + 2, createButton(
-                canPass ? Material.YELLOW_WOOL : Material.GRAY_WOOL,  // 如果可以过牌，黄色；否则灰色
-                canPass ? ChatColor.YELLOW + "➜ 过牌" : ChatColor.GRAY + "➜ 不能过牌",
-                Collections.singletonList(canPass ?
-                        ChatColor.GRAY + "点击跳过本轮" :
-                        ChatColor.RED + "第一轮必须出牌！")
-        ));
-        inv.setItem(buttonRow + 3, createButton(Material.BLUE_WOOL,
-                gameRoom.isAutoPlay(player) ? ChatColor.RED + "⏹ 取消托管" : ChatColor.BLUE + "▶ 托管",
-                Collections.singletonList(ChatColor.GRAY + "点击切换托管模式")));
-
-        // 添加分隔线 (操作行剩余位置)
-        for (int i = buttonRow + 4; i < buttonRow + 9; i++) {
-            inv.setItem(i, createSeparator());
+    /**
+     * 对局信息变化后刷新已打开的出牌界面（只发送变化的格子）
+     */
+    public void refresh(Player player) {
+        if (!isViewingSeat(player)) return;
+        List<Card> cards = gameRoom.getPlayerCards(player);
+        if (cards != null) {
+            render(player, cards);
         }
+    }
 
-        // 添加信息展示 (最后一行)
-        int infoRow = (totalRows - 1) * 9;
-        inv.setItem(infoRow, createInfoItem("当前手牌", cards.size() + "张", Material.PAPER));
-        inv.setItem(infoRow + 1, createSelectedCardsInfoItem(player, Collections.emptyList())); // 初始化已选牌信息
-        inv.setItem(infoRow + 2, createLastPlayedInfoItem()); // 显示上家出牌详情
-        inv.setItem(infoRow + 3, createInfoItem("当前倍数", "x" + gameRoom.getMultiplier(), Material.GOLD_INGOT));
-        inv.setItem(infoRow + 4, createInfoItem("当前玩家", gameRoom.getCurrentPlayer().getName(), Material.PLAYER_HEAD));
+    /**
+     * 玩家当前是否开着自己座位的出牌界面
+     */
+    public boolean isViewingSeat(Player player) {
+        MenuHolder menu = seatMenus.get(player.getUniqueId());
+        return menu != null && openInventories.get(player) == menu.getInventory();
+    }
 
-        // 添加分隔线 (信息行剩余位置)
-        for (int i = infoRow + 5; i < infoRow + 9; i++) {
-            inv.setItem(i, createSeparator());
+    /**
+     * 对局结束时关闭所有座位界面，留作下一局备用
+     */
+    public void closeSeats() {
+        for (Map.Entry<Player, Inventory> entry : new ArrayList<>(openInventories.entrySet())) {
+            MenuHolder menu = seatMenus.get(entry.getKey().getUniqueId());
+            if (menu != null && entry.getValue() == menu.getInventory()) {
+                intentionallyClosing.add(entry.getKey()); // 标记为有意关闭
+                Player viewer = entry.getKey();
+                gameRoom.runAt(viewer, viewer::closeInventory);
+            }
         }
+        spareSeats.addAll(seatMenus.values());
+        seatMenus.clear();
+    }
 
-        player.openInventory(inv);
-        openInventories.put(player, inv);
-        selectedSlots.put(player, new ArrayList<>());
+    // 座位界面固定按最大手牌数分配，点击动作只绑定一次；有备用界面时直接沿用
+    private MenuHolder createSeatMenu(UUID playerId) {
+        MenuHolder spare = spareSeats.poll();
+        if (spare != null) {
+            return spare;
+        }
+        MenuHolder menu = new MenuHolder(MenuHolder.Type.CARD_SELECTION, gameRoom, SEAT_ROWS * 9, ChatColor.GOLD + "选择要出的牌");
+        bindClose(menu);
+        for (int i = 0; i < MAX_HAND; i++) {
+            menu.setAction(i, onTurn(this::onCardClick));
+        }
+        int buttonRow = (SEAT_ROWS - 2) * 9;
+        menu.setAction(buttonRow, onTurn((p, e) -> handleConfirm(p, selectedSlots.get(p))));
+        menu.setAction(buttonRow + 1, onTurn((p, e) -> clearSelection(p, selectedSlots.get(p))));
+        menu.setAction(buttonRow + 2, onTurn(this::onPassClick));
+        menu.setAction(buttonRow + 3, onTurn(this::onAutoPlayClick));
+        shownSlots.put(menu, new ItemStack[SEAT_ROWS * 9]);
+        return menu;
     }
 
-    // 在玩家选择牌时实时校验
-    private void updateSelectionValidity(Player player, List<Integer> selected) {
-        Inventory inv = openInventories.get(player);
-        if (inv == null) return;
+    // 计算界面应有的内容，只写入与上次不同的格子
+    private void render(Player player, List<Card> cards) {
+        MenuHolder menu = seatMenus.get(player.getUniqueId());
+        if (menu == null) return;
+        ItemStack[] shown = shownSlots.get(menu);
 
-        List<Card> cards = gameRoom.getPlayerCards(player);
+        List<Integer> selected = selectedSlots.getOrDefault(player, Collections.emptyList());
+        ItemStack[] next = new ItemStack[shown.length];
+
+        // 牌区 (从第一行开始，打出的牌留空)
+        for (int i = 0; i < cards.size() && i < MAX_HAND; i++) {
+            next[i] = templates.card(cards.get(i), selected.contains(i));
+        }
         List<Card> selectedCards = new ArrayList<>();
         for (int index : selected) {
             if (index < cards.size()) {
@@ -109,45 +164,59 @@ public class CardSelectionGUI implements Listener {
             }
         }
 
+        // 操作按钮 (倒数第二行)
+        int buttonRow = (SEAT_ROWS - 2) * 9;
+        next[buttonRow] = confirmButton(selectedCards);
+        next[buttonRow + 1] = templates.clearButton();
+        // 如果可以过牌，黄色；否则灰色
+        boolean canPass = !(gameRoom.getLastPlayedCards().isEmpty() && gameRoom.getPassCount() == 0);
+        next[buttonRow + 2] = templates.passButton(canPass);
+        next[buttonRow + 3] = templates.autoPlayButton(gameRoom.isAutoPlay(player));
+        for (int i = buttonRow + 4; i < buttonRow + 9; i++) {
+            next[i] = templates.separator();
+        }
+
+        // 信息展示 (最后一行)
+        int infoRow = (SEAT_ROWS - 1) * 9;
+        RoomView view = gameRoom.getView();
+        next[infoRow] = createInfoItem("当前手牌", cards.size() + "张", Material.PAPER);
+        next[infoRow + 1] = createSelectedCardsInfoItem(player, selectedCards);
+        next[infoRow + 2] = createLastPlayedInfoItem(); // 显示上家出牌详情
+        next[infoRow + 3] = createInfoItem("当前倍数", "x" + view.getMultiplier(), Material.GOLD_INGOT);
+        next[infoRow + 4] = createInfoItem("当前玩家", view.getCurrentPlayerName(), Material.PLAYER_HEAD);
+        for (int i = infoRow + 5; i < infoRow + 9; i++) {
+            next[i] = templates.separator();
+        }
+
+        Inventory inv = menu.getInventory();
+        for (int slot = 0; slot < next.length; slot++) {
+            if (!Objects.equals(shown[slot], next[slot])) {
+                inv.setItem(slot, next[slot]);
+                shown[slot] = next[slot];
+            }
+        }
+    }
+
+    // 按已选牌的有效性选择确认按钮
+    private ItemStack confirmButton(List<Card> selectedCards) {
+        if (selectedCards.isEmpty()) {
+            return templates.confirmEmpty();
+        }
+
         // 检查牌型有效性
         GameLogic.CardPattern pattern = GameLogic.recognizePattern(selectedCards);
-        boolean isValid = pattern.getType() != GameLogic.CardType.INVALID;
+        if (pattern.getType() == GameLogic.CardType.INVALID) {
+            return templates.confirmInvalid();
+        }
 
-        // 检查是否能压过上家
-        boolean canBeat = true;
-        if (isValid && !gameRoom.getLastPlayedCards().isEmpty()) {
+        // 只有能压过上家时才显示绿色确认按钮
+        if (!gameRoom.getLastPlayedCards().isEmpty()) {
             GameLogic.CardPattern lastPattern = GameLogic.recognizePattern(gameRoom.getLastPlayedCards());
-            canBeat = pattern.canBeat(lastPattern);
-        }
-
-        // 更新确认按钮状态
-        ItemStack confirmButton = inv.getItem((inv.getSize()/9 - 2)*9);
-        if (confirmButton != null) {
-            ItemMeta meta = confirmButton.getItemMeta();
-            if (selected.isEmpty()) {
-                confirmButton.setType(Material.GRAY_WOOL);
-                meta.setDisplayName(ChatColor.GRAY + "✖ 请选择牌");
-                meta.setLore(Collections.singletonList(ChatColor.RED + "请先选择要出的牌"));
-            } else if (isValid) {
-                if (canBeat) {  // 只有能压过时才显示绿色确认按钮
-                    confirmButton.setType(Material.LIME_WOOL);
-                    meta.setDisplayName(ChatColor.GREEN + "✔ 确认出牌");
-                    meta.setLore(Collections.singletonList(ChatColor.GRAY + "牌型: " + GameRoom.getPatternName(pattern.getType())));
-                } else {
-                    confirmButton.setType(Material.RED_WOOL);
-                    meta.setDisplayName(ChatColor.RED + "✖ 无法压过");
-                    meta.setLore(Collections.singletonList(ChatColor.RED + "无法压过上家的牌"));
-                }
-            } else {
-                confirmButton.setType(Material.RED_WOOL);
-                meta.setDisplayName(ChatColor.RED + "✖ 无效牌型");
-                meta.setLore(Collections.singletonList(ChatColor.RED + "请选择有效牌型"));
+            if (!pattern.canBeat(lastPattern)) {
+                return templates.confirmCannotBeat();
             }
-            confirmButton.setItemMeta(meta);
         }
-
-        // 更新已选牌信息显示
-        updateSelectedCardsInfo(player, selectedCards);
+        return templates.confirmPattern(pattern.getType());
     }
 
     // 创建已选牌信息物品
@@ -182,18 +251,6 @@ public class CardSelectionGUI implements Listener {
         return item;
     }
 
-    // 更新已选牌信息
-    private void updateSelectedCardsInfo(Player player, List<Card> selectedCards) {
-        Inventory inv = openInventories.get(player);
-        if (inv == null) return;
-
-        int totalRows = inv.getSize() / 9;
-        int infoRow = (totalRows - 1) * 9;
-
-        ItemStack selectedInfo = createSelectedCardsInfoItem(player, selectedCards);
-        inv.setItem(infoRow + 1, selectedInfo);
-    }
-
     // 创建上家出牌信息物品
     private ItemStack createLastPlayedInfoItem() {
         List<Card> lastPlayed = gameRoom.getLastPlayedCards();
@@ -241,42 +298,6 @@ public class CardSelectionGUI implements Listener {
                 ChatColor.YELLOW + String.valueOf(lastPlayed.size()) + "张";
     }
 
-    private ItemStack createCardItem(Card card, boolean selected) {
-        Material material = getCardMaterial(card);
-        ItemStack item = new ItemStack(material);
-        ItemMeta meta = item.getItemMeta();
-
-        // 设置显示名称（统一使用白色或选中颜色）
-        meta.setDisplayName((selected ? ChatColor.GOLD + "★ " : ChatColor.WHITE) + card.toString());
-
-        // 设置Lore
-        List<String> lore = new ArrayList<>();
-        lore.add(ChatColor.GRAY + "牌值: " + card.getValue());
-        lore.add(ChatColor.GRAY + "花色: " + card.getSuit());
-        lore.add("");
-        lore.add(selected ? ChatColor.RED + "★ 已选中 (点击取消)" : ChatColor.GREEN + "点击选择");
-
-        meta.setLore(lore);
-
-        // 如果牌被选中，添加附魔效果
-        if (selected) {
-            meta.addEnchant(Enchantment.VANISHING_CURSE, 1, true);
-            meta.addItemFlags(ItemFlag.HIDE_ENCHANTS); // 隐藏"附魔"文字
-        }
-
-        item.setItemMeta(meta);
-        return item;
-    }
-
-    private ItemStack createButton(Material material, String name, List<String> lore) {
-        ItemStack item = new ItemStack(material);
-        ItemMeta meta = item.getItemMeta();
-        meta.setDisplayName(name);
-        meta.setLore(lore);
-        item.setItemMeta(meta);
-        return item;
-    }
-
     private ItemStack createInfoItem(String title, String value, Material material) {
         ItemStack item = new ItemStack(material);
         ItemMeta meta = item.getItemMeta();
@@ -286,195 +307,81 @@ public class CardSelectionGUI implements Listener {
         return item;
     }
 
-    private ItemStack createSeparator() {
-        ItemStack item = new ItemStack(Material.GRAY_STAINED_GLASS_PANE);
-        ItemMeta meta = item.getItemMeta();
-        meta.setDisplayName(" ");
-        item.setItemMeta(meta);
-        return item;
+    // 点击投递到房间邮箱，在房间线程上检查并执行；托管玩家或界面已失效时忽略
+    private MenuHolder.Action guarded(MenuHolder.Action action) {
+        return (player, event) -> gameRoom.post(() -> {
+            if (gameRoom.isAutoPlay(player) || !openInventories.containsKey(player)) return;
+            action.click(player, event);
+        });
     }
 
-    private Material getCardMaterial(Card card) {
-        // 根据牌值返回材质
-        int value = card.getValue();
-
-        if (value == 16) return Material.PAPER; // 小王
-        if (value == 17) return Material.BOOK;  // 大王
-
-        // 普通牌根据牌值返回不同材质
-        switch (value) {
-            case 3: return Material.WHITE_CONCRETE;
-            case 4: return Material.ORANGE_CONCRETE;
-            case 5: return Material.MAGENTA_CONCRETE;
-            case 6: return Material.LIGHT_BLUE_CONCRETE;
-            case 7: return Material.YELLOW_CONCRETE;
-            case 8: return Material.LIME_CONCRETE;
-            case 9: return Material.PINK_CONCRETE;
-            case 10: return Material.GRAY_CONCRETE;
-            case 11: return Material.LIGHT_GRAY_CONCRETE;
-            case 12: return Material.CYAN_CONCRETE;
-            case 13: return Material.PURPLE_CONCRETE;
-            case 14: return Material.BLUE_CONCRETE;
-            case 15: return Material.BROWN_CONCRETE;
-            default: return Material.WHITE_CONCRETE; // 默认
-        }
+    // 关闭事件同样投递到房间邮箱处理
+    private void bindClose(MenuHolder menu) {
+        Inventory inventory = menu.getInventory();
+        menu.onClose(player -> gameRoom.post(() -> handleClose(player, inventory)));
     }
 
-    @EventHandler
-    public void onInventoryClick(InventoryClickEvent event) {
-        if (!(event.getWhoClicked() instanceof Player)) return;
-        Player player = (Player) event.getWhoClicked();
-
-        // 如果不是斗地主相关的GUI，直接返回不处理
-        String title = event.getView().getTitle();
-        if (!title.equals(ChatColor.GOLD + "选择要出的牌") &&
-                !title.equals(ChatColor.GOLD + "叫分选择(点击'1'或'2'可查看手牌和地主牌)")) {
-            return;
-        }
-
-        // 防止点击自己物品栏
-        if (event.getClickedInventory() != event.getView().getTopInventory()) {
-            event.setCancelled(true);
-            return;
-        }
-
-        event.setCancelled(true); // 取消斗地主GUI内的所有点击
-
-        // 如果是托管玩家，直接返回
-        if (gameRoom.isAutoPlay(player)) {
-            event.setCancelled(true);
-            return;
-        }
-
-        if (!openInventories.containsKey(player)) return;
-        event.setCancelled(true);
-
-        if (event.getClickedInventory() == null) return;
-        if (event.getClickedInventory().getHolder() != null &&
-                !(event.getClickedInventory().getHolder() instanceof Player)) return;
-
-        ItemStack clickedItem = event.getCurrentItem();
-        if (clickedItem == null) return;
-
-        // 获取库存标题的两种方式
-        title = ChatColor.stripColor(event.getView().getTitle());
-
-        // 判断GUI类型
-        if (title.equals("叫分选择(点击'1'或'2'可查看手牌和地主牌)")) {
-            switch (event.getSlot()) {
-                case 3: // 不叫按钮
-                    gameRoom.handleBiddingCommand(player, "不叫");
-                    player.closeInventory();
-                    break;
-                case 4: // 1分按钮
-                case 5: // 2分按钮
-                case 6: // 3分按钮
-                    // 检查按钮是否被禁用（灰色）
-                    if (clickedItem.getType() == Material.GRAY_WOOL) {
-                        player.sendMessage(ChatColor.RED + "叫分必须高于当前最高分！");
-                        return; // 直接返回，不处理无效点击
-                    }
-                    // 根据按钮位置确定叫分
-                    String bidCommand = "";
-                    switch (event.getSlot()) {
-                        case 4: bidCommand = "1分"; break;
-                        case 5: bidCommand = "2分"; break;
-                        case 6: bidCommand = "3分"; break;
-                    }
-                    gameRoom.handleBiddingCommand(player, bidCommand);
-                    player.closeInventory();
-                    break;
-                // 0-2是信息按钮，7-8是信息/空位，不需要处理
-            }
-        } else if (title.equals("选择要出的牌")) {
-            // 非当前玩家点击牌时，拦截并提示
+    // 出牌界面的操作只允许当前玩家执行
+    private MenuHolder.Action onTurn(MenuHolder.Action action) {
+        return guarded((player, event) -> {
             if (!player.equals(gameRoom.getCurrentPlayer())) {
-                event.setCancelled(true);
-                player.sendMessage(ChatColor.RED + "还没轮到你！");
+                gameRoom.tell(player, Messages.NOT_YOUR_TURN);
                 return;
             }
-
-            List<Card> cards = gameRoom.getPlayerCards(player);
-            if (cards == null) {
-                player.closeInventory();
+            if (gameRoom.getPlayerCards(player) == null) {
+                gameRoom.runAt(player, player::closeInventory);
                 return;
             }
+            action.click(player, event);
+        });
+    }
 
-            Inventory inv = openInventories.get(player);
-            int slot = event.getSlot();
-            List<Integer> selected = selectedSlots.get(player);
-
-            int totalRows = inv.getSize() / 9;
-            int buttonRow = (totalRows - 2) * 9;
-            int infoRow = (totalRows - 1) * 9;
-
-            if (slot < cards.size()) {
-                toggleCardSelection(player, inv, cards, selected, slot);
-            } else if (slot >= buttonRow && slot < infoRow) {
-                handleButtonClick(player, clickedItem);
-            }
+    private void onCardClick(Player player, InventoryClickEvent event) {
+        List<Card> cards = gameRoom.getPlayerCards(player);
+        int slot = event.getSlot();
+        if (slot < cards.size()) {
+            toggleCardSelection(player, cards, selectedSlots.get(player), slot);
         }
     }
 
-    private void toggleCardSelection(Player player, Inventory inv, List<Card> cards,
-                                     List<Integer> selected, int slot) {
-        if (selected.contains(slot)) {
-            selected.remove(Integer.valueOf(slot));
-            inv.setItem(slot, createCardItem(cards.get(slot), false));
-        } else {
-            selected.add(slot);
-            inv.setItem(slot, createCardItem(cards.get(slot), true));
+    private void onPassClick(Player player, InventoryClickEvent event) {
+        if (gameRoom.getLastPlayedCards().isEmpty() && gameRoom.getPassCount() == 0) {
+            gameRoom.tell(player, Messages.FIRST_ROUND_MUST_PLAY);
+            return;
         }
-
-        // 实时更新选择有效性和已选牌信息
-        updateSelectionValidity(player, selected);
+        // 界面保持打开，轮转后原地刷新
+        gameRoom.passCard(player);
     }
 
-    private void handleButtonClick(Player player, ItemStack clickedItem) {
-        if (clickedItem == null) return;
+    private void onAutoPlayClick(Player player, InventoryClickEvent event) {
+        intentionallyClosing.add(player); // 标记为有意关闭
+        gameRoom.toggleAutoPlay(player);
+        gameRoom.runAt(player, player::closeInventory);
+    }
 
-        // 检查是否是当前玩家（非当前玩家不能操作）
-        if (!player.equals(gameRoom.getCurrentPlayer())) {
-            player.sendMessage(ChatColor.RED + "还没轮到你！");
-            player.closeInventory();
+    private void onBidClick(Player player, int score) {
+        if (gameRoom.getCurrentBidScore() >= score) {
+            gameRoom.tell(player, Messages.BID_TOO_LOW);
             return;
         }
+        gameRoom.handleBiddingCommand(player, score + "分");
+        gameRoom.runAt(player, player::closeInventory);
+    }
 
-        List<Integer> selected = selectedSlots.get(player);
-
-        switch (clickedItem.getType()) {
-            case LIME_WOOL: // 确认出牌
-                handleConfirm(player, selected);
-                break;
-            case RED_WOOL: // 清空选择
-                clearSelection(player, selected);
-                break;
-            case YELLOW_WOOL: // 过牌（仅当按钮是黄色时才允许）
-                if (gameRoom.getLastPlayedCards().isEmpty() && gameRoom.getPassCount() == 0) {
-                    player.sendMessage(ChatColor.RED + "第一轮必须出牌，不能直接过牌！");
-                    return;
-                }
-                intentionallyClosing.add(player); // 标记为有意关闭
-                gameRoom.passCard(player);
-                player.closeInventory();
-                break;
-            case GRAY_WOOL: // 如果按钮是灰色（禁用状态），提示玩家
-                if (clickedItem.getItemMeta().getDisplayName().contains("不能过牌")) {
-                    player.sendMessage(ChatColor.RED + "第一轮必须出牌！");
-                } else if (clickedItem.getItemMeta().getDisplayName().contains("请选择牌")) {
-                    player.sendMessage(ChatColor.RED + "请先选择要出的牌！");
-                }
-                break;
-            case BLUE_WOOL: // 托管
-                gameRoom.toggleAutoPlay(player);
-                player.closeInventory();
-                break;
+    private void toggleCardSelection(Player player, List<Card> cards, List<Integer> selected, int slot) {
+        if (selected.contains(slot)) {
+            selected.remove(Integer.valueOf(slot));
+        } else {
+            selected.add(slot);
         }
+
+        // 实时更新牌面、确认按钮和已选牌信息
+        render(player, cards);
     }
 
     private void handleConfirm(Player player, List<Integer> selected) {
         if (selected.isEmpty()) {
-            player.sendMessage(ChatColor.RED + "请先选择要出的牌！");
+            gameRoom.tell(player, Messages.SELECT_FIRST);
             return;
         }
 
@@ -490,43 +397,41 @@ public class CardSelectionGUI implements Listener {
             }
         }
 
+        GameLogic.CardPattern currentPattern = GameLogic.recognizePattern(selectedCards);
+        if (currentPattern.getType() == GameLogic.CardType.INVALID) {
+            gameRoom.tell(player, Messages.CHOOSE_VALID_PATTERN);
+            return;
+        }
+
         if (!gameRoom.getLastPlayedCards().isEmpty()) {
-            GameLogic.CardPattern currentPattern = GameLogic.recognizePattern(selectedCards);
             GameLogic.CardPattern lastPattern = GameLogic.recognizePattern(gameRoom.getLastPlayedCards());
 
             if (!currentPattern.canBeat(lastPattern)) {
-                player.sendMessage(ChatColor.RED + "无法压过上家的牌！请重新选择");
+                gameRoom.tell(player, Messages.CANNOT_BEAT_GUI);
                 return;
             }
         }
 
-        intentionallyClosing.add(player); // 标记为有意关闭
-        player.closeInventory();
+        // 界面保持打开，出牌后由房间原地刷新
+        selected.clear();
         gameRoom.playSelectedCards(player, selectedCards, selectedIndices);
     }
 
     private void clearSelection(Player player, List<Integer> selected) {
         if (selected.isEmpty()) {
-            player.sendMessage(ChatColor.YELLOW + "当前没有选中的牌");
+            gameRoom.tell(player, Messages.NOTHING_SELECTED);
             return;
         }
 
-        Inventory inv = openInventories.get(player);
-        List<Card> cards = gameRoom.getPlayerCards(player);
-
-        for (int slot : selected) {
-            if (slot < cards.size()) {
-                inv.setItem(slot, createCardItem(cards.get(slot), false));
-            }
-        }
-
         selected.clear();
-        updateSelectionValidity(player, selected); // 更新选择状态
-        player.sendMessage(ChatColor.YELLOW + "已清空所有选择");
+        render(player, gameRoom.getPlayerCards(player)); // 更新选择状态
+        gameRoom.tell(player, Messages.ALL_CLEARED);
     }
 
     public void openBiddingGUI(Player player) {
-        Inventory inv = Bukkit.createInventory(player, 9, ChatColor.GOLD + "叫分选择(点击'1'或'2'可查看手牌和地主牌)");
+        MenuHolder menu = new MenuHolder(MenuHolder.Type.BIDDING, gameRoom, 9, ChatColor.GOLD + "叫分选择(点击'1'或'2'可查看手牌和地主牌)");
+        bindClose(menu);
+        Inventory inv = menu.getInventory();
 
         // 获取当前最高叫分
         int currentBid = gameRoom.getCurrentBidScore();
@@ -566,38 +471,22 @@ public class CardSelectionGUI implements Listener {
         inv.setItem(1, landlordInfo);
 
         // 位置2留空
-        inv.setItem(2, createSeparator());
+        inv.setItem(2, templates.separator());
 
         // 不叫按钮 (位置3)
-        inv.setItem(3, createButton(Material.RED_WOOL, ChatColor.RED + "不叫",
-                Collections.singletonList(ChatColor.GRAY + "点击选择不叫")));
-
-        // 1分按钮 (位置4)
-        inv.setItem(4, createButton(
-                currentBid < 1 ? Material.GREEN_WOOL : Material.GRAY_WOOL,
-                currentBid < 1 ? ChatColor.GREEN + "1分" : ChatColor.GRAY + "1分(不可选)",
-                Collections.singletonList(currentBid < 1 ?
-                        ChatColor.GRAY + "点击叫1分" :
-                        ChatColor.RED + "必须高于当前叫分")));
-
-        // 2分按钮 (位置5)
-        inv.setItem(5, createButton(
-                currentBid < 2 ? Material.YELLOW_WOOL : Material.GRAY_WOOL,
-                currentBid < 2 ? ChatColor.YELLOW + "2分" : ChatColor.GRAY + "2分(不可选)",
-                Collections.singletonList(currentBid < 2 ?
-                        ChatColor.GRAY + "点击叫2分" :
-                        ChatColor.RED + "必须高于当前叫分")));
-
-        // 3分按钮 (位置6)
-        inv.setItem(6, createButton(
-                currentBid < 3 ? Material.BLUE_WOOL : Material.GRAY_WOOL,
-                currentBid < 3 ? ChatColor.BLUE + "3分" : ChatColor.GRAY + "3分(不可选)",
-                Collections.singletonList(currentBid < 3 ?
-                        ChatColor.GRAY + "点击叫3分" :
-                        ChatColor.RED + "必须高于当前叫分")));
+        menu.setItem(3, templates.noBidButton(), guarded((p, e) -> {
+            gameRoom.handleBiddingCommand(p, "不叫");
+            gameRoom.runAt(p, p::closeInventory);
+        }));
+
+        // 1-3分按钮 (位置4-6)，不高于当前叫分的显示为灰色
+        for (int score = 1; score <= 3; score++) {
+            int bid = score;
+            menu.setItem(3 + score, templates.bidButton(score, currentBid < score), guarded((p, e) -> onBidClick(p, bid)));
+        }
 
         // 位置7留空
-        inv.setItem(7, createSeparator());
+        inv.setItem(7, templates.separator());
 
         // 当前最高分信息 (位置8)
         inv.setItem(8, createInfoItem("当前最高分",
@@ -606,16 +495,16 @@ public class CardSelectionGUI implements Listener {
                                 gameRoom.getCurrentHighestBidder().getName() : "无人") +
                         ")", Material.GOLD_INGOT));
 
-        player.openInventory(inv);
+        gameRoom.runAt(player, () -> player.openInventory(inv));
         openInventories.put(player, inv);
     }
 
     private final Set<UUID> reopeningPlayers = new HashSet<>();
 
-    @EventHandler
-    public void onInventoryClose(InventoryCloseEvent event) {
-        if (!(event.getPlayer() instanceof Player)) return;
-        Player player = (Player) event.getPlayer();
+    /**
+     * 处理本房间界面的关闭（房间线程上执行，closed 为被关闭的界面）
+     */
+    private void handleClose(Player player, Inventory closed) {
         UUID playerId = player.getUniqueId();
 
         // 如果正在重新打开，直接返回
@@ -624,8 +513,14 @@ public class CardSelectionGUI implements Listener {
             return;
         }
 
+        // 关闭事件排队期间玩家已换成新界面（如叫分界面换成出牌界面），旧界面的关闭不再处理
+        boolean intentional = intentionallyClosing.remove(player);
+        if (openInventories.get(player) != closed) {
+            return;
+        }
+
         // 清理标记集合
-        if (intentionallyClosing.remove(player)) {
+        if (intentional) {
             openInventories.remove(player);
             selectedSlots.remove(player);
             return;
@@ -660,8 +555,8 @@ public class CardSelectionGUI implements Listener {
         // 标记为正在重新打开
         reopeningPlayers.add(playerId);
 
-        // 延迟重新打开 - 使用Folia兼容的方式
-        Runnable reopenTask = () -> {
+        // 延迟重新打开 - 使用Folia兼容的方式，到时投递回房间邮箱检查状态
+        Runnable reopenTask = () -> gameRoom.post(() -> {
             reopeningPlayers.remove(playerId);
             if (player.isOnline() &&
                     gameRoom.getPlayerCards(player) != null &&
@@ -671,7 +566,7 @@ public class CardSelectionGUI implements Listener {
                     !gameRoom.isAutoPlay(player)) {
                 openGUI(player, gameRoom.getPlayerCards(player));
             }
-        };
+        });
 
         if (plugin.isFolia()) {
             // 使用Folia的调度方式
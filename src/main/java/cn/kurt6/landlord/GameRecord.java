@@ -0,0 +1,108 @@
+package cn.kurt6.landlord;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * 单局对局记录：发牌、叫分、每手出牌(54位掩码+座位)、时间间隔与结果
+ * 事件以原始long数组追加，游戏线程上记录一手牌几乎没有开销
+ */
+public class GameRecord {
+    // 事件类型
+    public static final int EVENT_BID = 1;
+    public static final int EVENT_PLAY = 2;
+    public static final int EVENT_PASS = 3;
+
+    private long gameId;
+    private final String roomId;
+    private final long startTime;
+    private final UUID[] seatIds;
+    private final String[] seatNames;
+    private final long[] handMasks;     // 每个座位的初始手牌
+    private final long landlordMask;    // 地主牌
+    private final boolean moneyGame;
+
+    // 每个事件占两个long：头部(时间间隔<<8 | 类型<<4 | 座位) + 载荷(掩码或叫分)
+    private long[] events = new long[64];
+    private int eventCount = 0;
+    private long lastEventTime;
+
+    private int landlordSeat = -1;
+    private boolean landlordWin;
+    private int multiplier;
+
+    public GameRecord(String roomId, long startTime, UUID[] seatIds, String[] seatNames,
+                      long[] handMasks, long landlordMask, boolean moneyGame) {
+        this.roomId = roomId;
+        this.startTime = startTime;
+        this.seatIds = seatIds;
+        this.seatNames = seatNames;
+        this.handMasks = handMasks;
+        this.landlordMask = landlordMask;
+        this.moneyGame = moneyGame;
+        this.lastEventTime = startTime;
+    }
+
+    public int seatOf(UUID playerId) {
+        for (int i = 0; i < seatIds.length; i++) {
+            if (seatIds[i].equals(playerId)) return i;
+        }
+        return -1;
+    }
+
+    public void recordBid(int seat, int score) {
+        append(EVENT_BID, seat, score, System.currentTimeMillis());
+    }
+
+    public void recordPlay(int seat, long mask) {
+        append(EVENT_PLAY, seat, mask, System.currentTimeMillis());
+    }
+
+    public void recordPass(int seat) {
+        append(EVENT_PASS, seat, 0L, System.currentTimeMillis());
+    }
+
+    private void append(int type, int seat, long payload, long now) {
+        if (seat < 0) return;
+        long delta = Math.max(0L, now - lastEventTime);
+        lastEventTime = now;
+        appendRaw((delta << 8) | ((long) type << 4) | seat, payload);
+    }
+
+    // 解码时直接按原始头部追加
+    void appendRaw(long header, long payload) {
+        if (eventCount * 2 + 2 > events.length) {
+            events = Arrays.copyOf(events, events.length * 2);
+        }
+        events[eventCount * 2] = header;
+        events[eventCount * 2 + 1] = payload;
+        eventCount++;
+    }
+
+    public void setResult(int landlordSeat, boolean landlordWin, int multiplier) {
+        this.landlordSeat = landlordSeat;
+        this.landlordWin = landlordWin;
+        this.multiplier = multiplier;
+    }
+
+    // 事件访问
+    public int getEventCount() { return eventCount; }
+    public int getEventType(int i) { return (int) ((events[i * 2] >>> 4) & 0xF); }
+    public int getEventSeat(int i) { return (int) (events[i * 2] & 0xF); }
+    public long getEventDelta(int i) { return events[i * 2] >>> 8; }
+    public long getEventPayload(int i) { return events[i * 2 + 1]; }
+    long getEventHeader(int i) { return events[i * 2]; }
+
+    public long getGameId() { return gameId; }
+    void setGameId(long gameId) { this.gameId = gameId; }
+    public String getRoomId() { return roomId; }
+    public long getStartTime() { return startTime; }
+    public UUID[] getSeatIds() { return seatIds; }
+    public String[] getSeatNames() { return seatNames; }
+    public long getHandMask(int seat) { return handMasks[seat]; }
+    public long getLandlordMask() { return landlordMask; }
+    public boolean isMoneyGame() { return moneyGame; }
+    public int getLandlordSeat() { return landlordSeat; }
+    public boolean isLandlordWin() { return landlordWin; }
+    public int getMultiplier() { return multiplier; }
+}
@@ -0,0 +1,186 @@
+package cn.kurt6.landlord;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * 对局记录的紧凑二进制编码（varint）
+ *
+ * 格式(版本1):
+ * 版本 | gameId | 开始时间 | 房间号 | 金币赛 | 3×(UUID + 名字 + 手牌掩码) | 地主牌掩码
+ * | 事件数 | 事件×N(头部varint + 载荷) | 地主座位 | 地主是否获胜 | 倍数
+ */
+public final class GameRecordCodec {
+    private static final int VERSION = 1;
+
+    private GameRecordCodec() {}
+
+    public static byte[] encode(GameRecord record) {
+        Writer out = new Writer(256 + record.getEventCount() * 12);
+        out.writeVarLong(VERSION);
+        out.writeVarLong(record.getGameId());
+        out.writeVarLong(record.getStartTime());
+        out.writeString(record.getRoomId());
+        out.writeVarLong(record.isMoneyGame() ? 1 : 0);
+
+        UUID[] seatIds = record.getSeatIds();
+        out.writeVarLong(seatIds.length);
+        for (int seat = 0; seat < seatIds.length; seat++) {
+            out.writeFixedLong(seatIds[seat].getMostSignificantBits());
+            out.writeFixedLong(seatIds[seat].getLeastSignificantBits());
+            out.writeString(record.getSeatNames()[seat]);
+            out.writeVarLong(record.getHandMask(seat));
+        }
+        out.writeVarLong(record.getLandlordMask());
+
+        int count = record.getEventCount();
+        out.writeVarLong(count);
+        for (int i = 0; i < count; i++) {
+            out.writeVarLong(record.getEventHeader(i));
+            // 过牌没有载荷
+            if (record.getEventType(i) != GameRecord.EVENT_PASS) {
+                out.writeVarLong(record.getEventPayload(i));
+            }
+        }
+
+        out.writeVarLong(record.getLandlordSeat() + 1); // -1 编码为0
+        out.writeVarLong(record.isLandlordWin() ? 1 : 0);
+        out.writeVarLong(record.getMultiplier());
+        return out.toByteArray();
+    }
+
+    public static GameRecord decode(byte[] data) {
+        Reader in = new Reader(data);
+        int version = (int) in.readVarLong();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("不支持的回放版本: " + version);
+        }
+        long gameId = in.readVarLong();
+        long startTime = in.readVarLong();
+        String roomId = in.readString();
+        boolean moneyGame = in.readVarLong() == 1;
+
+        int seats = (int) in.readVarLong();
+        UUID[] seatIds = new UUID[seats];
+        String[] seatNames = new String[seats];
+        long[] handMasks = new long[seats];
+        for (int seat = 0; seat < seats; seat++) {
+            seatIds[seat] = new UUID(in.readFixedLong(), in.readFixedLong());
+            seatNames[seat] = in.readString();
+            handMasks[seat] = in.readVarLong();
+        }
+        long landlordMask = in.readVarLong();
+
+        GameRecord record = new GameRecord(roomId, startTime, seatIds, seatNames, handMasks, landlordMask, moneyGame);
+        record.setGameId(gameId);
+
+        int count = (int) in.readVarLong();
+        for (int i = 0; i < count; i++) {
+            long header = in.readVarLong();
+            int type = (int) ((header >>> 4) & 0xF);
+            long payload = type == GameRecord.EVENT_PASS ? 0L : in.readVarLong();
+            record.appendRaw(header, payload);
+        }
+
+        int landlordSeat = (int) in.readVarLong() - 1;
+        boolean landlordWin = in.readVarLong() == 1;
+        int multiplier = (int) in.readVarLong();
+        record.setResult(landlordSeat, landlordWin, multiplier);
+        return record;
+    }
+
+    // 无符号LEB128写入
+    static final class Writer {
+        private byte[] buf;
+        private int pos;
+
+        Writer(int capacity) {
+            buf = new byte[capacity];
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[pos++] = (byte) value;
+        }
+
+        void writeFixedLong(long value) {
+            ensure(8);
+            for (int i = 7; i >= 0; i--) {
+                buf[pos++] = (byte) (value >>> (i * 8));
+            }
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            writeBytes(bytes, 0, bytes.length);
+        }
+
+        void writeBytes(byte[] bytes, int offset, int length) {
+            ensure(length);
+            System.arraycopy(bytes, offset, buf, pos, length);
+            pos += length;
+        }
+
+        private void ensure(int extra) {
+            if (pos + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + extra));
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, pos);
+        }
+    }
+
+    static final class Reader {
+        private final byte[] buf;
+        private int pos;
+
+        Reader(byte[] buf) {
+            this.buf = buf;
+        }
+
+        long readVarLong() {
+            long result = 0;
+            int shift = 0;
+            while (true) {
+                if (pos >= buf.length || shift > 63) {
+                    throw new IllegalArgumentException("回放数据已损坏");
+                }
+                byte b = buf[pos++];
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+                shift += 7;
+            }
+        }
+
+        long readFixedLong() {
+            if (pos + 8 > buf.length) {
+                throw new IllegalArgumentException("回放数据已损坏");
+            }
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (buf[pos++] & 0xFF);
+            }
+            return value;
+        }
+
+        String readString() {
+            int length = (int) readVarLong();
+            if (length < 0 || pos + length > buf.length) {
+                throw new IllegalArgumentException("回放数据已损坏");
+            }
+            String value = new String(buf, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return value;
+        }
+    }
+}
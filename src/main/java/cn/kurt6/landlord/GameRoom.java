@@ -1,6 +1,7 @@
 package cn.kurt6.landlord;
 
-import net.md_5.bungee.api.chat.*;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
 import net.milkbowl.vault.economy.Economy;
 import net.milkbowl.vault.economy.EconomyResponse;
 import org.bukkit.*;
@@ -8,8 +9,6 @@ import org.bukkit.boss.BarColor;
 import org.bukkit.boss.BarStyle;
 import org.bukkit.boss.BossBar;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.scoreboard.*;
 
 import java.util.*;
@@ -19,14 +18,16 @@ import java.util.stream.Collectors;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class GameRoom {
-    private final String roomId;
+    private volatile String roomId; // 房间回收复用时更换
     private final Landlord plugin;
     private final Map<UUID, Player> players = new ConcurrentHashMap<>();
     private final Map<UUID, Boolean> readyStatus = new ConcurrentHashMap<>();
     private final Map<UUID, List<Card>> playerCards = new ConcurrentHashMap<>();
     private final Map<UUID, Boolean> autoPlay = new ConcurrentHashMap<>();
     private final Map<UUID, List<Integer>> selectedCards = new ConcurrentHashMap<>(); // 玩家选择的牌索引
-    private final Map<UUID, BaseComponent[]> lastHandMessages = new ConcurrentHashMap<>(); // 玩家上一次的手牌消息
+    private final Map<UUID, Component> lastHandMessages = new ConcurrentHashMap<>(); // 玩家上一次的手牌消息
+    private final Map<UUID, Component> playerNames = new ConcurrentHashMap<>(); // 玩家名组件，加入房间时构建一次
+    private final Map<UUID, Long> lastHandMasks = new ConcurrentHashMap<>(); // 上次手牌消息对应的手牌，未变化时直接复用
     private boolean moneyGame = false; // 是否开启金币赛
     private final CardSelectionGUI cardSelectionGUI;
     private static final int BIDDING_TIMEOUT = 30; // 叫分阶段固定30秒超时
@@ -51,7 +52,27 @@ public class GameRoom {
     private Player lastPlayer;
     private int passCount = 0; // 连续过牌计数
     private int multiplier = 1; // 基础倍数
-    private Map<UUID, BukkitTask> playerTimers = new ConcurrentHashMap<>();
+    private volatile TimingWheel.Timeout turnTimer; // 当前叫分/出牌倒计时（挂在全局时间轮上）
+    private GameRecord gameRecord; // 本局回放记录
+    private final RoomMailbox mailbox; // 所有状态修改都经由邮箱顺序执行
+    private final RoomMessageBus messages; // 一次事件的聊天消息合并后发送
+    private final RoomScheduler scheduler; // 房间的归属执行上下文
+    private static final long SLOW_RENDER_INTERVAL = 20L;
+
+    // 需要重绘的显示目标：状态变化只做标记，每tick最多统一刷新一次
+    private enum Surface {
+        BOSSBAR,     // 房间状态BossBar
+        SCOREBOARD   // 计分板或摘要BossBar
+    }
+    private final EnumSet<Surface> dirtySurfaces = EnumSet.noneOf(Surface.class);
+    private boolean renderScheduled = false;
+    private volatile RoomView view; // 当前显示快照，其他线程可直接读取
+    private long viewVersion = 0;
+    private boolean viewDirty = true; // 状态已变化，下次读取时重建快照
+    private long bossBarVersion = -1; // 各渲染目标上次使用的快照版本
+    private long summaryVersion = -1;
+    private volatile int generation = 0; // 每次回收递增，上一轮遗留的延迟任务据此丢弃
+    private volatile boolean open = true; // 注销后到下次从房间池取出前为false，期间不再接纳玩家
 
     // 游戏状态枚举
     public enum GameState {
@@ -68,18 +89,11 @@ public class GameRoom {
 
     private void runTaskLater(Runnable task, long delay) {
         try {
-            if (plugin.isFolia()) {
-                // 使用Folia的调度方式
-                Bukkit.getGlobalRegionScheduler().runDelayed(plugin, t -> task.run(), delay);
-            } else {
-                // 使用传统Bukkit调度方式
-                new BukkitRunnable() {
-                    @Override
-                    public void run() {
-                        task.run();
-                    }
-                }.runTaskLater(plugin, delay);
-            }
+            // 在房间的归属上下文延迟执行，Folia下不再经过全局区域
+            int gen = generation;
+            scheduler.runLater(() -> post(() -> {
+                if (gen == generation) task.run();
+            }), delay);
         } catch (Exception e) {
             plugin.getLogger().warning("调度任务时出现错误: " + e.getMessage());
         }
@@ -92,23 +106,215 @@ public class GameRoom {
         this.bossBar = Bukkit.createBossBar("房间 " + roomId + " - 等待玩家加入",
                 BarColor.BLUE, BarStyle.SOLID);
         // 只在计分板禁用时或Folia核心时创建scoreboardBossBar
-        if (!plugin.isScoreboardEnabled() || plugin.isFolia()) {
+        if (!plugin.getPlatform().usesSidebar()) {
             this.scoreboardBossBar = Bukkit.createBossBar("", BarColor.PURPLE, BarStyle.SOLID);
         }
         this.cardSelectionGUI = new CardSelectionGUI(plugin, this);
+        this.scheduler = new RoomScheduler(plugin, owner);
+        this.messages = new RoomMessageBus(this::onRoomThread);
+        this.mailbox = new RoomMailbox(plugin, roomId, scheduler, messages::flush);
+        currentView();
+    }
+
+    /**
+     * 从房间池取出后以新的房间号和房主重新启用（房间此时未被任何玩家或任务引用）
+     */
+    public void reopen(String roomId, Player owner) {
+        generation++; // 回收前投递、尚未执行的消息作废
+        // 正常情况下注销时已清空，这里再清一次，保证新房主拿到的是空房间
+        players.clear();
+        readyStatus.clear();
+        playerCards.clear();
+        autoPlay.clear();
+        selectedCards.clear();
+        bidStatus.clear();
+        playerNames.clear();
+        lastHandMessages.clear();
+        lastHandMasks.clear();
+        this.roomId = roomId;
+        this.roomOwner = owner;
+        this.moneyGame = false;
+        scheduler.migrate(owner);
+        mailbox.rename(roomId);
+        bossBarVersion = -1;
+        summaryVersion = -1;
+        viewDirty = true;
+        open = true;
+        currentView();
+    }
+
+    // 房间空了：注销并按对局结束的流程重置，下一tick（本次邮箱处理结束后）归还房间池
+    private void dispose() {
+        if (!open) return;
+        open = false;
+        plugin.removeRoom(this);
+        resetGame();
+        cleanup();
+        generation++; // 重置过程中安排的刷新和此前的延迟任务都作废
+        renderScheduled = false;
+        players.clear();
+        readyStatus.clear();
+        autoPlay.clear();
+        selectedCards.clear();
+        bidStatus.clear();
+        playerNames.clear();
+        roomOwner = null;
+        moneyGame = false;
+        scheduler.runLater(() -> plugin.getRoomPool().release(this), 1L);
+    }
+
+    /**
+     * 向房间投递一条消息，按投递顺序在房间线程上执行
+     */
+    public void post(Runnable message) {
+        mailbox.post(message);
+    }
+
+    private Component nameOf(Player player) {
+        return playerNames.computeIfAbsent(player.getUniqueId(), id -> Component.text(player.getName()));
+    }
+
+    /**
+     * 经房间消息总线给玩家发送一行，在房间线程上时与本次事件的其他消息合并发送
+     */
+    public void tell(Player player, Component message) {
+        messages.send(player, message);
     }
 
+    /**
+     * 在玩家所在区域执行针对该玩家的操作（房间状态仍只在房间线程修改）
+     */
+    public void runAt(Player player, Runnable effect) {
+        scheduler.runFor(player, effect);
+    }
+
+    private boolean onRoomThread() {
+        return mailbox.isDraining();
+    }
+
+    // 不在房间线程上时，把本次调用改为投递消息；返回true表示已投递
+    // 投递后房间被回收的，消息执行时直接丢弃
+    private boolean deferToMailbox(Runnable message) {
+        return deferToMailbox(message, null);
+    }
+
+    // 同上，消息因房间回收被丢弃时改为执行onStale
+    private boolean deferToMailbox(Runnable message, Runnable onStale) {
+        if (mailbox.isDraining()) {
+            return false;
+        }
+        int gen = generation;
+        mailbox.post(() -> {
+            if (gen == generation) {
+                message.run();
+            } else if (onStale != null) {
+                onStale.run();
+            }
+        });
+        return true;
+    }
+
+    // 加入消息因房间关闭而作废：解除玩家与房间的关联
+    private void rejectClosed(Player player) {
+        plugin.detachPlayer(player.getUniqueId(), this);
+        messages.send(player, Messages.ROOM_CLOSED);
+    }
+
+    // 交给每tick预算调度器延后执行，执行时回到房间线程
+    private void defer(TickBudgetGovernor.Priority priority, String key, Runnable work) {
+        int gen = generation;
+        plugin.getGovernor().submit(priority, key != null ? roomId + ":" + key : null, () -> post(() -> {
+            if (gen == generation) work.run();
+        }));
+    }
+
+    // 托管出牌等待，负载最高时缩短以尽快结束对局
+    private long botDelay(long normal) {
+        return plugin.getLoadShedder().isAtLeast(LoadShedder.LEVEL_FAST_BOTS) ? Math.min(normal, 5L) : normal;
+    }
+
+    // 标记显示目标需要重绘；同一tick内的多次标记只安排一次刷新，刷新时总是读取最新状态
+    private void markDirty(Surface surface) {
+        viewDirty = true;
+        dirtySurfaces.add(surface);
+        if (renderScheduled) return;
+        renderScheduled = true;
+        if (plugin.getLoadShedder().isAtLeast(LoadShedder.LEVEL_SLOW_RENDER)) {
+            // 负载降级时合并为每秒一次
+            runTaskLater(this::flushRender, SLOW_RENDER_INTERVAL);
+        } else {
+            defer(TickBudgetGovernor.Priority.NORMAL, "render", this::flushRender);
+        }
+    }
+
+    private void flushRender() {
+        renderScheduled = false;
+        if (dirtySurfaces.isEmpty()) return;
+        EnumSet<Surface> surfaces = EnumSet.copyOf(dirtySurfaces);
+        dirtySurfaces.clear();
+
+        if (surfaces.contains(Surface.BOSSBAR)) {
+            renderBossBar();
+        }
+        if (surfaces.contains(Surface.SCOREBOARD)) {
+            renderScoreboard();
+        }
+    }
+
+    // 房主离开或掉线时，把房间迁移到房主或其他在线玩家所在的区域
+    private void rehome() {
+        Player home = roomOwner != null && roomOwner.isOnline() ? roomOwner : null;
+        if (home == null) {
+            for (Player p : players.values()) {
+                if (p.isOnline()) {
+                    home = p;
+                    break;
+                }
+            }
+        }
+        if (home != null && home != scheduler.getHome()) {
+            scheduler.migrate(home);
+        }
+    }
+
+    /**
+     * 玩家加入房间：调用方的检查只是预判，是否满员、是否已开局、金币是否足够都在房间线程上重新判断
+     * 加入失败时把玩家从房间记录中移除并告知原因
+     */
     public void addPlayer(Player player) {
-        // 金币赛检查（如果开启）
-        if (moneyGame && plugin.isBountyEnabled()) {
+        if (deferToMailbox(() -> addPlayer(player), () -> rejectClosed(player))) return;
+
+        if (seat(player) && !player.equals(roomOwner)) {
+            messages.send(player, Messages.joinSuccess(roomId));
+        }
+    }
+
+    // 在房间线程上入座，返回是否成功；失败时已解除玩家与房间的关联
+    private boolean seat(Player player) {
+        if (players.containsKey(player.getUniqueId())) {
+            return true;
+        }
+        Component reason = null;
+        if (!open) {
+            reason = Messages.ROOM_CLOSED;
+        } else if (gameStarted) {
+            reason = Messages.JOIN_STARTED;
+        } else if (players.size() >= 3) {
+            reason = Messages.JOIN_FULL;
+        } else if (moneyGame && plugin.isBountyEnabled()) {
+            // 金币赛检查（如果开启）
             double required = plugin.getMoneyMultiplier();
             double playerBalance = plugin.getPlayerBalance(player);
             if (playerBalance < required) {
-                player.sendMessage(ChatColor.RED + "加入失败！金币赛需要至少 " + required + " 金币，你当前只有 " +
-                        playerBalance + " 金币");
-                return;
+                reason = Component.text("加入失败！金币赛需要至少 " + required + " 金币，你当前只有 " + playerBalance + " 金币",
+                        NamedTextColor.RED);
             }
         }
+        if (reason != null) {
+            plugin.detachPlayer(player.getUniqueId(), this);
+            messages.send(player, reason);
+            return false;
+        }
 
         players.put(player.getUniqueId(), player);
         readyStatus.put(player.getUniqueId(), false); // 确保初始化准备状态为 false
@@ -122,23 +328,28 @@ public class GameRoom {
 
         updateBossBar();
         updateScoreboard();
-        broadcastToRoom(ChatColor.GREEN + player.getName() + " 加入了房间！");
+        broadcastToRoom(Messages.joined(nameOf(player)));
 
         sendGameButtons(player);
 
         if (players.size() == 3) {
-            broadcastToRoom(ChatColor.YELLOW + "房间已满！所有玩家准备后即可开始游戏！");
+            broadcastToRoom(Messages.ROOM_FULL);
         }
+        return true;
     }
 
     public void removePlayer(Player player) {
+        if (deferToMailbox(() -> removePlayer(player))) return;
+
         // 如果是主动离开(通过命令)，且游戏已开始，则禁止
         if (isGameStarted() && player.isOnline()) {
-            player.sendMessage(ChatColor.RED + "游戏进行中，无法主动离开房间！");
+            messages.send(player, Messages.CANNOT_LEAVE);
             return;
         }
 
         lastHandMessages.remove(player.getUniqueId());
+        lastHandMasks.remove(player.getUniqueId());
+        playerNames.remove(player.getUniqueId());
         bossBar.removePlayer(player);
         // 只在 scoreboardBossBar 不为 null 时移除玩家
         if (scoreboardBossBar != null) {
@@ -146,12 +357,13 @@ public class GameRoom {
         }
 
         // 清理玩家的记分板
+        sidebars.remove(player.getUniqueId());
         try {
             ScoreboardManager manager = Bukkit.getScoreboardManager();
             if (manager != null) {
                 Scoreboard emptyScoreboard = manager.getNewScoreboard();
                 if (emptyScoreboard != null) {
-                    player.setScoreboard(emptyScoreboard);
+                    runAt(player, () -> player.setScoreboard(emptyScoreboard));
                 }
             }
         } catch (Exception e) {
@@ -161,7 +373,7 @@ public class GameRoom {
         if (isGameStarted()) {
             // 游戏开始后（BIDDING 或 PLAYING）玩家掉线，设置为托管
             autoPlay.put(player.getUniqueId(), true);
-            broadcastToRoom(ChatColor.RED + player.getName() + " 掉线了，已自动托管！");
+            broadcastToRoom(Messages.disconnected(nameOf(player)));
 
             // 如果是当前玩家掉线，根据阶段自动处理
             if (player.equals(currentPlayer)) {
@@ -188,23 +400,32 @@ public class GameRoom {
             autoPlay.remove(player.getUniqueId());
             selectedCards.remove(player.getUniqueId());
             bidStatus.remove(player.getUniqueId());
+            cardSelectionGUI.removePlayer(player);
 
             // 如果是房主离开，转移房主
             if (player.equals(roomOwner) && !players.isEmpty()) {
                 roomOwner = players.values().iterator().next();
-                broadcastToRoom(ChatColor.YELLOW + roomOwner.getName() + " 成为了新房主！");
+                broadcastToRoom(Messages.newOwner(nameOf(roomOwner)));
             }
 
-            broadcastToRoom(ChatColor.RED + player.getName() + " 离开了房间！");
+            broadcastToRoom(Messages.left(nameOf(player)));
         }
 
+        rehome();
         updateBossBar();
         updateScoreboard();
+
+        // 房间空了由房间自己注销，避免调用方读到尚未处理的人数
+        if (!gameStarted && players.isEmpty()) {
+            dispose();
+        }
     }
 
     public void toggleReady(Player player) {
+        if (deferToMailbox(() -> toggleReady(player))) return;
+
         if (gameStarted) {
-            player.sendMessage(ChatColor.RED + "游戏已开始，无法切换准备状态！");
+            messages.send(player, Messages.CANNOT_TOGGLE_READY);
             return;
         }
 
@@ -218,8 +439,8 @@ public class GameRoom {
             double required = plugin.getMoneyMultiplier();
             double playerBalance = plugin.getPlayerBalance(player);
             if (playerBalance < required) {
-                player.sendMessage(ChatColor.RED + "准备失败！金币赛需要至少 " + required + " 金币，你当前只有 " +
-                        playerBalance + " 金币");
+                messages.send(player, Component.text("准备失败！金币赛需要至少 " + required + " 金币，你当前只有 " +
+                        playerBalance + " 金币", NamedTextColor.RED));
                 return;
             }
         }
@@ -228,8 +449,7 @@ public class GameRoom {
         boolean ready = !readyStatus.get(player.getUniqueId());
         readyStatus.put(player.getUniqueId(), ready);
 
-        String status = ready ? ChatColor.GREEN + "已准备" : ChatColor.RED + "未准备";
-        broadcastToRoom(ChatColor.YELLOW + player.getName() + " " + status);
+        broadcastToRoom(Messages.readyState(nameOf(player), ready));
 
         updateBossBar();
         updateScoreboard();
@@ -240,6 +460,41 @@ public class GameRoom {
         }
     }
 
+    /**
+     * 快速匹配开桌：按模式设置金币赛，依次入座并自动准备，三人都入座后直接开局
+     * 入座失败（已下线或金币不足）的玩家从房间记录中移除，其余玩家留在房间等待
+     */
+    public void seatMatched(List<Player> matched, boolean money) {
+        if (deferToMailbox(() -> seatMatched(matched, money), () -> matched.forEach(this::rejectClosed))) return;
+        if (!open) {
+            matched.forEach(this::rejectClosed);
+            return;
+        }
+
+        moneyGame = money && plugin.isBountyEnabled();
+        for (Player player : matched) {
+            if (!player.isOnline() || !seat(player)) {
+                plugin.detachPlayer(player.getUniqueId(), this);
+            }
+        }
+        if (players.isEmpty()) {
+            dispose();
+            return;
+        }
+        // 第一个匹配到的玩家没能入座时，由入座的玩家接任房主
+        if (roomOwner == null || !players.containsKey(roomOwner.getUniqueId())) {
+            roomOwner = players.values().iterator().next();
+            rehome();
+            updateBossBar();
+            updateScoreboard();
+        }
+        for (Player player : matched) {
+            if (players.containsKey(player.getUniqueId()) && !gameStarted && !readyStatus.get(player.getUniqueId())) {
+                toggleReady(player);
+            }
+        }
+    }
+
     private void startGame() {
         // 金币赛检查
         if (moneyGame && plugin.isBountyEnabled()) {
@@ -247,8 +502,8 @@ public class GameRoom {
             for (Player p : players.values()) {
                 double playerBalance = plugin.getPlayerBalance(p);
                 if (playerBalance < required) {
-                    p.sendMessage(ChatColor.RED + "游戏无法开始！玩家 " + p.getName() +
-                            " 金币不足 (需要: " + required + ", 当前: " + playerBalance + ")");
+                    messages.send(p, Component.text("游戏无法开始！玩家 " + p.getName() +
+                            " 金币不足 (需要: " + required + ", 当前: " + playerBalance + ")", NamedTextColor.RED));
                     return;
                 }
             }
@@ -269,6 +524,7 @@ public class GameRoom {
 
         // 发牌
         dealCards();
+        startRecording();
 
         // 设置叫分顺序（随机选择起始玩家）
         biddingOrder = new ArrayList<>(players.values());
@@ -277,12 +533,10 @@ public class GameRoom {
         updateBossBar();
         updateScoreboard();
 
-        for (Player p : players.values()) {
-            p.spigot().sendMessage(new TextComponent(" ")); // 空消息占位
-        }
+        messages.broadcast(players.values(), Messages.BLANK); // 空消息占位
 
-        broadcastToRoom(ChatColor.GOLD + "游戏开始！进入叫分阶段！");
-        broadcastToRoom(ChatColor.YELLOW + "叫分规则：可以叫1分、2分、3分或不叫，后叫分者必须比前面的分数高");
+        broadcastToRoom(Messages.GAME_START);
+        broadcastToRoom(Messages.BID_RULES);
 
         // 显示地主牌（只显示不发给玩家）
         showLandlordCardsPreview();
@@ -338,12 +592,35 @@ public class GameRoom {
         }
     }
 
+    // 按发牌结果开始记录本局
+    private void startRecording() {
+        if (plugin.getReplayRecorder() == null) {
+            gameRecord = null;
+            return;
+        }
+        List<Player> seats = new ArrayList<>(players.values());
+        UUID[] seatIds = new UUID[seats.size()];
+        String[] seatNames = new String[seats.size()];
+        long[] handMasks = new long[seats.size()];
+        for (int i = 0; i < seats.size(); i++) {
+            Player seat = seats.get(i);
+            seatIds[i] = seat.getUniqueId();
+            seatNames[i] = seat.getName();
+            handMasks[i] = Card.toMask(playerCards.get(seat.getUniqueId()));
+        }
+        gameRecord = new GameRecord(roomId, System.currentTimeMillis(), seatIds, seatNames,
+                handMasks, Card.toMask(landlordCards), moneyGame);
+    }
+
+    private int recordSeat(Player player) {
+        return gameRecord != null ? gameRecord.seatOf(player.getUniqueId()) : -1;
+    }
+
     private List<Card> createDeck() {
         List<Card> deck = new ArrayList<>();
 
         // 添加普通牌 A=14, K=13, Q=12, J=11
-        String[] suits = {"♠", "♥", "♣", "♦"};
-        for (String suit : suits) {
+        for (String suit : Card.SUITS) {
             for (int value = 3; value <= 14; value++) {
                 deck.add(new Card(suit, value));
             }
@@ -359,6 +636,8 @@ public class GameRoom {
     }
 
     public void handleGameCommand(Player player, String command) {
+        if (deferToMailbox(() -> handleGameCommand(player, command))) return;
+
         if (!gameStarted || !players.containsKey(player.getUniqueId())) {
             return;
         }
@@ -374,6 +653,8 @@ public class GameRoom {
     }
 
     public void handleActionCommand(Player player, String action) {
+        if (deferToMailbox(() -> handleActionCommand(player, action))) return;
+
         if (!players.containsKey(player.getUniqueId())) {
             return;
         }
@@ -394,10 +675,10 @@ public class GameRoom {
                 switch (action) {
                     case "select":
                         if (player.equals(currentPlayer)) {
-                            player.sendMessage(ChatColor.YELLOW + "请点击手牌选择要出的牌！");
+                            messages.send(player, Messages.CLICK_TO_SELECT);
                             showPlayerCards(player, true);
                         } else {
-                            player.sendMessage(ChatColor.RED + "还没轮到你出牌！");
+                            messages.send(player, Messages.NOT_YOUR_PLAY);
                         }
                         break;
                     case "skip":
@@ -406,18 +687,11 @@ public class GameRoom {
                     case "auto":
                         boolean current = autoPlay.get(player.getUniqueId());
                         autoPlay.put(player.getUniqueId(), !current);
-                        player.sendMessage(!current ?
-                                ChatColor.YELLOW + "已开启托管，系统将自动出牌" :
-                                ChatColor.YELLOW + "已取消托管");
+                        messages.send(player, !current ? Messages.AUTO_ENABLED_SYSTEM : Messages.AUTO_DISABLED);
 
                         // 如果开启托管，发送提示消息
                         if (!current) {
-                            TextComponent message = new TextComponent(ChatColor.YELLOW + "可输入/landlord_action auto 取消托管");
-                            TextComponent cancelButton = new TextComponent(ChatColor.RED + "【点击取消托管】");
-                            cancelButton.setClickEvent(new ClickEvent(ClickEvent.Action.RUN_COMMAND, "/landlord_action auto"));
-                            cancelButton.setHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT,
-                                    new ComponentBuilder("点击取消托管模式").create()));
-                            player.spigot().sendMessage(message, cancelButton);
+                            messages.send(player, Messages.AUTO_PLAY_ON);
                         }
 
                         // 如果取消托管且是当前玩家，立即显示GUI
@@ -430,7 +704,7 @@ public class GameRoom {
                         break;
                     case "clear":
                         selectedCards.get(player.getUniqueId()).clear();
-                        player.sendMessage(ChatColor.YELLOW + "已清空选择");
+                        messages.send(player, Messages.SELECTION_CLEARED);
                         showPlayerCards(player, true);
                         break;
                 }
@@ -440,13 +714,13 @@ public class GameRoom {
 
     private void confirmSelectedCards(Player player) {
         if (!player.equals(currentPlayer)) {
-            player.sendMessage(ChatColor.RED + "还没轮到你出牌！");
+            messages.send(player, Messages.NOT_YOUR_PLAY);
             return;
         }
 
         List<Integer> selected = selectedCards.get(player.getUniqueId());
         if (selected.isEmpty()) {
-            player.sendMessage(ChatColor.RED + "请先选择要出的牌！");
+            messages.send(player, Messages.SELECT_FIRST);
             return;
         }
 
@@ -462,7 +736,7 @@ public class GameRoom {
         // 验证牌型
         GameLogic.CardPattern pattern = GameLogic.recognizePattern(selectedCardsList);
         if (pattern.getType() == GameLogic.CardType.INVALID) {
-            player.sendMessage(ChatColor.RED + "无效的牌型！请重新选择");
+            messages.send(player, Messages.INVALID_PATTERN);
             return;
         }
 
@@ -470,7 +744,7 @@ public class GameRoom {
         if (!lastPlayedCards.isEmpty()) {
             GameLogic.CardPattern lastPattern = GameLogic.recognizePattern(lastPlayedCards);
             if (!pattern.canBeat(lastPattern)) {
-                player.sendMessage(ChatColor.RED + "无法压过上家的牌！请重新选择或选择过牌");
+                messages.send(player, Messages.CANNOT_BEAT);
                 return;
             }
         }
@@ -480,6 +754,8 @@ public class GameRoom {
     }
 
     public void handleBiddingCommand(Player player, String command) {
+        if (deferToMailbox(() -> handleBiddingCommand(player, command))) return;
+
         if (!player.equals(currentPlayer)) {
             return;
         }
@@ -496,7 +772,7 @@ public class GameRoom {
         if (bidScore > 0) {
             if (bidScore <= currentBidScore) {
                 if (player.isOnline()) { // 只对在线玩家提示
-                    player.sendMessage(ChatColor.RED + "叫分必须比当前最高分(" + currentBidScore + "分)更高！");
+                    messages.send(player, Component.text("叫分必须比当前最高分(" + currentBidScore + "分)更高！", NamedTextColor.RED));
                     cardSelectionGUI.openBiddingGUI(player);
                 }
                 startBiddingTimer(player);
@@ -504,14 +780,16 @@ public class GameRoom {
             }
             currentBidScore = bidScore;
             currentHighestBidder = player;
-            broadcastToRoom(ChatColor.GREEN + player.getName() + " 叫了 " + bidScore + " 分！");
+            if (gameRecord != null) gameRecord.recordBid(recordSeat(player), bidScore);
+            messages.broadcast(players.values(), Messages.bid(nameOf(player), bidScore));
 
             if (bidScore == 3) {
                 confirmLandlord(player, bidScore);
                 return;
             }
         } else {
-            broadcastToRoom(ChatColor.GRAY + player.getName() + " 不叫");
+            if (gameRecord != null) gameRecord.recordBid(recordSeat(player), 0);
+            messages.broadcast(players.values(), Messages.noBid(nameOf(player)));
         }
 
         bidStatus.put(player.getUniqueId(), bidScore);
@@ -524,7 +802,7 @@ public class GameRoom {
         // 检查是否所有玩家都已叫分
         if (biddingIndex >= biddingOrder.size()) {
             if (currentHighestBidder == null) {
-                broadcastToRoom(ChatColor.RED + "无人叫分，重新发牌！");
+                broadcastToRoom(Messages.NO_BIDS);
                 resetGame();
                 startGame();
                 return;
@@ -540,14 +818,14 @@ public class GameRoom {
 
         // 直接检测玩家是否在线
         if (!currentPlayer.isOnline()) {
-            broadcastToRoom(ChatColor.RED + currentPlayer.getName() + " 已离线，自动跳过叫分");
+            broadcastToRoom(Messages.offlineSkipBid(nameOf(currentPlayer)));
             handleBiddingCommand(currentPlayer, "不叫");
             return;
         }
 
         updateBossBar();
         updateScoreboard();
-        broadcastToRoom(ChatColor.YELLOW + "请 " + currentPlayer.getName() + " 在 " + BIDDING_TIMEOUT + " 秒内叫分！");
+        messages.broadcast(players.values(), Messages.countdown(nameOf(currentPlayer), BIDDING_TIMEOUT, "叫分"));
 
         // 打开叫分GUI
         cardSelectionGUI.openBiddingGUI(currentPlayer);
@@ -561,22 +839,8 @@ public class GameRoom {
         cancelCurrentTimer(); // 清除旧计时器
 
         AtomicInteger secondsLeft = new AtomicInteger(BIDDING_TIMEOUT);
-
-        if (plugin.isFolia()) {
-            // 使用Folia的调度方式
-            player.getScheduler().runAtFixedRate(plugin, task -> {
-                handleBiddingTimerTick(player, secondsLeft);
-            }, null, 20L, 20L);
-        } else {
-            // 使用传统Bukkit调度方式
-            BukkitTask task = new BukkitRunnable() {
-                @Override
-                public void run() {
-                    handleBiddingTimerTick(player, secondsLeft);
-                }
-            }.runTaskTimer(plugin, 0L, 20L);
-            playerTimers.put(player.getUniqueId(), task);
-        }
+        turnTimer = plugin.getTimingWheel().scheduleRepeating(
+                () -> post(() -> handleBiddingTimerTick(player, secondsLeft)), 1L, 20L, null);
     }
 
     // 专用的叫分计时器tick处理方法
@@ -597,31 +861,35 @@ public class GameRoom {
             return;
         }
 
-        // 视觉提示（最后5秒）
-        if (secondsLeft.get() <= 5) {
-            player.sendTitle(
-                    ChatColor.RED + "⚠ " + secondsLeft.get() + " ⚠",
-                    ChatColor.YELLOW + "超时将自动不叫",
-                    0, 25, 0
+        // 视觉提示（最后5秒）与音效提示，在玩家所在区域执行
+        int seconds = secondsLeft.get();
+        runAt(player, () -> {
+            if (seconds <= 5) {
+                player.sendTitle(
+                        ChatColor.RED + "⚠ " + seconds + " ⚠",
+                        ChatColor.YELLOW + "超时将自动不叫",
+                        0, 25, 0
+                );
+            }
+            player.playSound(
+                    player.getLocation(),
+                    Sound.BLOCK_NOTE_BLOCK_HAT,
+                    0.5f,
+                    (float) (1.0 + (BIDDING_TIMEOUT - seconds) * 0.02)
             );
+        });
+        if (seconds <= 5) {
             spawnParticles(player, Particle.GLOW_SQUID_INK, 10);
         }
 
-        // 音效提示
-        player.playSound(
-                player.getLocation(),
-                Sound.BLOCK_NOTE_BLOCK_HAT,
-                0.5f,
-                (float) (1.0 + (BIDDING_TIMEOUT - secondsLeft.get()) * 0.02)
-        );
-
         // 超时处理
         if (secondsLeft.decrementAndGet() <= 0) {
+            cancelCurrentTimer(); // 到期后不再继续倒计时
             // 强制设置为不叫
-            player.sendMessage(ChatColor.RED + "时间到！自动选择不叫");
+            messages.send(player, Messages.BID_TIMEOUT);
 
             // 关闭当前打开的GUI
-            player.closeInventory();
+            runAt(player, player::closeInventory);
             forceCloseAllGUIs();
 
             // 处理自动不叫
@@ -640,11 +908,11 @@ public class GameRoom {
         passCount = 0;
         multiplier = bidScore;
 
-        broadcastToRoom(ChatColor.GOLD + player.getName() + " 成为地主！叫分: " + bidScore + " 分");
+        broadcastToRoom(Messages.becameLandlord(nameOf(player), bidScore));
         showLandlordCards();
 
         // 强制关闭所有GUI
-        player.closeInventory();
+        runAt(player, player::closeInventory);
         forceCloseAllGUIs();
 
         // 立即更新显示
@@ -660,31 +928,26 @@ public class GameRoom {
     }
 
     private void showLandlordCardsPreview() {
-        StringBuilder sb = new StringBuilder(ChatColor.GOLD + "地主牌: ");
-        for (int i = 0; i < landlordCards.size(); i++) {
-            if (i > 0) sb.append(" ");
-            sb.append(landlordCards.get(i).toString());
-        }
-        broadcastToRoom(sb.toString());
+        broadcastToRoom(Messages.landlordCards(landlordCards));
     }
 
     private void handlePlayingCommand(Player player, String command) {
         switch (command) {
             case "出牌":
                 if (!player.equals(currentPlayer)) {
-                    player.sendMessage(ChatColor.RED + "还没轮到你出牌！");
+                    messages.send(player, Messages.NOT_YOUR_PLAY);
                     return;
                 }
-                player.sendMessage(ChatColor.YELLOW + "请点击【选择出牌】按钮选择要出的牌！");
+                messages.send(player, Messages.USE_SELECT_BUTTON);
                 break;
 
             case "过":
                 if (!player.equals(currentPlayer)) {
-                    player.sendMessage(ChatColor.RED + "还没轮到你！");
+                    messages.send(player, Messages.NOT_YOUR_TURN);
                     return;
                 }
                 if (lastPlayedCards.isEmpty() && passCount == 0) {
-                    player.sendMessage(ChatColor.RED + "第一轮不能过牌！");
+                    messages.send(player, Messages.FIRST_ROUND_NO_PASS);
                     return;
                 }
                 passCard(player);
@@ -692,17 +955,19 @@ public class GameRoom {
 
             case "托管":
                 autoPlay.put(player.getUniqueId(), true);
-                player.sendMessage(ChatColor.YELLOW + "已开启托管模式");
+                messages.send(player, Messages.AUTO_MODE_ON);
                 break;
 
             case "取消托管":
                 autoPlay.put(player.getUniqueId(), false);
-                player.sendMessage(ChatColor.YELLOW + "已取消托管模式");
+                messages.send(player, Messages.AUTO_MODE_OFF);
                 break;
         }
     }
 
     public void playSelectedCards(Player player, List<Card> selectedCardsList, List<Integer> selectedIndices) {
+        if (deferToMailbox(() -> playSelectedCards(player, selectedCardsList, selectedIndices))) return;
+
         // 游戏状态检查
         if (gameState == GameState.FINISHED || !gameStarted) {
             return;
@@ -719,23 +984,15 @@ public class GameRoom {
         lastPlayedCards = new ArrayList<>(selectedCardsList);
         lastPlayer = player;
         passCount = 0;
+        if (gameRecord != null) gameRecord.recordPlay(recordSeat(player), Card.toMask(selectedCardsList));
 
         // 清空选择
         selectedCards.get(player.getUniqueId()).clear();
 
         // 显示出牌信息
         GameLogic.CardPattern pattern = GameLogic.recognizePattern(selectedCardsList);
-        StringBuilder sb = new StringBuilder();
-        for (Card card : selectedCardsList) {
-            sb.append(card.toString()).append(" ");
-        }
-
-        for (Player p : players.values()) {
-            p.spigot().sendMessage(new TextComponent(" ")); // 空消息占位
-        }
-
-        broadcastToRoom(ChatColor.GREEN + player.getName() + " 出了 " +
-                getPatternName(pattern.getType()) + ": " + sb.toString());
+        messages.broadcast(players.values(), Messages.BLANK); // 空消息占位
+        messages.broadcast(players.values(), Messages.played(nameOf(player), pattern.getType(), selectedCardsList));
 
         // 检查是否是炸弹或火箭
         if (pattern.getType() == GameLogic.CardType.BOMB) {
@@ -770,34 +1027,43 @@ public class GameRoom {
     }
 
     private void showBombEffect(Player player, int times) {
+        if (plugin.getLoadShedder().isAtLeast(LoadShedder.LEVEL_NO_EFFECTS)) return; // 负载降级时跳过特效
         String title = ChatColor.RED + "★ " + (times == 2 ? "炸弹！" : "王炸！") + " ★";
         String subtitle = ChatColor.GOLD + "倍数 ×" + multiplier;
+        defer(TickBudgetGovernor.Priority.LOW, null, () -> playBombEffect(title, subtitle, times));
+    }
 
+    private void playBombEffect(String title, String subtitle, int times) {
         for (Player p : players.values()) {
-            // 标题动画
-            p.sendTitle(title, subtitle, 10, 60, 10);
+            runAt(p, () -> playBombEffect(p, title, subtitle, times));
+        }
+    }
 
-            // 粒子特效
-            Location loc = p.getEyeLocation();
+    // 单个玩家的炸弹特效（在该玩家所在区域执行）
+    private void playBombEffect(Player p, String title, String subtitle, int times) {
+        // 标题动画
+        p.sendTitle(title, subtitle, 10, 60, 10);
 
-            // 爆炸效果
-            p.spawnParticle(Particle.POOF, loc, 50, 1, 1, 1, 0.5);
+        // 粒子特效
+        Location loc = p.getEyeLocation();
 
-            // 闪光效果
-            p.spawnParticle(Particle.FLASH, loc, 1);
+        // 爆炸效果
+        p.spawnParticle(Particle.POOF, loc, 50, 1, 1, 1, 0.5);
 
-            // 音效
-            p.playSound(loc,
-                    Sound.ENTITY_DRAGON_FIREBALL_EXPLODE,
-                    1.5f,
-                    times == 2 ? 0.8f : 1.2f
-            );
+        // 闪光效果
+        p.spawnParticle(Particle.FLASH, loc, 1);
 
-            // 火箭额外特效
-            if (times == 4) {
-                p.spawnParticle(Particle.FIREWORK, loc, 100, 0.5, 0.5, 0.5, 0.5);
-                p.playSound(loc, Sound.ENTITY_FIREWORK_ROCKET_BLAST, 2.0f, 0.8f);
-            }
+        // 音效
+        p.playSound(loc,
+                Sound.ENTITY_DRAGON_FIREBALL_EXPLODE,
+                1.5f,
+                times == 2 ? 0.8f : 1.2f
+        );
+
+        // 火箭额外特效
+        if (times == 4) {
+            p.spawnParticle(Particle.FIREWORK, loc, 100, 0.5, 0.5, 0.5, 0.5);
+            p.playSound(loc, Sound.ENTITY_FIREWORK_ROCKET_BLAST, 2.0f, 0.8f);
         }
     }
 
@@ -820,6 +1086,8 @@ public class GameRoom {
     }
 
     public void passCard(Player player) {
+        if (deferToMailbox(() -> passCard(player))) return;
+
         // 游戏状态检查
         if (gameState == GameState.FINISHED || !gameStarted) {
             return;
@@ -827,7 +1095,8 @@ public class GameRoom {
 
         cancelCurrentTimer();
         passCount++;
-        broadcastToRoom(ChatColor.GRAY + player.getName() + " 选择过牌");
+        if (gameRecord != null) gameRecord.recordPass(recordSeat(player));
+        messages.broadcast(players.values(), Messages.passed(nameOf(player)));
 
         // 检查上家是否出的是王炸
         boolean lastWasRocket = !lastPlayedCards.isEmpty() &&
@@ -848,13 +1117,18 @@ public class GameRoom {
                 currentPlayer = playerList.get(nextIndex);
             }
 
-            broadcastToRoom(ChatColor.YELLOW + "请 " + currentPlayer.getName() + " 出牌！");
+            messages.broadcast(players.values(), Messages.playNow(nameOf(currentPlayer)));
             updateBossBar();
             updateScoreboard();
         } else {
             nextPlayer(); // 直接切换到下家
         }
 
+        // 仍开着的出牌界面原地刷新（过牌按钮、当前玩家等）
+        for (Player p : players.values()) {
+            cardSelectionGUI.refresh(p);
+        }
+
         // 立即启动计时器或自动出牌
         if (autoPlay.get(currentPlayer.getUniqueId())) {
             runTaskLater(() -> autoPlayCards(currentPlayer), 5L); // 延迟5 ticks执行
@@ -865,9 +1139,9 @@ public class GameRoom {
 
     public void forceCloseAllGUIs() {
         for (Player player : players.values()) {
-            // 如果不是当前玩家，强制关闭其GUI
-            if (!player.equals(currentPlayer)) {
-                player.closeInventory();
+            // 如果不是当前玩家，强制关闭其GUI（座位出牌界面整局保持打开）
+            if (!player.equals(currentPlayer) && !cardSelectionGUI.isViewingSeat(player)) {
+                runAt(player, player::closeInventory);
             }
         }
     }
@@ -886,28 +1160,22 @@ public class GameRoom {
         // 直接检查玩家是否在线
         if (!currentPlayer.isOnline()) {
             autoPlay.put(currentPlayer.getUniqueId(), true);
-            broadcastToRoom(ChatColor.RED + currentPlayer.getName() + " 已掉线，自动托管！");
+            broadcastToRoom(Messages.offlineAuto(nameOf(currentPlayer)));
             autoPlayCards(currentPlayer);
             return;
         }
 
         updateBossBar();
         updateScoreboard();
-        broadcastToRoom(ChatColor.YELLOW + "请 " + currentPlayer.getName() + " 在 " + getTurnTimeout() + " 秒内出牌！");
+        messages.broadcast(players.values(), Messages.countdown(nameOf(currentPlayer), getTurnTimeout(), "出牌"));
 
         // 托管玩家直接自动出牌
         if (autoPlay.get(currentPlayer.getUniqueId())) {
-            currentPlayer.sendMessage(ChatColor.YELLOW + "你处于托管状态，系统将自动出牌");
+            messages.send(currentPlayer, Messages.AUTO_PLAYING);
             // 发送取消托管按钮
-            TextComponent mes = new TextComponent(ChatColor.RED + "可输入/landlord_action auto 退出托管");
-            TextComponent cancelButton = new TextComponent(ChatColor.RED + "【取消托管】");
-            cancelButton.setClickEvent(new ClickEvent(ClickEvent.Action.RUN_COMMAND, "/landlord_action auto"));
-            cancelButton.setHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT,
-                    new ComponentBuilder("点击取消托管").create()));
-            currentPlayer.spigot().sendMessage(mes);
-            currentPlayer.spigot().sendMessage(cancelButton);
-
-            runTaskLater(() -> autoPlayCards(currentPlayer), 20L); // 延迟1秒执行自动出牌
+            messages.send(currentPlayer, Messages.AUTO_PLAY_ACTIVE);
+
+            runTaskLater(() -> autoPlayCards(currentPlayer), botDelay(20L)); // 延迟1秒执行自动出牌
         } else {
             // 非托管玩家显示GUI
             List<Card> cards = getPlayerCards(currentPlayer);
@@ -923,22 +1191,8 @@ public class GameRoom {
         cancelCurrentTimer(); // 清除旧计时器
 
         AtomicInteger secondsLeft = new AtomicInteger(getTurnTimeout());
-
-        if (plugin.isFolia()) {
-            // 使用Folia的调度方式
-            player.getScheduler().runAtFixedRate(plugin, task -> {
-                handleTimerTick(player, secondsLeft);
-            }, null, 20L, 20L);
-        } else {
-            // 使用传统Bukkit调度方式
-            BukkitTask task = new BukkitRunnable() {
-                @Override
-                public void run() {
-                    handleTimerTick(player, secondsLeft);
-                }
-            }.runTaskTimer(plugin, 0L, 20L);
-            playerTimers.put(player.getUniqueId(), task);
-        }
+        turnTimer = plugin.getTimingWheel().scheduleRepeating(
+                () -> post(() -> handleTimerTick(player, secondsLeft)), 1L, 20L, null);
     }
 
     private void handleTimerTick(Player player, AtomicInteger secondsLeft) {
@@ -952,32 +1206,37 @@ public class GameRoom {
             return;
         }
 
-        // 视觉提示（最后5秒）
-        if (secondsLeft.get() <= 5) {
-            player.sendTitle(
-                    ChatColor.RED + "⚠ " + secondsLeft.get() + " ⚠",
-                    ChatColor.YELLOW + "超时将自动托管",
-                    0, 25, 0
+        // 视觉提示（最后5秒）与音效提示，在玩家所在区域执行
+        int seconds = secondsLeft.get();
+        int timeout = getTurnTimeout();
+        runAt(player, () -> {
+            if (seconds <= 5) {
+                player.sendTitle(
+                        ChatColor.RED + "⚠ " + seconds + " ⚠",
+                        ChatColor.YELLOW + "超时将自动托管",
+                        0, 25, 0
+                );
+            }
+            player.playSound(
+                    player.getLocation(),
+                    Sound.BLOCK_NOTE_BLOCK_HAT,
+                    0.5f,
+                    (float) (1.0 + (timeout - seconds) * 0.02)
             );
+        });
+        if (seconds <= 5) {
             spawnParticles(player, Particle.GLOW_SQUID_INK, 10);
         }
 
-        // 音效提示
-        player.playSound(
-                player.getLocation(),
-                Sound.BLOCK_NOTE_BLOCK_HAT,
-                0.5f,
-                (float) (1.0 + (getTurnTimeout() - secondsLeft.get()) * 0.02)
-        );
-
         // 超时处理
         if (secondsLeft.decrementAndGet() <= 0) {
+            cancelCurrentTimer(); // 到期后不再继续倒计时
             // 强制设置为托管状态
             autoPlay.put(player.getUniqueId(), true);
-            player.sendMessage(ChatColor.RED + "时间到！已自动托管");
+            messages.send(player, Messages.TURN_TIMEOUT);
 
             // 关闭当前打开的GUI
-            player.closeInventory();
+            runAt(player, player::closeInventory);
             forceCloseAllGUIs();
 
             // 处理自动出牌
@@ -991,17 +1250,21 @@ public class GameRoom {
 
     // 粒子生成
     private void spawnParticles(Player p, Particle particle, int count) {
-        Location loc = p.getLocation().add(0, 1, 0);
-        p.spawnParticle(particle, loc, count, 0.5, 0.5, 0.5, 0.1);
+        if (plugin.getLoadShedder().isAtLeast(LoadShedder.LEVEL_NO_EFFECTS)) return; // 负载降级时跳过特效
+        defer(TickBudgetGovernor.Priority.LOW, null, () -> {
+            if (!p.isOnline()) return;
+            runAt(p, () -> {
+                Location loc = p.getLocation().add(0, 1, 0);
+                p.spawnParticle(particle, loc, count, 0.5, 0.5, 0.5, 0.1);
+            });
+        });
     }
 
     private void cancelCurrentTimer() {
-        if (currentPlayer != null) {
-            // 取消传统 Bukkit 任务
-            BukkitTask task = playerTimers.remove(currentPlayer.getUniqueId());
-            if (task != null) {
-                task.cancel();
-            }
+        TimingWheel.Timeout timer = turnTimer;
+        if (timer != null) {
+            timer.cancel();
+            turnTimer = null;
         }
     }
 
@@ -1020,8 +1283,9 @@ public class GameRoom {
             autoPlay.put(player.getUniqueId(), true);
         }
 
-        // 托管玩家不显示GUI，直接处理出牌逻辑
-        runTaskLater(() -> {
+        // 托管玩家不显示GUI，直接处理出牌逻辑（AI决策按tick预算执行）
+        runTaskLater(() -> defer(TickBudgetGovernor.Priority.HIGH, "ai", () -> {
+            if (gameState == GameState.FINISHED || !player.equals(currentPlayer)) return;
             List<Card> selectedCards = GameLogic.autoSelectCards(cards,
                     lastPlayedCards.isEmpty() ? null : GameLogic.recognizePattern(lastPlayedCards));
 
@@ -1032,7 +1296,7 @@ public class GameRoom {
             } else {
                 passCard(player);
             }
-        }, 20L); // 延迟1秒执行自动出牌
+        }), botDelay(20L)); // 延迟1秒执行自动出牌
     }
 
     // 根据牌值获取手牌中的索引
@@ -1058,8 +1322,9 @@ public class GameRoom {
         int farmerPointsChange = gameMultiplier;
 
         for (Player player : players.values()) {
-            String playerName = player.getName();
-            StatsManager.PlayerStats stats = plugin.getStatsManager().getPlayerStats(playerName);
+            StatsManager.PlayerStats stats = plugin.getProfileManager().getStats(player);
+            int pointsBefore = stats.getPoints();
+            int winsBefore = stats.getGamesWon();
             stats.incrementGamesPlayed();
 
             boolean isOnline = player.isOnline();
@@ -1090,22 +1355,21 @@ public class GameRoom {
                 }
             }
 
-            plugin.getStatsManager().updatePlayerStats(playerName, stats);
+            plugin.getProfileManager().saveStats(player, stats);
+            plugin.getLeaderboards().record(player.getUniqueId(), player.getName(),
+                    stats.getPoints() - pointsBefore, stats.getGamesWon() - winsBefore, 1, 0);
         }
     }
 
     private void endGame(String reason) {
         if (gameState == GameState.FINISHED) return; // 防止重复调用
-        // 立即取消所有任务（包括Folia任务）
+        // 立即取消倒计时（Paper与Folia共用时间轮）
         cancelCurrentTimer();
-        playerTimers.values().forEach(task -> {
-            if (task != null) task.cancel();
-        });
-        playerTimers.clear();
 
         gameState = GameState.FINISHED; // 立即设置状态
 
         // 游戏结束时强制关闭所有GUI
+        cardSelectionGUI.closeSeats();
         forceCloseAllGUIs();
 
         // 重置所有玩家的准备状态和托管状态
@@ -1118,23 +1382,25 @@ public class GameRoom {
         // 处理金币奖励
         if (moneyGame) {
             handleMoneyRewards(reason);
+            // 结算后异步刷新余额快照
+            for (Player player : players.values()) {
+                plugin.getProfileManager().refreshBalance(player);
+            }
         }
 
         lastHandMessages.clear();
-        playerTimers.values().forEach(BukkitTask::cancel);
-        playerTimers.clear();
+        lastHandMasks.clear();
+        cancelCurrentTimer();
 
         gameStarted = false;
 
         // 更新玩家统计（区分在线和掉线玩家）
         updatePlayerStats(reason);
 
-        for (Player p : players.values()) {
-            p.spigot().sendMessage(new TextComponent(" ")); // 空消息占位
-        }
+        messages.broadcast(players.values(), Messages.BLANK); // 空消息占位
 
-        broadcastToRoom(ChatColor.GOLD + "=== 本局积分结算 ===");
-        broadcastToRoom(ChatColor.YELLOW + "最终倍数: x" + multiplier);
+        broadcastToRoom(Messages.SETTLEMENT);
+        broadcastToRoom(Component.text("最终倍数: x" + multiplier, NamedTextColor.YELLOW));
 
         boolean isLandlordWin = reason.contains("地主获胜");
         int farmerPoints = multiplier;
@@ -1142,48 +1408,45 @@ public class GameRoom {
         // 地主积分通知
         Player landlordPlayer = this.landlord;
         boolean landlordOnline = landlordPlayer != null && landlordPlayer.isOnline();
-        String landlordMsg = ChatColor.RED + "地主 " + landlordPlayer.getName() + ": " +
-                (isLandlordWin ?
-                        (landlordOnline ? ChatColor.GREEN + "+" + (multiplier * 2) : ChatColor.GRAY + "+0 (掉线)") :
-                        ChatColor.RED + "-" + (multiplier * 2));
-        broadcastToRoom(landlordMsg);
+        broadcastToRoom(Component.textOfChildren(
+                Component.text("地主 " + landlordPlayer.getName() + ": ", NamedTextColor.RED),
+                scoreChange(isLandlordWin, landlordOnline, multiplier * 2)));
 
         // 农民积分通知
         for (Player player : players.values()) {
             if (!player.equals(landlordPlayer)) {
                 boolean farmerOnline = player.isOnline();
-                String farmerMsg = ChatColor.GREEN + "农民 " + player.getName() + ": " +
-                        (!isLandlordWin ?
-                                (farmerOnline ? ChatColor.GREEN + "+" + farmerPoints : ChatColor.GRAY + "+0 (掉线)") :
-                                ChatColor.RED + "-" + farmerPoints);
-                broadcastToRoom(farmerMsg);
+                broadcastToRoom(Component.textOfChildren(
+                        Component.text("农民 " + player.getName() + ": ", NamedTextColor.GREEN),
+                        scoreChange(!isLandlordWin, farmerOnline, farmerPoints)));
             }
         }
 
-        broadcastToRoom(ChatColor.GOLD + "=== 游戏结束 ===");
-        broadcastToRoom(ChatColor.YELLOW + reason);
+        broadcastToRoom(Messages.GAME_OVER);
+        broadcastToRoom(Component.text(reason, NamedTextColor.YELLOW));
 
-        // 创建可点击的「准备/取消准备」按钮
-        TextComponent readyButton = new TextComponent("【准备/取消准备】");
-        readyButton.setColor(net.md_5.bungee.api.ChatColor.GREEN);
-        readyButton.setBold(true);
-        readyButton.setClickEvent(new ClickEvent(ClickEvent.Action.RUN_COMMAND, "/landlord ready"));
-        readyButton.setHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT,
-                new ComponentBuilder("点击切换准备状态").color(net.md_5.bungee.api.ChatColor.YELLOW).create()));
+        // 提交本局回放记录
+        if (gameRecord != null && plugin.getReplayRecorder() != null) {
+            gameRecord.setResult(recordSeat(landlordPlayer), isLandlordWin, multiplier);
+            long gameId = plugin.getReplayRecorder().submit(gameRecord);
+            gameRecord = null;
+            broadcastToRoom(Component.text("对局编号: #" + gameId, NamedTextColor.GRAY));
+        }
 
         // 确保所有玩家（包括托管状态玩家）都能收到消息
         for (Player player : players.values()) {
-            player.spigot().sendMessage(new TextComponent(" ")); // 空消息占位
-            player.spigot().sendMessage(readyButton);
+            messages.send(player, Messages.BLANK); // 空消息占位
+            messages.send(player, Messages.READY_BUTTON); // 可点击的「准备/取消准备」按钮
 
             // 强制取消托管状态
             autoPlay.put(player.getUniqueId(), false);
             if (autoPlay.getOrDefault(player.getUniqueId(), false)) {
-                player.sendMessage(ChatColor.YELLOW + "你的托管状态已自动取消");
+                messages.send(player, Messages.AUTO_CANCELLED);
             }
         }
 
-        // 踢出离线玩家
+        // 踢出离线玩家（全部离线时房间会在此期间回收）
+        int gen = generation;
         Set<UUID> offlinePlayers = new HashSet<>();
         for (Map.Entry<UUID, Player> entry : players.entrySet()) {
             if (!entry.getValue().isOnline()) {
@@ -1196,12 +1459,16 @@ public class GameRoom {
             removePlayer(player);
             plugin.removePlayerFromRoom(playerId); // 从主插件中移除玩家
         }
+        if (gen != generation) {
+            return; // 房间已重置并归还房间池，可能已被复用，不能再安排重置
+        }
 
         // 重置游戏状态
         runTaskLater(this::resetGame, 40L);
     }
 
     private void resetGame() {
+        cardSelectionGUI.closeSeats();
         // 重置准备状态
         for (UUID playerId : players.keySet()) {
             readyStatus.put(playerId, false);
@@ -1210,8 +1477,10 @@ public class GameRoom {
         }
 
         lastHandMessages.clear();
+        lastHandMasks.clear();
         gameStarted = false;
         gameState = GameState.WAITING;
+        gameRecord = null;
         landlord = null;
         landlordCards.clear();
         lastPlayedCards.clear();
@@ -1238,8 +1507,6 @@ public class GameRoom {
 
         // 取消所有计时器
         cancelCurrentTimer();
-        playerTimers.values().forEach(BukkitTask::cancel);
-        playerTimers.clear();
 
         // 更新显示
         updateBossBar();
@@ -1248,7 +1515,7 @@ public class GameRoom {
         // 通知所有玩家托管状态已重置
         for (Player player : players.values()) {
             if (autoPlay.getOrDefault(player.getUniqueId(), false)) {
-                player.sendMessage(ChatColor.YELLOW + "你的托管状态已自动取消");
+                messages.send(player, Messages.AUTO_CANCELLED);
             }
         }
     }
@@ -1279,15 +1546,25 @@ public class GameRoom {
         if (allowSelection && player.equals(currentPlayer)) {
             cardSelectionGUI.openGUI(player, cards);
         } else {
-            // 非当前玩家仍然显示手牌信息（仅限非托管玩家）
-            ComponentBuilder builder = new ComponentBuilder("你的手牌:")
-                    .color(net.md_5.bungee.api.ChatColor.GREEN);
-            for (Card card : cards) {
-                builder.append(" ").append(card.toString());
-            }
+            cardSelectionGUI.refresh(player); // 开着出牌界面的玩家同步更新
+            // 非当前玩家仍然显示手牌信息（仅限非托管玩家），同一事件内只发送最后一条
+            messages.sendHand(player, handMessage(player, cards));
+        }
+    }
 
-            player.spigot().sendMessage(builder.create());
+    // 手牌没有变化时复用上次构建的消息
+    private Component handMessage(Player player, List<Card> cards) {
+        long mask = Card.toMask(cards);
+        Component cached = lastHandMessages.get(player.getUniqueId());
+        Long cachedMask = lastHandMasks.get(player.getUniqueId());
+        if (cached != null && cachedMask != null && cachedMask == mask) {
+            return cached;
         }
+
+        Component message = Messages.hand(cards);
+        lastHandMessages.put(player.getUniqueId(), message);
+        lastHandMasks.put(player.getUniqueId(), mask);
+        return message;
     }
 
     public boolean isAutoPlay(Player player) {
@@ -1299,9 +1576,11 @@ public class GameRoom {
     }
 
     public void toggleAutoPlay(Player player) {
+        if (deferToMailbox(() -> toggleAutoPlay(player))) return;
+
         boolean current = autoPlay.get(player.getUniqueId());
         autoPlay.put(player.getUniqueId(), !current);
-        player.sendMessage(!current ? ChatColor.YELLOW + "已开启托管" : ChatColor.YELLOW + "已取消托管");
+        messages.send(player, !current ? Messages.AUTO_ENABLED : Messages.AUTO_DISABLED);
 
         if (!current && player.equals(currentPlayer)) {
             autoPlayCards(player);
@@ -1309,237 +1588,126 @@ public class GameRoom {
     }
 
     private void showLandlordCards() {
-        StringBuilder sb = new StringBuilder(ChatColor.GOLD + "地主牌: ");
-        for (int i = 0; i < landlordCards.size(); i++) {
-            if (i > 0) sb.append(" ");
-            sb.append(landlordCards.get(i).toString());
-        }
-        broadcastToRoom(sb.toString());
+        broadcastToRoom(Messages.landlordCards(landlordCards));
         updateScoreboard();
     }
 
     private void sendGameButtons(Player player) {
-        player.sendMessage(ChatColor.AQUA + "=== 游戏操作 ===");
-        player.sendMessage(ChatColor.GREEN + "输入/ddz ready 准备/取消准备");
-
-        // 创建可点击的「准备/取消准备」按钮
-        TextComponent readyButton = new TextComponent("【准备/取消准备】");
-        readyButton.setColor(net.md_5.bungee.api.ChatColor.GREEN);
-        readyButton.setBold(true);
-        readyButton.setClickEvent(new ClickEvent(ClickEvent.Action.RUN_COMMAND, "/landlord ready"));
-        readyButton.setHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT,
-                new ComponentBuilder("点击切换准备状态").color(net.md_5.bungee.api.ChatColor.YELLOW).create()));
+        messages.send(player, Messages.ACTIONS_HEADER);
+        messages.send(player, Messages.READY_HINT);
 
         // 发送按钮消息
-        player.spigot().sendMessage(readyButton);
+        messages.send(player, Messages.READY_BUTTON); // 可点击的「准备/取消准备」按钮
     }
 
     private void updateBossBar() {
+        markDirty(Surface.BOSSBAR);
+    }
+
+    private void renderBossBar() {
         if (bossBar == null) return;
 
-        String title;
-        BarColor color;
-        double progress;
+        RoomView current = currentView();
+        if (current.getVersion() == bossBarVersion) return; // 状态未变化
+        bossBarVersion = current.getVersion();
 
-        switch (gameState) {
-            case WAITING:
-                title = "房间 " + roomId + " - 等待玩家 (" + players.size() + "/3)" +
-                        (moneyGame ? " " + ChatColor.GOLD + "[金币赛]" : "");
-                color = BarColor.BLUE;
-                progress = players.size() / 3.0;
-                break;
-            case BIDDING:
-                title = "叫分阶段 - 当前: " + (currentPlayer != null ? currentPlayer.getName() : "无") +
-                        " | 最高分: " + currentBidScore +
-                        (moneyGame ? " " + ChatColor.GOLD + "[金币赛]" : "");
-                color = BarColor.YELLOW;
-                progress = 0.5;
-                break;
-            case PLAYING:
-                // 确保当前玩家信息实时更新
-                String currentPlayerName = currentPlayer != null ? currentPlayer.getName() : "无";
-                title = "游戏中 - 当前: " + currentPlayerName +
-                        " | 倍数: x" + multiplier +
-                        (landlord != null ? " | 地主: " + landlord.getName() : "") +
-                        (moneyGame ? " " + ChatColor.GOLD + "[金币赛]" : "");
-                color = BarColor.GREEN;
-                progress = 1.0;
-                break;
-            case FINISHED:
-                title = "游戏结束 - 即将重置" +
-                        (moneyGame ? " " + ChatColor.GOLD + "[金币赛]" : "");
-                color = BarColor.RED;
-                progress = 0.0;
-                break;
-            default:
-                title = "房间 " + roomId +
-                        (moneyGame ? " " + ChatColor.GOLD + "[金币赛]" : "");
-                color = BarColor.WHITE;
-                progress = 0.0;
-                break;
-        }
+        bossBar.setTitle(current.getBossBarTitle());
+        bossBar.setColor(current.getBossBarColor());
+        bossBar.setProgress(Math.max(0.0, Math.min(1.0, current.getBossBarProgress())));
+    }
+
+    /**
+     * 房间的显示快照：在房间线程上返回最新状态，其他线程返回最近一次生成的快照
+     */
+    public RoomView getView() {
+        return mailbox.isDraining() ? currentView() : view;
+    }
 
-        bossBar.setTitle(title);
-        bossBar.setColor(color);
-        bossBar.setProgress(Math.max(0.0, Math.min(1.0, progress)));
+    // 在房间线程上取最新快照：状态变化后第一次读取时重建一次
+    private RoomView currentView() {
+        if (viewDirty || view == null) {
+            viewDirty = false;
+            List<RoomView.Seat> seats = new ArrayList<>();
+            for (Player p : players.values()) {
+                List<Card> cards = playerCards.get(p.getUniqueId());
+                seats.add(new RoomView.Seat(p.getName(), cards != null ? cards.size() : 0,
+                        readyStatus.getOrDefault(p.getUniqueId(), false)));
+            }
+            view = new RoomView(++viewVersion, roomId, gameState, gameStarted, moneyGame,
+                    roomOwner != null ? roomOwner.getName() : null,
+                    currentPlayer != null ? currentPlayer.getName() : null,
+                    landlord != null ? landlord.getName() : null,
+                    multiplier, currentBidScore, seats);
+            plugin.getRoomDirectory().update(this, view); // 房间列表只重建本房间的物品
+        }
+        return view;
     }
 
-    private long lastScoreboardUpdate = 0;
+    private final Map<UUID, PlayerSidebar> sidebars = new HashMap<>(); // 每个玩家的计分板只创建一次
 
     private void updateScoreboard() {
+        markDirty(Surface.SCOREBOARD);
+    }
+
+    private void renderScoreboard() {
         // 如果游戏已结束，不更新计分板
         if (gameState == GameState.FINISHED) return;
 
+        RoomView current = currentView();
+
         // 如果计分板被禁用或者是Folia核心，显示bossbar
-        if (!plugin.isScoreboardEnabled() || plugin.isFolia()) {
-            for (Player player : players.values()) {
-                updateScoreboardBossBar(player);
-            }
+        if (!plugin.getPlatform().usesSidebar()) {
+            updateScoreboardBossBar(current);
             return;
         }
 
-        long now = System.currentTimeMillis();
-        if (now - lastScoreboardUpdate < 100) return;
-        lastScoreboardUpdate = now;
+        ScoreboardManager manager = Bukkit.getScoreboardManager();
+        if (manager == null) {
+            plugin.getLogger().warning("ScoreboardManager未初始化！");
+            return;
+        }
 
+        // 计分板模式只出现在 Paper 上，延后任务已在主线程执行，不再额外调度
         for (Player player : players.values()) {
-            if (plugin.isFolia()) {
-                updatePlayerScoreboardNow(player);
-            } else {
-                Bukkit.getScheduler().runTask(plugin, () -> updatePlayerScoreboardNow(player));
+            if (!player.isOnline()) continue;
+            try {
+                sidebars.computeIfAbsent(player.getUniqueId(),
+                        id -> new PlayerSidebar(manager, ChatColor.GOLD + "斗地主")).update(player, current);
+            } catch (Exception e) {
+                plugin.getLogger().warning("更新计分板失败: " + e.getMessage());
             }
         }
     }
 
-    private void updatePlayerScoreboardNow(Player player) {
-        try {
-            // 检查玩家是否在线
-            if (!player.isOnline()) return;
-
-            // 使用玩家调度器确保线程安全
-            player.getScheduler().run(plugin, task -> {
-                try {
-                    // 获取ScoreboardManager
-                    ScoreboardManager manager = Bukkit.getScoreboardManager();
-                    if (manager == null) {
-                        plugin.getLogger().warning("ScoreboardManager未初始化！");
-                        return;
-                    }
-
-                    // 创建新记分板
-                    Scoreboard scoreboard = manager.getNewScoreboard();
-                    Objective objective = scoreboard.registerNewObjective(
-                            "landlord_" + player.getName(), // 唯一ID，避免冲突
-                            "dummy",
-                            ChatColor.GOLD + "斗地主"
-                    );
-                    objective.setDisplaySlot(DisplaySlot.SIDEBAR);
-
-                    // 使用AtomicInteger替代基本类型int
-                    AtomicInteger line = new AtomicInteger(10);
-
-                    objective.getScore(ChatColor.YELLOW + "房间: " + roomId).setScore(line.getAndDecrement());
-                    objective.getScore("").setScore(line.getAndDecrement());
-
-                    if (gameStarted) {
-                        if (gameState == GameState.BIDDING) {
-                            objective.getScore(ChatColor.GOLD + "▶ 叫分阶段").setScore(line.getAndDecrement());
-                            objective.getScore(ChatColor.WHITE + "当前叫分: " +
-                                    (currentPlayer != null ? currentPlayer.getName() : "无")).setScore(line.getAndDecrement());
-                            objective.getScore(ChatColor.AQUA + "最高分: " + currentBidScore + "分").setScore(line.getAndDecrement());
-                        } else if (gameState == GameState.PLAYING) {
-                            if (landlord != null) {
-                                objective.getScore(ChatColor.RED + "地主: " + landlord.getName()).setScore(line.getAndDecrement());
-                                objective.getScore(ChatColor.AQUA + "倍数: ×" + multiplier).setScore(line.getAndDecrement());
-                            }
-                            objective.getScore(ChatColor.WHITE + "当前出牌: " +
-                                    (currentPlayer != null ? currentPlayer.getName() : "无")).setScore(line.getAndDecrement());
-                        }
-
-                        objective.getScore(ChatColor.GREEN + "手牌数量:").setScore(line.getAndDecrement());
-                        players.values().forEach(p -> {
-                            List<Card> cards = playerCards.get(p.getUniqueId());
-                            // 确保获取最新的手牌数量
-                            int count = cards != null ? cards.size() : 0;
-                            objective.getScore(p.getName() + ": " + count + "张")
-                                    .setScore(line.getAndDecrement());
-                        });
-                    } else {
-                        objective.getScore(ChatColor.WHITE + "玩家列表:").setScore(line.getAndDecrement());
-                        players.values().forEach(p -> {
-                            boolean ready = readyStatus.getOrDefault(p.getUniqueId(), false);
-                            objective.getScore((ready ? ChatColor.GREEN + "✓ " : ChatColor.RED + "✗ ") +
-                                            p.getName())  // 直接显示玩家名
-                                    .setScore(line.getAndDecrement());
-                        });
-                    }
-
-                    // 最后设置记分板
-                    player.setScoreboard(scoreboard);
-                } catch (Exception e) {
-                    updateScoreboardBossBar(player); // 回退到bossbar
-                }
-            }, null);
-        } catch (Exception e) {
-            plugin.getLogger().warning("调度计分板更新失败: " + e.getMessage());
-        }
-    }
-
     /**
      * 当计分板不可用时，通过新bossbar显示游戏信息
      */
-    private void updateScoreboardBossBar(Player player) {
-        if (gameState == GameState.FINISHED && lastHandMessages.containsKey(player.getUniqueId())) {
-            return;
-        }
-
-        if (scoreboardBossBar == null) return;
+    private void updateScoreboardBossBar(RoomView current) {
+        if (scoreboardBossBar == null || current.getVersion() == summaryVersion) return;
+        summaryVersion = current.getVersion();
 
-        StringBuilder info = new StringBuilder();
-
-        if (gameStarted) {
-            info.append(ChatColor.AQUA).append("手牌数量: ");
-            // 按固定顺序显示玩家信息（按加入顺序）
-            List<Player> orderedPlayers = new ArrayList<>(players.values());
-            // 按玩家名字排序确保顺序一致
-            orderedPlayers.sort(Comparator.comparing(Player::getName));
-
-            for (Player p : orderedPlayers) {
-                List<Card> cards = playerCards.get(p.getUniqueId());
-                int cardCount = cards != null ? cards.size() : 0;
-                String name = p.getName();  // 直接使用玩家名，不再判断"你"
-                info.append(name).append(":").append(cardCount).append(" ");
-            }
-        } else {
-            info.append(ChatColor.WHITE).append("玩家状态: ");
-            // 按固定顺序显示玩家信息（按加入顺序）
-            List<Player> orderedPlayers = new ArrayList<>(players.values());
-            // 按玩家名字排序确保顺序一致
-            orderedPlayers.sort(Comparator.comparing(Player::getName));
-
-            for (Player p : orderedPlayers) {
-                boolean ready = readyStatus.get(p.getUniqueId());
-                String status = ready ? ChatColor.GREEN + "✓" : ChatColor.RED + "✗";
-                String name = p.getName();  // 直接使用玩家名
-                info.append(status).append(name).append(" ");
-            }
-        }
-
-        scoreboardBossBar.setTitle(info.toString());
+        scoreboardBossBar.setTitle(current.getSummaryTitle());
         scoreboardBossBar.setProgress(1.0);
     }
 
-    private void broadcastToRoom(String message) {
-        for (Player player : players.values()) {
-            player.sendMessage(message);
-        }
+    private void broadcastToRoom(Component message) {
+        messages.broadcast(players.values(), message);
+    }
+
+    // 结算行的积分变化：胜方在线 +N，掉线 +0，负方 -N
+    private static Component scoreChange(boolean won, boolean online, int points) {
+        if (!won) return Component.text("-" + points, NamedTextColor.RED);
+        return online ? Component.text("+" + points, NamedTextColor.GREEN) : Component.text("+0 (掉线)", NamedTextColor.GRAY);
     }
 
     public void cleanup() {
         lastHandMessages.clear(); // 清理上次的消息记录
+        lastHandMasks.clear();
+        dirtySurfaces.clear();
+        messages.clear();
+        cardSelectionGUI.cleanup();
         // 清理计时器和BossBar
-        playerTimers.values().forEach(BukkitTask::cancel);
-        playerTimers.clear();
+        cancelCurrentTimer();
         if (bossBar != null) {
             bossBar.removeAll();
         }
@@ -1548,9 +1716,11 @@ public class GameRoom {
         }
 
         // 同步清理计分板
+        sidebars.clear();
         for (Player player : players.values()) {
             try {
-                player.setScoreboard(Bukkit.getScoreboardManager().getNewScoreboard());
+                Scoreboard emptyScoreboard = Bukkit.getScoreboardManager().getNewScoreboard();
+                runAt(player, () -> player.setScoreboard(emptyScoreboard));
             } catch (Exception e) {
 
             }
@@ -1566,6 +1736,10 @@ public class GameRoom {
         return multiplier;
     }
 
+    public CardSelectionGUI getCardSelectionGUI() {
+        return cardSelectionGUI;
+    }
+
     /**
      * 获取上家出的牌
      * @return 上家出的牌列表
@@ -1633,24 +1807,25 @@ public class GameRoom {
     }
 
     public void toggleMoneyGame(Player player) {
+        if (deferToMailbox(() -> toggleMoneyGame(player))) return;
+
         if (!player.equals(roomOwner)) {
-            player.sendMessage(ChatColor.RED + "只有房主可以设置金币赛！");
+            messages.send(player, Messages.MONEY_OWNER_ONLY);
             return;
         }
 
         if (gameStarted) {
-            player.sendMessage(ChatColor.RED + "游戏已经开始，无法修改金币赛设置！");
+            messages.send(player, Messages.MONEY_LOCKED);
             return;
         }
 
         // Vault检查
         if (!plugin.isBountyEnabled() || plugin.getEconomy() == null) {
-            player.sendMessage(ChatColor.RED + "金币赛功能未启用或Vault经济系统不可用！");
+            messages.send(player, Messages.MONEY_UNAVAILABLE);
             return;
         }
 
         moneyGame = !moneyGame;
-        String status = moneyGame ? ChatColor.GREEN + "已开启" : ChatColor.RED + "已关闭";
 
         if (moneyGame) {
             // 检查所有玩家金币是否足够
@@ -1659,19 +1834,22 @@ public class GameRoom {
                 double required = plugin.getMoneyMultiplier();
                 double playerBalance = plugin.getPlayerBalance(player);
                 if (playerBalance < required) {
-                    player.sendMessage(ChatColor.RED + "警告！金币赛需要至少 " + required + " 金币，你当前只有 " +
-                            playerBalance + " 金币");
+                    messages.send(player, Component.text("警告！金币赛需要至少 " + required + " 金币，你当前只有 " +
+                            playerBalance + " 金币", NamedTextColor.RED));
                     return;
                 }
             }
 
             if (!allHaveMoney) {
-                player.sendMessage(ChatColor.YELLOW + "已开启金币赛，但有些玩家金币不足！");
+                messages.send(player, Messages.MONEY_SOME_SHORT);
             }
         }
 
-        broadcastToRoom(ChatColor.GOLD + "金币赛 " + status + ChatColor.GOLD +
-                "！本局金币倍率: " + plugin.getMoneyMultiplier() + " (需要至少 " + plugin.getMoneyMultiplier() + " 金币)");
+        broadcastToRoom(Component.textOfChildren(
+                Component.text("金币赛 "),
+                moneyGame ? Component.text("已开启", NamedTextColor.GREEN) : Component.text("已关闭", NamedTextColor.RED),
+                Component.text("！本局金币倍率: " + plugin.getMoneyMultiplier() + " (需要至少 " + plugin.getMoneyMultiplier() + " 金币)")
+        ).color(NamedTextColor.GOLD));
 
         // 更新bossbar显示
         updateBossBar();
@@ -1684,7 +1862,7 @@ public class GameRoom {
 
         Economy economy = (Economy) plugin.getEconomy();
         if (economy == null) {
-            broadcastToRoom(ChatColor.RED + "经济系统不可用，无法处理金币奖励！");
+            broadcastToRoom(Messages.ECONOMY_UNAVAILABLE);
             return;
         }
 
@@ -1713,7 +1891,7 @@ public class GameRoom {
                     if (farmerBalance > 0) {
                         forceTransferMoney(farmer, landlordPlayer, farmerBalance, "输给地主(部分支付)");
                     }
-                    broadcastToRoom(ChatColor.RED + farmer.getName() + " 金币不足，无法支付全部赌注！");
+                    broadcastToRoom(Messages.shortOfStake(nameOf(farmer)));
                 }
             }
         } else {
@@ -1740,7 +1918,7 @@ public class GameRoom {
                         forceTransferMoney(landlordPlayer, farmer, eachFarmerGets, "平分地主剩余金币");
                     }
                 }
-                broadcastToRoom(ChatColor.RED + String.format("地主金币不足！农民平分了地主剩余的 %.2f 金币", landlordBalance));
+                broadcastToRoom(Component.text(String.format("地主金币不足！农民平分了地主剩余的 %.2f 金币", landlordBalance), NamedTextColor.RED));
             }
         }
     }
@@ -1760,7 +1938,7 @@ public class GameRoom {
         if (actualAmount <= 0) {
             plugin.getLogger().warning(fromName + " 金币不足，无法支付 " + amount + " 给 " + toName);
             if (from.isOnline()) {
-                from.sendMessage(ChatColor.RED + "你的金币不足，无法完成支付！");
+                messages.send(from, Messages.PAYMENT_SHORT);
             }
             return;
         }
@@ -1781,23 +1959,29 @@ public class GameRoom {
             return;
         }
 
-        // 更新统计
-        StatsManager.PlayerStats fromStats = plugin.getStatsManager().getPlayerStats(fromName);
+        // 更新统计与余额快照
+        ProfileManager profiles = plugin.getProfileManager();
+        StatsManager.PlayerStats fromStats = profiles.getStats(from);
         fromStats.addNetMoney(-actualAmount);
-        plugin.getStatsManager().updatePlayerStats(fromName, fromStats);
+        profiles.saveStats(from, fromStats);
+        profiles.adjustBalance(from, -actualAmount);
 
-        StatsManager.PlayerStats toStats = plugin.getStatsManager().getPlayerStats(toName);
+        StatsManager.PlayerStats toStats = profiles.getStats(to);
         toStats.addNetMoney(actualAmount);
-        plugin.getStatsManager().updatePlayerStats(toName, toStats);
+        profiles.saveStats(to, toStats);
+        profiles.adjustBalance(to, actualAmount);
+
+        plugin.getLeaderboards().record(from.getUniqueId(), from.getName(), 0, 0, 0, -actualAmount);
+        plugin.getLeaderboards().record(to.getUniqueId(), to.getName(), 0, 0, 0, actualAmount);
 
         // 只给在线玩家发送消息
         if (from.isOnline()) {
-            from.sendMessage(ChatColor.YELLOW + String.format("你支付了 %.2f 金币给 %s (%s)",
-                    actualAmount, toName, reason));
+            messages.send(from, Component.text(String.format("你支付了 %.2f 金币给 %s (%s)",
+                    actualAmount, toName, reason), NamedTextColor.YELLOW));
         }
         if (to.isOnline()) {
-            to.sendMessage(ChatColor.GREEN + String.format("你收到了 %.2f 金币来自 %s (%s)",
-                    actualAmount, fromName, reason));
+            messages.send(to, Component.text(String.format("你收到了 %.2f 金币来自 %s (%s)",
+                    actualAmount, fromName, reason), NamedTextColor.GREEN));
         }
     }
 
@@ -0,0 +1,61 @@
+package cn.kurt6.landlord;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 全插件唯一的界面事件监听器：按顶部界面的持有者查表分发点击
+ * 与房间数量无关，房间移除后也不会残留监听
+ */
+public class GuiListener implements Listener {
+    private static final long CLICK_COOLDOWN_MS = 100;
+
+    private final Map<UUID, Long> lastClickTimes = new ConcurrentHashMap<>();
+
+    @EventHandler
+    public void onInventoryClick(InventoryClickEvent event) {
+        Inventory top = event.getView().getTopInventory();
+        InventoryHolder holder = top.getHolder();
+        if (!(holder instanceof MenuHolder)) return;
+
+        // 插件界面打开时，所有点击（包括自己背包）都取消
+        event.setCancelled(true);
+        if (!(event.getWhoClicked() instanceof Player)) return;
+        if (event.getClickedInventory() != top) return;
+
+        Player player = (Player) event.getWhoClicked();
+        MenuHolder menu = (MenuHolder) holder;
+        if (menu.getType().isThrottled()) {
+            long now = System.currentTimeMillis();
+            Long last = lastClickTimes.get(player.getUniqueId());
+            if (last != null && now - last < CLICK_COOLDOWN_MS) {
+                return;
+            }
+            lastClickTimes.put(player.getUniqueId(), now);
+        }
+        menu.click(player, event.getSlot(), event);
+    }
+
+    @EventHandler
+    public void onInventoryClose(InventoryCloseEvent event) {
+        InventoryHolder holder = event.getInventory().getHolder();
+        if (holder instanceof MenuHolder && event.getPlayer() instanceof Player) {
+            ((MenuHolder) holder).close((Player) event.getPlayer());
+        }
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        lastClickTimes.remove(event.getPlayer().getUniqueId());
+    }
+}
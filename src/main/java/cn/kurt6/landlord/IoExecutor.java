@@ -0,0 +1,216 @@
+package cn.kurt6.landlord;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 全插件共用的阻塞I/O执行器：统计落盘、回放读写、排行榜保存、档案加载都提交到这里，游戏线程不直接读写文件
+ * JDK 21+ 使用虚拟线程，否则退回固定大小的平台线程池
+ * 排队加执行中的任务数量有上限，超出时拒绝提交（背压）；同一合并键在排队或执行期间只保留一次补跑
+ */
+public class IoExecutor {
+    private static final long SHUTDOWN_WAIT_SECONDS = 10;
+
+    /**
+     * 单类操作的耗时统计
+     */
+    public static final class OpStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final LongAdder runNanos = new LongAdder();
+        private final AtomicLong maxRunNanos = new AtomicLong();
+
+        private void record(long wait, long run, boolean failed) {
+            count.increment();
+            if (failed) failures.increment();
+            waitNanos.add(wait);
+            runNanos.add(run);
+            maxRunNanos.accumulateAndGet(run, Math::max);
+        }
+
+        public long getCount() { return count.sum(); }
+        public long getFailures() { return failures.sum(); }
+        public double getAverageWaitMillis() { return average(waitNanos.sum()); }
+        public double getAverageRunMillis() { return average(runNanos.sum()); }
+        public double getMaxRunMillis() { return maxRunNanos.get() / 1e6; }
+
+        private double average(long totalNanos) {
+            long n = count.sum();
+            return n == 0 ? 0 : totalNanos / 1e6 / n;
+        }
+    }
+
+    private final Landlord plugin;
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+    private final int capacity;
+    private final Semaphore permits;
+    // 合并键状态：FALSE=排队或执行中，TRUE=执行期间又有提交，结束后需补跑一次
+    private final Map<String, Boolean> coalesced = new ConcurrentHashMap<>();
+    private final Map<String, OpStats> stats = new ConcurrentHashMap<>();
+    private final LongAdder rejected = new LongAdder();
+    private volatile boolean closed = false;
+
+    public IoExecutor(Landlord plugin, int platformThreads, int capacity) {
+        this.plugin = plugin;
+        this.capacity = Math.max(16, capacity);
+        this.permits = new Semaphore(this.capacity);
+
+        ExecutorService virtual = createVirtualExecutor();
+        this.virtualThreads = virtual != null;
+        if (virtual != null) {
+            this.executor = virtual;
+        } else {
+            int threads = Math.max(1, platformThreads);
+            AtomicInteger counter = new AtomicInteger();
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), r -> {
+                        Thread thread = new Thread(r, "Landlord-IO-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            pool.allowCoreThreadTimeOut(true);
+            this.executor = pool;
+        }
+        plugin.getLogger().info("I/O执行器: " + (virtualThreads ? "虚拟线程" : "平台线程 x" + Math.max(1, platformThreads)));
+    }
+
+    // 编译目标为 Java 17，通过反射使用 JDK 21 的虚拟线程
+    private static ExecutorService createVirtualExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 提交一次I/O操作
+     * @param op 操作名，用于耗时统计
+     * @return 队列已满或执行器已关闭时返回false
+     */
+    public boolean submit(String op, Runnable task) {
+        return dispatch(op, null, task);
+    }
+
+    /**
+     * 提交可合并的I/O操作（如“保存最新状态”），同一键排队或执行期间再次提交只会在结束后补跑一次
+     */
+    public boolean submit(String op, String key, Runnable task) {
+        while (true) {
+            Boolean state = coalesced.putIfAbsent(key, Boolean.FALSE);
+            if (state == null) {
+                return dispatch(op, key, task);
+            }
+            if (state || coalesced.replace(key, Boolean.FALSE, Boolean.TRUE)) {
+                return true;
+            }
+            // 状态刚好被执行线程清除，重试
+        }
+    }
+
+    private boolean dispatch(String op, String key, Runnable task) {
+        if (closed || !permits.tryAcquire()) {
+            if (key != null) {
+                coalesced.remove(key);
+            }
+            rejected.increment();
+            if (!closed) {
+                plugin.getLogger().warning("I/O队列已满，拒绝操作: " + op);
+            }
+            return false;
+        }
+
+        long submitted = System.nanoTime();
+        try {
+            executor.execute(() -> run(op, key, task, submitted));
+            return true;
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            if (key != null) {
+                coalesced.remove(key);
+            }
+            rejected.increment();
+            return false;
+        }
+    }
+
+    private void run(String op, String key, Runnable task, long submitted) {
+        OpStats opStats = stats.computeIfAbsent(op, k -> new OpStats());
+        try {
+            while (true) {
+                long start = System.nanoTime();
+                boolean failed = false;
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    failed = true;
+                    plugin.getLogger().warning("I/O操作 " + op + " 出错: " + e.getMessage());
+                }
+                long end = System.nanoTime();
+                opStats.record(start - submitted, end - start, failed);
+
+                // 执行期间没有新的提交则结束，否则补跑一次
+                if (key == null || coalesced.remove(key, Boolean.FALSE)) {
+                    return;
+                }
+                coalesced.replace(key, Boolean.TRUE, Boolean.FALSE);
+                submitted = end;
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * 停止接受新任务并等待已提交的任务完成（插件关闭时调用）
+     */
+    public void shutdown() {
+        closed = true;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("I/O任务未在" + SHUTDOWN_WAIT_SECONDS + "秒内完成，剩余 " + getPending() + " 个");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public int getPending() {
+        return capacity - permits.availablePermits();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * 各操作的耗时统计（按操作名排序）
+     */
+    public Map<String, OpStats> getStats() {
+        return new TreeMap<>(stats);
+    }
+}
@@ -0,0 +1,172 @@
+package cn.kurt6.landlord;
+
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemFlag;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 界面物品模板：54张牌（选中/未选中）、各状态的按钮与分隔线在启用时一次性生成
+ * 模板只读，放入界面时服务端会复制一份，调用方不得直接修改；需要改动时先 clone()
+ */
+public class ItemTemplates {
+    private final ItemStack[][] cards = new ItemStack[2][54];
+    private final Map<GameLogic.CardType, ItemStack> confirmByPattern = new EnumMap<>(GameLogic.CardType.class);
+    private final ItemStack[] bidEnabled = new ItemStack[4];
+    private final ItemStack[] bidDisabled = new ItemStack[4];
+
+    private final ItemStack separator;
+    private final ItemStack confirmEmpty;
+    private final ItemStack confirmCannotBeat;
+    private final ItemStack confirmInvalid;
+    private final ItemStack clearButton;
+    private final ItemStack passButton;
+    private final ItemStack passDisabled;
+    private final ItemStack autoPlayOn;
+    private final ItemStack autoPlayOff;
+    private final ItemStack noBidButton;
+
+    public ItemTemplates() {
+        for (int index = 0; index < 54; index++) {
+            Card card = Card.fromIndex(index);
+            cards[0][index] = createCardItem(card, false);
+            cards[1][index] = createCardItem(card, true);
+        }
+
+        separator = createButton(Material.GRAY_STAINED_GLASS_PANE, " ", null);
+
+        // 出牌界面按钮
+        confirmEmpty = createButton(Material.GRAY_WOOL, ChatColor.GRAY + "✖ 请选择牌",
+                Collections.singletonList(ChatColor.RED + "请先选择要出的牌"));
+        confirmCannotBeat = createButton(Material.RED_WOOL, ChatColor.RED + "✖ 无法压过",
+                Collections.singletonList(ChatColor.RED + "无法压过上家的牌"));
+        confirmInvalid = createButton(Material.RED_WOOL, ChatColor.RED + "✖ 无效牌型",
+                Collections.singletonList(ChatColor.RED + "请选择有效牌型"));
+        for (GameLogic.CardType type : GameLogic.CardType.values()) {
+            confirmByPattern.put(type, createButton(Material.LIME_WOOL, ChatColor.GREEN + "✔ 确认出牌",
+                    Collections.singletonList(ChatColor.GRAY + "牌型: " + GameRoom.getPatternName(type))));
+        }
+        clearButton = createButton(Material.RED_WOOL, ChatColor.RED + "✖ 清空选择",
+                Collections.singletonList(ChatColor.GRAY + "点击清空已选牌"));
+        passButton = createButton(Material.YELLOW_WOOL, ChatColor.YELLOW + "➜ 过牌",
+                Collections.singletonList(ChatColor.GRAY + "点击跳过本轮"));
+        passDisabled = createButton(Material.GRAY_WOOL, ChatColor.GRAY + "➜ 不能过牌",
+                Collections.singletonList(ChatColor.RED + "第一轮必须出牌！"));
+        autoPlayOn = createButton(Material.BLUE_WOOL, ChatColor.RED + "⏹ 取消托管",
+                Collections.singletonList(ChatColor.GRAY + "点击切换托管模式"));
+        autoPlayOff = createButton(Material.BLUE_WOOL, ChatColor.BLUE + "▶ 托管",
+                Collections.singletonList(ChatColor.GRAY + "点击切换托管模式"));
+
+        // 叫分界面按钮
+        noBidButton = createButton(Material.RED_WOOL, ChatColor.RED + "不叫",
+                Collections.singletonList(ChatColor.GRAY + "点击选择不叫"));
+        Material[] bidMaterials = {null, Material.GREEN_WOOL, Material.YELLOW_WOOL, Material.BLUE_WOOL};
+        ChatColor[] bidColors = {null, ChatColor.GREEN, ChatColor.YELLOW, ChatColor.BLUE};
+        for (int score = 1; score <= 3; score++) {
+            bidEnabled[score] = createButton(bidMaterials[score], bidColors[score] + String.valueOf(score) + "分",
+                    Collections.singletonList(ChatColor.GRAY + "点击叫" + score + "分"));
+            bidDisabled[score] = createButton(Material.GRAY_WOOL, ChatColor.GRAY + String.valueOf(score) + "分(不可选)",
+                    Collections.singletonList(ChatColor.RED + "必须高于当前叫分"));
+        }
+    }
+
+    public ItemStack card(Card card, boolean selected) {
+        return cards[selected ? 1 : 0][card.getIndex()];
+    }
+
+    public ItemStack separator() { return separator; }
+    public ItemStack confirmEmpty() { return confirmEmpty; }
+    public ItemStack confirmCannotBeat() { return confirmCannotBeat; }
+    public ItemStack confirmInvalid() { return confirmInvalid; }
+    public ItemStack clearButton() { return clearButton; }
+
+    public ItemStack confirmPattern(GameLogic.CardType type) {
+        return confirmByPattern.get(type);
+    }
+
+    public ItemStack passButton(boolean canPass) {
+        return canPass ? passButton : passDisabled;
+    }
+
+    public ItemStack autoPlayButton(boolean autoPlay) {
+        return autoPlay ? autoPlayOn : autoPlayOff;
+    }
+
+    public ItemStack noBidButton() {
+        return noBidButton;
+    }
+
+    public ItemStack bidButton(int score, boolean enabled) {
+        return enabled ? bidEnabled[score] : bidDisabled[score];
+    }
+
+    private static ItemStack createCardItem(Card card, boolean selected) {
+        ItemStack item = new ItemStack(getCardMaterial(card));
+        ItemMeta meta = item.getItemMeta();
+
+        // 设置显示名称（统一使用白色或选中颜色）
+        meta.setDisplayName((selected ? ChatColor.GOLD + "★ " : ChatColor.WHITE) + card.toString());
+
+        // 设置Lore
+        List<String> lore = new ArrayList<>();
+        lore.add(ChatColor.GRAY + "牌值: " + card.getValue());
+        lore.add(ChatColor.GRAY + "花色: " + card.getSuit());
+        lore.add("");
+        lore.add(selected ? ChatColor.RED + "★ 已选中 (点击取消)" : ChatColor.GREEN + "点击选择");
+        meta.setLore(lore);
+
+        // 如果牌被选中，添加附魔效果
+        if (selected) {
+            meta.addEnchant(Enchantment.VANISHING_CURSE, 1, true);
+            meta.addItemFlags(ItemFlag.HIDE_ENCHANTS); // 隐藏"附魔"文字
+        }
+
+        item.setItemMeta(meta);
+        return item;
+    }
+
+    private static ItemStack createButton(Material material, String name, List<String> lore) {
+        ItemStack item = new ItemStack(material);
+        ItemMeta meta = item.getItemMeta();
+        meta.setDisplayName(name);
+        if (lore != null) {
+            meta.setLore(lore);
+        }
+        item.setItemMeta(meta);
+        return item;
+    }
+
+    private static Material getCardMaterial(Card card) {
+        // 根据牌值返回材质
+        int value = card.getValue();
+
+        if (value == 16) return Material.PAPER; // 小王
+        if (value == 17) return Material.BOOK;  // 大王
+
+        // 普通牌根据牌值返回不同材质
+        switch (value) {
+            case 3: return Material.WHITE_CONCRETE;
+            case 4: return Material.ORANGE_CONCRETE;
+            case 5: return Material.MAGENTA_CONCRETE;
+            case 6: return Material.LIGHT_BLUE_CONCRETE;
+            case 7: return Material.YELLOW_CONCRETE;
+            case 8: return Material.LIME_CONCRETE;
+            case 9: return Material.PINK_CONCRETE;
+            case 10: return Material.GRAY_CONCRETE;
+            case 11: return Material.LIGHT_GRAY_CONCRETE;
+            case 12: return Material.CYAN_CONCRETE;
+            case 13: return Material.PURPLE_CONCRETE;
+            case 14: return Material.BLUE_CONCRETE;
+            case 15: return Material.BROWN_CONCRETE;
+            default: return Material.WHITE_CONCRETE; // 默认
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package cn.kurt6.landlord;
 
-import net.md_5.bungee.api.chat.*;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.JoinConfiguration;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.NamedTextColor;
 import net.md_5.bungee.api.ChatColor;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
@@ -8,7 +12,6 @@ import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
-import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
@@ -20,40 +23,60 @@ import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.plugin.RegisteredServiceProvider;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.metadata.FixedMetadataValue;
-import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.Inventory;
-import org.bukkit.enchantments.Enchantment;
-import org.bukkit.inventory.ItemFlag;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 
 public class Landlord extends JavaPlugin implements Listener, CommandExecutor, TabCompleter {
+    // 房间号规则：字母、数字、下划线、横线，长度3-16
+    private static final Pattern ROOM_ID = Pattern.compile("^[a-zA-Z0-9_-]{3,16}$");
+    // 子命令表（按字母排序），补全时直接过滤
+    private static final List<String> SUB_COMMANDS = Collections.unmodifiableList(Arrays.asList(
+            "create", "help", "join", "leave", "list", "money", "quick", "ready", "replay", "stats", "top"));
+    private static final String ADMIN_SUB_COMMAND = "perf";
+    private static final List<String> REPLAY_ACTIONS = Collections.unmodifiableList(Arrays.asList(
+            "pause", "resume", "step", "faster", "slower", "stop"));
+    private static final int MAX_ROOM_COMPLETIONS = 50; // 房间号补全最多返回的条数
 
     private final Map<UUID, GameRoom> playerRooms = new ConcurrentHashMap<>();
     private final Map<String, GameRoom> gameRooms = new ConcurrentHashMap<>();
     private int roomCounter = 1;
     private StatsManager statsManager;
+    private ProfileManager profileManager;
+    private ReplayRecorder replayRecorder;
+    private ReplayViewer replayViewer;
+    private Leaderboards leaderboards;
+    private TimingWheel timingWheel;
+    private TickBudgetGovernor governor;
+    private LoadShedder loadShedder;
+    private IoExecutor ioExecutor;
+    private ItemTemplates itemTemplates;
+    private RoomDirectory roomDirectory;
+    private MatchmakingService matchmaking;
+    private RoomPool roomPool;
     private int turnTimeout = 60; // 默认值
     private Object econ = null; // 改为Object类型，避免直接引用Vault类
     private boolean bountyEnabled;
     private int moneyMultiplier;
     private boolean scoreboardEnabled = true;
-    private boolean vaultAvailable = false; // 标记Vault是否可用
+    private PlatformProfile platform; // 启用时检测一次的平台信息
 
     @Override
     public void onEnable() {
         // 保存默认配置
         saveDefaultConfig();
 
-        // 1. 先检查Vault是否存在
-        vaultAvailable = Bukkit.getPluginManager().getPlugin("Vault") != null;
+        // 1. 检测运行平台（Folia/Paper、Vault、信息展示方式），之后不再探测
+        platform = PlatformProfile.detect(getConfig().getBoolean("scoreboard-enabled", true));
+        getLogger().info("运行平台: " + platform);
 
-        // 2. 加载配置（此时vaultAvailable已确定）
+        // 2. 加载配置（此时Vault是否存在已确定）
         loadConfig();
 
         // 3. 初始化经济系统（仅当bountyEnabled=true且Vault可用时）
-        if (bountyEnabled && vaultAvailable) {
+        if (bountyEnabled && platform.hasVault()) {
             if (!setupEconomy()) {
                 getLogger().warning("未找到Vault经济系统插件，金币赛功能将不可用！");
                 bountyEnabled = false; // 确保禁用
@@ -64,16 +87,39 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
         }
 
         // 其余初始化代码
+        ioExecutor = new IoExecutor(this, getConfig().getInt("io-threads", 4), getConfig().getInt("io-queue-size", 1024));
+        itemTemplates = new ItemTemplates();
+        roomDirectory = new RoomDirectory(this);
+        matchmaking = new MatchmakingService(getConfig().getInt("matchmaking-rating-band", 100));
+        roomPool = new RoomPool(this, getConfig().getInt("room-pool-size", 16));
         statsManager = new StatsManager(this);
+        profileManager = new ProfileManager(this);
+        timingWheel = new TimingWheel(this);
+        timingWheel.start();
+        loadShedder = new LoadShedder(this, getConfig().getBoolean("load-shedding-enabled", true));
+        governor = new TickBudgetGovernor(this, loadShedder, getConfig().getDouble("tick-budget-ms", 5.0));
+        governor.start();
+        leaderboards = new Leaderboards(this, getConfig().getInt("leaderboard-season-days", 30));
+        if (getConfig().getBoolean("replay-enabled", true)) {
+            replayRecorder = new ReplayRecorder(this,
+                    Math.max(1, getConfig().getInt("replay-max-file-size", 8)) * 1024L * 1024L);
+            replayViewer = new ReplayViewer(this, replayRecorder);
+        }
         getCommand("landlord").setExecutor(this);
         getServer().getPluginManager().registerEvents(this, this);
+        getServer().getPluginManager().registerEvents(new GuiListener(), this);
+
+        // 重载插件时为已在线玩家补加载档案
+        for (Player online : Bukkit.getOnlinePlayers()) {
+            profileManager.load(online);
+        }
 
         // 打印最终状态
         getLogger().info("金币赛功能: " + (bountyEnabled ? "已启用" : "已禁用"));
     }
 
     private boolean setupEconomy() {
-        if (!bountyEnabled || !vaultAvailable) {
+        if (!bountyEnabled || !platform.hasVault()) {
             return false;
         }
 
@@ -96,12 +142,22 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
     }
 
     /**
-     * 获取玩家余额（使用反射调用Vault方法）
+     * 获取玩家余额（优先读取档案中的余额快照，不阻塞在Vault上）
      */
     public double getPlayerBalance(Player player) {
         if (!bountyEnabled || econ == null) {
             return 0.0;
         }
+        return profileManager.getBalance(player);
+    }
+
+    /**
+     * 直接向Vault查询玩家余额（使用反射调用Vault方法）
+     */
+    public double fetchPlayerBalance(Player player) {
+        if (!bountyEnabled || econ == null) {
+            return 0.0;
+        }
 
         try {
             // 使用反射调用 econ.getBalance(player)
@@ -121,7 +177,7 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
         boolean configBountyEnabled = getConfig().getBoolean("bounty-enabled", false);
 
         // 仅当Vault可用时才可能启用
-        bountyEnabled = configBountyEnabled && vaultAvailable;
+        bountyEnabled = configBountyEnabled && platform.hasVault();
         moneyMultiplier = getConfig().getInt("money-multiplier", 100);
         scoreboardEnabled = getConfig().getBoolean("scoreboard-enabled", true);
 
@@ -145,12 +201,44 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
         for (GameRoom room : gameRooms.values()) {
             room.cleanup();
         }
+        if (roomPool != null) {
+            roomPool.clear();
+        }
+
+        // 停止时间轮，丢弃所有未触发的倒计时
+        if (timingWheel != null) {
+            timingWheel.stop();
+        }
+
+        // 执行剩余的延后任务（丢弃特效）
+        if (governor != null) {
+            governor.stop();
+        }
+        if (replayViewer != null) {
+            replayViewer.stopAll();
+        }
+
+        // 等待已提交的I/O（统计落盘、回放写入、排行榜保存）完成
+        if (ioExecutor != null) {
+            ioExecutor.shutdown();
+        }
+
+        // 最后一次落盘在关闭线程同步完成
+        if (statsManager != null) {
+            statsManager.close();
+        }
+        if (leaderboards != null) {
+            leaderboards.shutdown();
+        }
+        if (replayRecorder != null) {
+            replayRecorder.shutdown();
+        }
     }
 
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage("只有玩家才能使用此命令！");
+            sender.sendMessage(Component.text("只有玩家才能使用此命令！"));
             return true;
         }
 
@@ -179,7 +267,7 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
                 break;
             case "join":
                 if (args.length < 2) {
-                    player.sendMessage(ChatColor.RED + "请输入房间号！用法: /ddz join <房间号>");
+                    player.sendMessage(Component.text("请输入房间号！用法: /ddz join <房间号>", NamedTextColor.RED));
                     return true;
                 }
                 joinRoom(player, args[1]);
@@ -187,6 +275,9 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
             case "leave":
                 leaveRoom(player);
                 break;
+            case "quick":
+                quickMatch(player, args.length > 1 && args[1].equalsIgnoreCase("money"));
+                break;
             case "help":
                 sendHelpMessage(player);
                 break;
@@ -199,7 +290,7 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
                         int page = Integer.parseInt(args[1]);
                         player.setMetadata("landlord_page", new FixedMetadataValue(this, page));
                     } catch (NumberFormatException e) {
-                        player.sendMessage(ChatColor.RED + "页码必须是数字！");
+                        player.sendMessage(Component.text("页码必须是数字！", NamedTextColor.RED));
                     }
                 }
                 listRooms(player);
@@ -208,11 +299,17 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
                 statsManager.showStats(player);
                 break;
             case "top":
-                showTopPlayers(player, args.length > 1 ? Integer.parseInt(args[1]) : 10);
+                handleTop(player, args);
                 break;
             case "money":
                 toggleMoneyGame(player);
                 break;
+            case "replay":
+                handleReplay(player, args);
+                break;
+            case "perf":
+                showPerformance(player);
+                break;
             default:
                 sendHelpMessage(player);
                 break;
@@ -221,36 +318,213 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
         return true;
     }
 
+    private void showPerformance(Player player) {
+        if (!player.hasPermission("landlord.admin")) {
+            player.sendMessage(Component.text("你没有权限查看性能信息！", NamedTextColor.RED));
+            return;
+        }
+
+        int level = loadShedder.getLevel();
+        double tickMs = loadShedder.getAverageTickMs();
+        NamedTextColor levelColor = level == LoadShedder.LEVEL_NORMAL ? NamedTextColor.GREEN :
+                (level < LoadShedder.LEVEL_AI_CAP ? NamedTextColor.YELLOW : NamedTextColor.RED);
+
+        player.sendMessage(Component.text("=== 斗地主性能状态 ===", NamedTextColor.GOLD));
+        player.sendMessage(Component.text((isFolia() ? "全局区域平均tick: " : "平均tick: ") + String.format("%.1fms (约 %.1f TPS)", tickMs, Math.min(20.0, 1000.0 / tickMs)), NamedTextColor.YELLOW));
+        player.sendMessage(Component.textOfChildren(
+                Component.text("降级等级: ", NamedTextColor.YELLOW),
+                Component.text(level + " - " + LoadShedder.getLevelName(level), levelColor),
+                loadShedder.isEnabled() ? Component.empty() : Component.text(" (已禁用)", NamedTextColor.GRAY)));
+        if (level > LoadShedder.LEVEL_NORMAL) {
+            StringBuilder effects = new StringBuilder();
+            for (int i = 1; i <= level; i++) {
+                if (effects.length() > 0) effects.append("、");
+                effects.append(LoadShedder.getLevelName(i));
+            }
+            player.sendMessage(Component.text("已生效: " + effects, NamedTextColor.GRAY));
+        }
+        if (governor.isBudgeted()) {
+            player.sendMessage(Component.text("tick预算: " + String.format("%.2f/%.2fms，已用 %.2fms",
+                    governor.getLastBudgetNanos() / 1e6, governor.getConfiguredBudgetNanos() / 1e6, governor.getLastUsedNanos() / 1e6), NamedTextColor.YELLOW));
+            player.sendMessage(Component.text("延后任务: 排队 " + governor.getQueued() + "，丢弃特效 " + governor.getDropped(), NamedTextColor.YELLOW));
+        } else {
+            player.sendMessage(Component.text("tick预算: Folia下不启用（房间在各自区域线程执行，无法统一计时）", NamedTextColor.GRAY));
+        }
+        player.sendMessage(Component.text("房间: " + gameRooms.size() + "，计时器: " + timingWheel.getPending(), NamedTextColor.YELLOW));
+        player.sendMessage(Component.text("快速匹配: 排队 " + matchmaking.getQueueDepth() + " 人/" +
+                matchmaking.getBucketCount() + " 个分段，已开桌 " + matchmaking.getTablesFormed() +
+                String.format("，平均等待 %.1fs，最长 %.1fs，当前最久 %.1fs", matchmaking.getAverageWaitMillis() / 1000.0,
+                        matchmaking.getMaxWaitMillis() / 1000.0, matchmaking.getOldestWaitMillis() / 1000.0), NamedTextColor.YELLOW));
+        player.sendMessage(Component.text("房间池: 空闲 " + roomPool.getIdle() + "/" + roomPool.getCapacity() +
+                "，复用 " + roomPool.getReused() + "，新建 " + roomPool.getCreated() + "，丢弃 " + roomPool.getDiscarded(), NamedTextColor.YELLOW));
+        player.sendMessage(Component.text("I/O: " + (ioExecutor.isVirtualThreads() ? "虚拟线程" : "平台线程") +
+                "，排队 " + ioExecutor.getPending() + "/" + ioExecutor.getCapacity() + "，拒绝 " + ioExecutor.getRejected(), NamedTextColor.YELLOW));
+        for (Map.Entry<String, IoExecutor.OpStats> entry : ioExecutor.getStats().entrySet()) {
+            IoExecutor.OpStats op = entry.getValue();
+            player.sendMessage(Component.textOfChildren(
+                    Component.text("  " + entry.getKey() + ": " + op.getCount() + " 次" +
+                            String.format("，等待 %.2fms，耗时 %.2fms，最长 %.2fms", op.getAverageWaitMillis(),
+                                    op.getAverageRunMillis(), op.getMaxRunMillis()), NamedTextColor.GRAY),
+                    op.getFailures() > 0 ? Component.text("，失败 " + op.getFailures(), NamedTextColor.RED) : Component.empty()));
+        }
+    }
+
+    private void handleReplay(Player player, String[] args) {
+        if (replayViewer == null) {
+            player.sendMessage(Component.text("对局回放功能未启用！", NamedTextColor.RED));
+            return;
+        }
+        if (args.length < 2) {
+            listRecentGames(player);
+            return;
+        }
+
+        switch (args[1].toLowerCase()) {
+            case "pause":
+                replayViewer.pause(player, true);
+                return;
+            case "resume":
+                replayViewer.pause(player, false);
+                return;
+            case "step":
+                replayViewer.step(player);
+                return;
+            case "faster":
+                replayViewer.changeSpeed(player, 1);
+                return;
+            case "slower":
+                replayViewer.changeSpeed(player, -1);
+                return;
+            case "stop":
+                replayViewer.stop(player.getUniqueId(), true);
+                return;
+            default:
+                break;
+        }
+
+        GameRoom room = playerRooms.get(player.getUniqueId());
+        if (room != null && room.isGameStarted()) {
+            player.sendMessage(Component.text("游戏进行中无法观看回放！", NamedTextColor.RED));
+            return;
+        }
+        try {
+            replayViewer.open(player, Long.parseLong(args[1].replace("#", "")));
+        } catch (NumberFormatException e) {
+            player.sendMessage(Component.text("对局编号必须是数字！用法: /ddz replay <对局编号>", NamedTextColor.RED));
+        }
+    }
+
+    // 列出玩家最近参与的对局，点击编号即可回放
+    private void listRecentGames(Player player) {
+        List<Long> games = replayRecorder.getGamesOf(player.getUniqueId(), ReplayRecorder.RECENT_GAMES);
+        if (games.isEmpty()) {
+            player.sendMessage(Component.text("你还没有可回放的对局", NamedTextColor.YELLOW));
+            return;
+        }
+        player.sendMessage(Component.text("=== 最近对局（点击回放） ===", NamedTextColor.GOLD));
+        List<Component> entries = new ArrayList<>();
+        for (Long gameId : games) {
+            entries.add(Component.text("[#" + gameId + "]", NamedTextColor.AQUA)
+                    .clickEvent(ClickEvent.runCommand("/ddz replay " + gameId))
+                    .hoverEvent(HoverEvent.showText(Component.text("点击回放对局 #" + gameId, NamedTextColor.GRAY))));
+        }
+        player.sendMessage(Component.join(JoinConfiguration.spaces(), entries));
+    }
+
     private void toggleMoneyGame(Player player) {
         if (!bountyEnabled) {
-            player.sendMessage(ChatColor.RED + "金币赛功能未启用！");
+            player.sendMessage(Component.text("金币赛功能未启用！", NamedTextColor.RED));
             return;
         }
 
         GameRoom room = playerRooms.get(player.getUniqueId());
         if (room == null) {
-            player.sendMessage(ChatColor.RED + "你不在任何房间中！");
+            player.sendMessage(Component.text("你不在任何房间中！", NamedTextColor.RED));
             return;
         }
 
         room.toggleMoneyGame(player);
     }
 
-    private void showTopPlayers(CommandSender sender, int topN) {
-        // 限制查询数量（1-100）
-        topN = Math.max(1, Math.min(topN, 100));
+    // /ddz top [数量] 为总榜；/ddz top <day|week|season> [指标] [数量] 为时间窗口榜
+    private void handleTop(Player player, String[] args) {
+        if (args.length < 2) {
+            showTopPlayers(player, 10);
+            return;
+        }
+        try {
+            showTopPlayers(player, Integer.parseInt(args[1]));
+            return;
+        } catch (NumberFormatException ignored) {
+        }
+
+        Leaderboards.Window window = Leaderboards.Window.fromKey(args[1]);
+        if (window == null) {
+            player.sendMessage(Component.text("用法: /ddz top [数量] 或 /ddz top <day|week|season> [points|wins|money|games] [数量]", NamedTextColor.RED));
+            return;
+        }
+        Leaderboards.Metric metric = Leaderboards.Metric.POINTS;
+        int topN = 10;
+        for (int i = 2; i < args.length; i++) {
+            Leaderboards.Metric parsed = Leaderboards.Metric.fromKey(args[i]);
+            if (parsed != null) {
+                metric = parsed;
+                continue;
+            }
+            try {
+                topN = Integer.parseInt(args[i]);
+            } catch (NumberFormatException e) {
+                player.sendMessage(Component.text("未知的排行指标: " + args[i], NamedTextColor.RED));
+                return;
+            }
+        }
+        showWindowTop(player, window, metric, Math.max(1, Math.min(topN, 100)));
+    }
 
-        // 从 stats.yml 加载所有玩家数据
-        ConfigurationSection playersSection = statsManager.getStatsConfig().getConfigurationSection("players");
-        if (playersSection == null) {
-            sender.sendMessage(ChatColor.YELLOW + "暂无玩家统计数据");
+    private void showWindowTop(Player player, Leaderboards.Window window, Leaderboards.Metric metric, int topN) {
+        List<Leaderboards.Entry> top = leaderboards.getTop(window, metric, topN);
+        if (top.isEmpty()) {
+            player.sendMessage(Component.text("该时间段暂无对局数据", NamedTextColor.YELLOW));
             return;
         }
 
-        // 收集玩家数据
+        player.sendMessage(Component.text("=== 斗地主" + window.getDisplayName() + " - " +
+                metric.getDisplayName() + " TOP " + top.size() + " ===", NamedTextColor.GOLD));
+        int rank = 1;
+        boolean listed = false;
+        for (Leaderboards.Entry entry : top) {
+            player.sendMessage(Component.textOfChildren(
+                    Component.text(String.format("%-4d ", rank), getRankColor(rank)),
+                    Component.text(String.format("%-12s ", entry.getPlayerName()), NamedTextColor.AQUA),
+                    Component.text(formatMetric(metric, entry.getValue()), NamedTextColor.GOLD)));
+            if (entry.getPlayerId().equals(player.getUniqueId())) {
+                listed = true;
+            }
+            rank++;
+        }
+
+        if (!listed) {
+            int playerRank = leaderboards.getRank(player.getUniqueId(), window, metric);
+            if (playerRank > 0) {
+                player.sendMessage(Component.textOfChildren(
+                        Component.text("你的排名: " + playerRank + " (" + metric.getDisplayName() + ": ", NamedTextColor.GRAY),
+                        Component.text(formatMetric(metric, leaderboards.getValue(player.getUniqueId(), window, metric)), NamedTextColor.GOLD),
+                        Component.text(")", NamedTextColor.GRAY)));
+            }
+        }
+    }
+
+    private String formatMetric(Leaderboards.Metric metric, double value) {
+        return metric == Leaderboards.Metric.MONEY ? String.format("%.2f", value) : String.valueOf((long) value);
+    }
+
+    private void showTopPlayers(CommandSender sender, int topN) {
+        // 限制查询数量（1-100）
+        topN = Math.max(1, Math.min(topN, 100));
+
+        // 收集所有玩家数据
         List<PlayerStatsData> statsList = new ArrayList<>();
-        for (String playerName : playersSection.getKeys(false)) {
-            StatsManager.PlayerStats stats = statsManager.getPlayerStats(playerName);
+        statsManager.forEachPlayer((playerName, stats) -> {
             double winRate = stats.getGamesPlayed() > 0 ?
                     ((double) stats.getGamesWon() / stats.getGamesPlayed() * 100) : 0;
 
@@ -262,10 +536,10 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
                     stats.getNetMoney(),
                     winRate
             ));
-        }
+        });
 
         if (statsList.isEmpty()) {
-            sender.sendMessage(ChatColor.YELLOW + "暂无玩家统计数据");
+            sender.sendMessage(Component.text("暂无玩家统计数据", NamedTextColor.YELLOW));
             return;
         }
 
@@ -273,25 +547,22 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
         statsList.sort((a, b) -> Integer.compare(b.getPoints(), a.getPoints()));
 
         // 显示排行榜
-        sender.sendMessage(ChatColor.GOLD + "=== 斗地主排行榜 TOP " + Math.min(topN, statsList.size()) + " ===");
-        sender.sendMessage(ChatColor.YELLOW + String.format("%-4s %-12s %-6s %-4s %-4s %-10s %-6s",
-                "排名", "玩家名称", "积分", "胜场", "败场", "净收益", "胜率"));
+        sender.sendMessage(Component.text("=== 斗地主排行榜 TOP " + Math.min(topN, statsList.size()) + " ===", NamedTextColor.GOLD));
+        sender.sendMessage(Component.text(String.format("%-4s %-12s %-6s %-4s %-4s %-10s %-6s",
+                "排名", "玩家名称", "积分", "胜场", "败场", "净收益", "胜率"), NamedTextColor.YELLOW));
 
         int rank = 1;
         for (PlayerStatsData data : statsList) {
             if (rank > topN) break;
 
-            String rankColor = getRankColor(rank);
-            sender.sendMessage(String.format(
-                    "%s%-4d %s%-12s %s%-6d %s%-4d %s%-4d %s%-10.2f %s%.1f%%",
-                    rankColor, rank,
-                    ChatColor.AQUA, data.getPlayerName(),
-                    ChatColor.GOLD, data.getPoints(),
-                    ChatColor.GREEN, data.getWins(),
-                    ChatColor.RED, data.getLosses(),
-                    ChatColor.YELLOW, data.getNetMoney(),
-                    ChatColor.LIGHT_PURPLE, data.getWinRate()
-            ));
+            sender.sendMessage(Component.textOfChildren(
+                    Component.text(String.format("%-4d ", rank), getRankColor(rank)),
+                    Component.text(String.format("%-12s ", data.getPlayerName()), NamedTextColor.AQUA),
+                    Component.text(String.format("%-6d ", data.getPoints()), NamedTextColor.GOLD),
+                    Component.text(String.format("%-4d ", data.getWins()), NamedTextColor.GREEN),
+                    Component.text(String.format("%-4d ", data.getLosses()), NamedTextColor.RED),
+                    Component.text(String.format("%-10.2f ", data.getNetMoney()), NamedTextColor.YELLOW),
+                    Component.text(String.format("%.1f%%", data.getWinRate()), NamedTextColor.LIGHT_PURPLE)));
             rank++;
         }
 
@@ -301,12 +572,18 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
             int playerRank = getPlayerRank(statsList, playerName);
             if (playerRank > 0 && playerRank > topN) {
                 PlayerStatsData playerData = statsList.get(playerRank - 1);
-                sender.sendMessage(ChatColor.GRAY + "你的排名: " + playerRank +
-                        " (积分: " + ChatColor.GOLD + playerData.getPoints() +
-                        ChatColor.GRAY + " 胜场: " + ChatColor.GREEN + playerData.getWins() +
-                        ChatColor.GRAY + " 败场: " + ChatColor.RED + playerData.getLosses() +
-                        ChatColor.GRAY + " 净收益: " + ChatColor.YELLOW + String.format("%.2f", playerData.getNetMoney()) +
-                        ChatColor.GRAY + " 胜率: " + ChatColor.LIGHT_PURPLE + String.format("%.1f%%", playerData.getWinRate()) + ")");
+                sender.sendMessage(Component.textOfChildren(
+                        Component.text("你的排名: " + playerRank + " (积分: ", NamedTextColor.GRAY),
+                        Component.text(String.valueOf(playerData.getPoints()), NamedTextColor.GOLD),
+                        Component.text(" 胜场: ", NamedTextColor.GRAY),
+                        Component.text(String.valueOf(playerData.getWins()), NamedTextColor.GREEN),
+                        Component.text(" 败场: ", NamedTextColor.GRAY),
+                        Component.text(String.valueOf(playerData.getLosses()), NamedTextColor.RED),
+                        Component.text(" 净收益: ", NamedTextColor.GRAY),
+                        Component.text(String.format("%.2f", playerData.getNetMoney()), NamedTextColor.YELLOW),
+                        Component.text(" 胜率: ", NamedTextColor.GRAY),
+                        Component.text(String.format("%.1f%%", playerData.getWinRate()), NamedTextColor.LIGHT_PURPLE),
+                        Component.text(")", NamedTextColor.GRAY)));
             }
         }
     }
@@ -347,81 +624,26 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
     }
 
     // 排名颜色（金、银、铜、白）
-    private String getRankColor(int rank) {
+    private NamedTextColor getRankColor(int rank) {
         switch (rank) {
-            case 1: return ChatColor.GOLD.toString();
-            case 2: return ChatColor.GRAY.toString();
-            case 3: return ChatColor.RED.toString();
-            default: return ChatColor.WHITE.toString();
+            case 1: return NamedTextColor.GOLD;
+            case 2: return NamedTextColor.GRAY;
+            case 3: return NamedTextColor.RED;
+            default: return NamedTextColor.WHITE;
         }
     }
 
     private void sendHelpMessage(Player player) {
-        player.sendMessage(ChatColor.GOLD + "=== 斗地主游戏帮助 ===");
-
-        // 主菜单
-        TextComponent maingui = new TextComponent(ChatColor.YELLOW + "/ddz - 打开主菜单GUI");
-        maingui.setHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT,
-                new ComponentBuilder("点击打开主菜单GUI").color(net.md_5.bungee.api.ChatColor.GRAY).create()));
-        maingui.setClickEvent(new ClickEvent(ClickEvent.Action.SUGGEST_COMMAND, "/ddz "));
-        player.spigot().sendMessage(maingui);
-
-        // 创建房间
-        TextComponent createMsg = new TextComponent(ChatColor.YELLOW + "/ddz create <房间号 可选> - 创建房间");
-        createMsg.setHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT,
-                new ComponentBuilder("点击自动输入创建命令\n房间号规则: 字母/数字/_-，长度3-16").color(net.md_5.bungee.api.ChatColor.GRAY).create()));
-        createMsg.setClickEvent(new ClickEvent(ClickEvent.Action.SUGGEST_COMMAND, "/ddz create "));
-        player.spigot().sendMessage(createMsg);
-
-        // 加入房间
-        TextComponent joinMsg = new TextComponent(ChatColor.YELLOW + "/ddz join <房间号> - 加入房间");
-        joinMsg.setHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT,
-                new ComponentBuilder("点击自动输入加入命令\nTab键可补全现有房间号").color(net.md_5.bungee.api.ChatColor.GRAY).create()));
-        joinMsg.setClickEvent(new ClickEvent(ClickEvent.Action.SUGGEST_COMMAND, "/ddz join "));
-        player.spigot().sendMessage(joinMsg);
-
-        // 离开房间
-        TextComponent leaveMsg = new TextComponent(ChatColor.YELLOW + "/ddz leave - 离开房间");
-        leaveMsg.setHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT,
-                new ComponentBuilder("点击立即执行离开房间命令").color(net.md_5.bungee.api.ChatColor.GRAY).create()));
-        leaveMsg.setClickEvent(new ClickEvent(ClickEvent.Action.RUN_COMMAND, "/ddz leave"));
-        player.spigot().sendMessage(leaveMsg);
-
-        // 准备/取消准备
-        TextComponent readyMsg = new TextComponent(ChatColor.YELLOW + "/ddz ready - 准备/取消准备");
-        readyMsg.setHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT,
-                new ComponentBuilder("点击立即切换准备状态").color(net.md_5.bungee.api.ChatColor.GRAY).create()));
-        readyMsg.setClickEvent(new ClickEvent(ClickEvent.Action.RUN_COMMAND, "/ddz ready"));
-        player.spigot().sendMessage(readyMsg);
-
-        // 查看房间列表
-        TextComponent listMsg = new TextComponent(ChatColor.YELLOW + "/ddz list - 打开房间列表GUI");
-        listMsg.setHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT,
-                new ComponentBuilder("点击立即查看所有可用房间").color(net.md_5.bungee.api.ChatColor.GRAY).create()));
-        listMsg.setClickEvent(new ClickEvent(ClickEvent.Action.RUN_COMMAND, "/ddz list"));
-        player.spigot().sendMessage(listMsg);
-
-        // 查看个人统计
-        TextComponent statsMsg = new TextComponent(ChatColor.YELLOW + "/ddz stats - 查看个人统计");
-        statsMsg.setHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT,
-                new ComponentBuilder("点击查看你的游戏统计数据").color(net.md_5.bungee.api.ChatColor.GRAY).create()));
-        statsMsg.setClickEvent(new ClickEvent(ClickEvent.Action.RUN_COMMAND, "/ddz stats"));
-        player.spigot().sendMessage(statsMsg);
-
-        // 查看积分排行榜
-        TextComponent topMsg = new TextComponent(ChatColor.YELLOW + "/ddz top [数量] - 查看积分排行榜");
-        topMsg.setHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT,
-                new ComponentBuilder("点击查看前10名玩家\n可指定数量如/ddz top 5").color(net.md_5.bungee.api.ChatColor.GRAY).create()));
-        topMsg.setClickEvent(new ClickEvent(ClickEvent.Action.SUGGEST_COMMAND, "/ddz top 10"));
-        player.spigot().sendMessage(topMsg);
-
-        // 金币赛开关
+        // 帮助内容是固定的，组件在 Messages 中只构建一次
+        player.sendMessage(Messages.HELP);
         if (bountyEnabled) {
-            TextComponent moneyMsg = new TextComponent(ChatColor.YELLOW + "/ddz money - 房主开关金币赛");
-            moneyMsg.setHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT,
-                    new ComponentBuilder("点击切换金币赛模式\n需要Vault经济系统支持").color(net.md_5.bungee.api.ChatColor.GRAY).create()));
-            moneyMsg.setClickEvent(new ClickEvent(ClickEvent.Action.RUN_COMMAND, "/ddz money"));
-            player.spigot().sendMessage(moneyMsg);
+            player.sendMessage(Messages.HELP_MONEY); // 金币赛开关
+        }
+        if (replayViewer != null) {
+            player.sendMessage(Messages.HELP_REPLAY); // 对局回放
+        }
+        if (player.hasPermission("landlord.admin")) {
+            player.sendMessage(Messages.HELP_PERF); // 性能状态（管理员）
         }
     }
 
@@ -430,25 +652,49 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
         List<String> completions = new ArrayList<>();
         if (command.getName().equalsIgnoreCase("landlord")) {
             if (args.length == 1) {
-                List<String> subCommands = Arrays.asList("create", "join", "leave", "ready", "list", "stats", "top", "help", "money", "help");
-                for (String subCmd : subCommands) {
-                    if (subCmd.startsWith(args[0].toLowerCase())) {
+                String prefix = args[0].toLowerCase();
+                for (String subCmd : SUB_COMMANDS) {
+                    if (subCmd.startsWith(prefix)) {
                         completions.add(subCmd);
                     }
                 }
+                if (ADMIN_SUB_COMMAND.startsWith(prefix) && sender.hasPermission("landlord.admin")) {
+                    completions.add(ADMIN_SUB_COMMAND);
+                }
             } else if (args.length == 2 && args[0].equalsIgnoreCase("create")) {
                 // 提示玩家可以输入自定义房间号（可选）
                 completions.add("<房间号（可选）>");
                 completions.add("规则: 字母/数字/_-，长度3-16");
             } else if (args.length == 2 && args[0].equalsIgnoreCase("join")) {
-                // 补全已有的房间号
-                for (String roomId : gameRooms.keySet()) {
-                    if (roomId.startsWith(args[1])) {
-                        completions.add(roomId);
-                    }
+                // 补全已有的房间号（按前缀在有序索引中查找）
+                return roomDirectory.completeRoomIds(args[1], MAX_ROOM_COMPLETIONS);
+            } else if (args.length == 2 && args[0].equalsIgnoreCase("quick")) {
+                if (bountyEnabled && "money".startsWith(args[1].toLowerCase())) {
+                    completions.add("money");
                 }
             } else if (args.length == 2 && args[0].equalsIgnoreCase("list")) {
                 completions.add("<页码>");
+            } else if (args.length == 2 && args[0].equalsIgnoreCase("top")) {
+                for (Leaderboards.Window window : Leaderboards.Window.values()) {
+                    if (window.getKey().startsWith(args[1].toLowerCase())) {
+                        completions.add(window.getKey());
+                    }
+                }
+            } else if (args.length == 3 && args[0].equalsIgnoreCase("top") && Leaderboards.Window.fromKey(args[1]) != null) {
+                for (Leaderboards.Metric metric : Leaderboards.Metric.values()) {
+                    if (metric.getKey().startsWith(args[2].toLowerCase())) {
+                        completions.add(metric.getKey());
+                    }
+                }
+            } else if (args.length == 2 && args[0].equalsIgnoreCase("replay")) {
+                for (String action : REPLAY_ACTIONS) {
+                    if (action.startsWith(args[1].toLowerCase())) {
+                        completions.add(action);
+                    }
+                }
+                if (completions.isEmpty()) {
+                    completions.add("<对局编号>");
+                }
             }
         }
         return completions;
@@ -456,7 +702,7 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
 
     private void createRoom(Player player, String[] args) {
         if (playerRooms.containsKey(player.getUniqueId())) {
-            player.sendMessage(ChatColor.RED + "你已经在一个房间中了！");
+            player.sendMessage(Component.text("你已经在一个房间中了！", NamedTextColor.RED));
             return;
         }
 
@@ -467,39 +713,126 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
 
             // 验证房间号合法性
             if (!isValidRoomId(roomId)) {
-                player.sendMessage(ChatColor.RED + "房间号只能包含字母、数字、下划线(_)或横线(-)，且长度为3-16字符！");
+                player.sendMessage(Component.text("房间号只能包含字母、数字、下划线(_)或横线(-)，且长度为3-16字符！", NamedTextColor.RED));
                 return;
             }
 
             if (gameRooms.containsKey(roomId)) {
-                player.sendMessage(ChatColor.RED + "房间号已存在！");
+                player.sendMessage(Component.text("房间号已存在！", NamedTextColor.RED));
                 return;
             }
         } else {
             // 自动生成房间号
-            roomId = "room" + roomCounter++;
+            roomId = nextRoomId();
         }
 
-        GameRoom room = new GameRoom(roomId, player, this);
+        GameRoom room = roomPool.acquire(roomId, player);
         gameRooms.put(roomId, room);
+        roomDirectory.add(room);
+        matchmaking.cancel(player.getUniqueId());
         playerRooms.put(player.getUniqueId(), room);
 
-        player.sendMessage(ChatColor.GREEN + "房间创建成功！房间号: " + roomId);
+        player.sendMessage(Component.text("房间创建成功！房间号: " + roomId, NamedTextColor.GREEN));
         if (bountyEnabled) {
-            player.sendMessage(ChatColor.RED + "房主可输入 /ddz money 开关金币赛");
+            player.sendMessage(Component.text("房主可输入 /ddz money 开关金币赛", NamedTextColor.RED));
         }
         room.addPlayer(player);
     }
 
+    // 自动生成的房间号，跳过玩家自定义时已占用的
+    private String nextRoomId() {
+        String roomId;
+        do {
+            roomId = "room" + roomCounter++;
+        } while (gameRooms.containsKey(roomId));
+        return roomId;
+    }
+
+    /**
+     * 快速匹配：再次输入时取消排队；凑满3人后自动建房、入座并准备
+     */
+    private void quickMatch(Player player, boolean money) {
+        if (playerRooms.containsKey(player.getUniqueId())) {
+            player.sendMessage(Component.text("你已经在一个房间中了！", NamedTextColor.RED));
+            return;
+        }
+        if (matchmaking.cancel(player.getUniqueId())) {
+            player.sendMessage(Component.text("已取消快速匹配", NamedTextColor.YELLOW));
+            return;
+        }
+
+        if (money) {
+            if (!bountyEnabled) {
+                player.sendMessage(Component.text("金币赛功能未启用！", NamedTextColor.RED));
+                return;
+            }
+            double required = getMoneyMultiplier();
+            double playerBalance = getPlayerBalance(player);
+            if (playerBalance < required) {
+                player.sendMessage(Component.text("匹配失败！金币赛需要至少 " + required + " 金币，你当前只有 " +
+                        playerBalance + " 金币", NamedTextColor.RED));
+                return;
+            }
+        }
+
+        int points = profileManager.getStats(player).getPoints();
+        MatchmakingService.Table table = matchmaking.enqueue(player, money, points);
+        if (table == null) {
+            player.sendMessage(Component.text("正在匹配" + (money ? "金币赛" : "") + "（积分段 " +
+                    matchmaking.getBand(points) + "），当前 " + matchmaking.getBucketSize(player.getUniqueId()) +
+                    "/" + MatchmakingService.TABLE_SIZE + " 人，再次输入 /ddz quick 取消", NamedTextColor.GREEN));
+            return;
+        }
+        openMatchedRoom(table);
+    }
+
+    private void openMatchedRoom(MatchmakingService.Table table) {
+        // 排队期间玩家可能下线或花掉金币，开桌前重新检查；不满3人时其余玩家放回队首
+        List<Player> seated = new ArrayList<>(MatchmakingService.TABLE_SIZE);
+        double required = getMoneyMultiplier();
+        for (Player player : table.getPlayers()) {
+            if (!player.isOnline() || playerRooms.containsKey(player.getUniqueId())) {
+                continue;
+            }
+            if (table.isMoneyGame() && bountyEnabled) {
+                double playerBalance = getPlayerBalance(player);
+                if (playerBalance < required) {
+                    player.sendMessage(Component.text("匹配失败！金币赛需要至少 " + required + " 金币，你当前只有 " +
+                            playerBalance + " 金币", NamedTextColor.RED));
+                    continue;
+                }
+            }
+            seated.add(player);
+        }
+        if (seated.size() < MatchmakingService.TABLE_SIZE) {
+            for (Player player : seated) {
+                player.sendMessage(Component.text("有玩家无法入座，已把你放回队首继续匹配", NamedTextColor.YELLOW));
+            }
+            MatchmakingService.Table next = matchmaking.requeueFront(table, seated);
+            if (next != null) {
+                openMatchedRoom(next);
+            }
+            return;
+        }
+
+        String roomId = nextRoomId();
+        GameRoom room = roomPool.acquire(roomId, seated.get(0));
+        gameRooms.put(roomId, room);
+        roomDirectory.add(room);
+        for (Player player : seated) {
+            playerRooms.put(player.getUniqueId(), room);
+            player.sendMessage(Component.text("匹配成功！房间号: " + roomId, NamedTextColor.GREEN));
+        }
+        room.seatMatched(seated, table.isMoneyGame());
+    }
+
     /**
      * 验证房间号是否合法
      * @param roomId 房间号
      * @return 是否合法（true=合法，false=非法）
      */
     private boolean isValidRoomId(String roomId) {
-        // 正则规则：字母、数字、下划线、横线，长度3-16
-        String regex = "^[a-zA-Z0-9_-]{3,16}$";
-        return roomId.matches(regex);
+        return ROOM_ID.matcher(roomId).matches();
     }
 
     private final Map<UUID, Long> lastJoinAttempt = new ConcurrentHashMap<>(); // 记录上次点击时间
@@ -514,74 +847,82 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
         }
         lastJoinAttempt.put(player.getUniqueId(), now);
 
-        GameRoom targetRoom = gameRooms.get(roomId);
+        if (playerRooms.containsKey(player.getUniqueId())) {
+            player.sendMessage(Component.text("你已经在一个房间中了！", NamedTextColor.RED));
+            return;
+        }
+
+        GameRoom room = gameRooms.get(roomId);
+        if (room == null) {
+            player.sendMessage(Component.text("房间不存在！", NamedTextColor.RED));
+            return;
+        }
+
+        // 以下检查只用于及早提示，房间线程在入座时会再检查一次
         // 如果是金币房，检查玩家金币是否足够
-        if (targetRoom.isMoneyGame() && isBountyEnabled()) {
+        if (room.isMoneyGame() && isBountyEnabled()) {
             double required = getMoneyMultiplier();
             double playerBalance = getPlayerBalance(player);
 
             if (playerBalance < required) {
-                player.sendMessage(ChatColor.RED + "加入失败！该房间是金币赛，需要至少 " + required +
-                        " 金币，你当前只有 " + playerBalance + " 金币");
+                player.sendMessage(Component.text("加入失败！该房间是金币赛，需要至少 " + required +
+                        " 金币，你当前只有 " + playerBalance + " 金币", NamedTextColor.RED));
                 player.closeInventory();
                 return;
             }
         }
 
-        if (playerRooms.containsKey(player.getUniqueId())) {
-            player.sendMessage(ChatColor.RED + "你已经在一个房间中了！");
-            return;
-        }
-
-        GameRoom room = gameRooms.get(roomId);
-        if (room == null) {
-            player.sendMessage(ChatColor.RED + "房间不存在！");
-            return;
-        }
-
         // 游戏进行中禁止加入
         if (room.isGameStarted()) {
-            player.sendMessage(ChatColor.RED + "游戏进行中，无法加入房间！");
+            player.sendMessage(Component.text("游戏进行中，无法加入房间！", NamedTextColor.RED));
             return;
         }
 
         if (room.getPlayerCount() >= 3) {
-            player.sendMessage(ChatColor.RED + "房间已满！");
+            player.sendMessage(Component.text("房间已满！", NamedTextColor.RED));
             return;
         }
 
-        playerRooms.put(player.getUniqueId(), room);
+        matchmaking.cancel(player.getUniqueId());
+        // 先占位防止重复加入；入座失败时房间会解除关联并告知原因，成功提示也由房间发送
+        if (playerRooms.putIfAbsent(player.getUniqueId(), room) != null) {
+            player.sendMessage(Component.text("你已经在一个房间中了！", NamedTextColor.RED));
+            return;
+        }
         room.addPlayer(player);
-        player.sendMessage(ChatColor.GREEN + "成功加入房间: " + roomId);
     }
 
     private void leaveRoom(Player player) {
         GameRoom room = playerRooms.get(player.getUniqueId());
         if (room == null) {
-            player.sendMessage(ChatColor.RED + "你不在任何房间中！");
+            player.sendMessage(Component.text("你不在任何房间中！", NamedTextColor.RED));
             return;
         }
 
         // 游戏进行中禁止离开
         if (room.isGameStarted()) {
-            player.sendMessage(ChatColor.RED + "游戏进行中，无法离开房间！");
+            player.sendMessage(Component.text("游戏进行中，无法离开房间！", NamedTextColor.RED));
             return;
         }
 
+        // 房间空了会由房间自己注销
         room.removePlayer(player);
         playerRooms.remove(player.getUniqueId());
-        player.sendMessage(ChatColor.YELLOW + "已离开房间");
+        player.sendMessage(Component.text("已离开房间", NamedTextColor.YELLOW));
+    }
 
-        // 如果房间空了，删除房间
-        if (room.getPlayerCount() == 0) {
-            gameRooms.remove(room.getRoomId());
-        }
+    /**
+     * 注销空房间（由房间在自己的线程上调用）
+     */
+    public void removeRoom(GameRoom room) {
+        gameRooms.remove(room.getRoomId(), room);
+        roomDirectory.remove(room);
     }
 
     private void toggleReady(Player player) {
         GameRoom room = playerRooms.get(player.getUniqueId());
         if (room == null) {
-            player.sendMessage(ChatColor.RED + "你不在任何房间中！");
+            player.sendMessage(Component.text("你不在任何房间中！", NamedTextColor.RED));
             return;
         }
 
@@ -595,7 +936,7 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
             GameRoom currentRoom = playerRooms.get(player.getUniqueId());
 
             // 创建确认GUI
-            Inventory confirmGui = Bukkit.createInventory(player, 27, ChatColor.RED + "确认切换房间?");
+            MenuHolder confirmGui = new MenuHolder(MenuHolder.Type.CONFIRM_SWITCH, currentRoom, 27, ChatColor.RED + "确认切换房间?");
 
             // 确认按钮
             ItemStack confirm = new ItemStack(Material.GREEN_WOOL);
@@ -606,16 +947,16 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
                     ChatColor.RED + "切换房间将自动离开当前房间"
             ));
             confirm.setItemMeta(confirmMeta);
-            confirmGui.setItem(11, confirm);
+            confirmGui.setItem(11, confirm, (p, e) -> confirmSwitchRoom(p));
 
             // 取消按钮
             ItemStack cancel = new ItemStack(Material.RED_WOOL);
             ItemMeta cancelMeta = cancel.getItemMeta();
             cancelMeta.setDisplayName(ChatColor.RED + "取消");
             cancel.setItemMeta(cancelMeta);
-            confirmGui.setItem(15, cancel);
+            confirmGui.setItem(15, cancel, (p, e) -> p.closeInventory());
 
-            player.openInventory(confirmGui);
+            player.openInventory(confirmGui.getInventory());
         } else {
             // 不在房间中，直接打开房间列表
             openRoomListGUI(player, 1);
@@ -623,121 +964,40 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
     }
 
     private void openRoomListGUI(Player player, int page) {
-        if (gameRooms.isEmpty()) {
-            player.sendMessage(ChatColor.YELLOW + "当前没有房间");
+        // 房间目录按状态排好序并缓存了每页的物品；页码超出范围时（如翻页期间房间减少）显示最后一页
+        RoomDirectory.Page roomPage = roomDirectory.getPageClamped(page);
+        if (roomPage == null) {
+            player.sendMessage(Component.text("当前没有房间", NamedTextColor.YELLOW));
             player.closeInventory();
             return;
         }
+        page = roomPage.getNumber();
 
         // 创建6行(54格)的GUI
-        Inventory gui = Bukkit.createInventory(player, 54, ChatColor.GOLD + "房间列表 - 第 " + page + " 页");
+        MenuHolder gui = new MenuHolder(MenuHolder.Type.ROOM_LIST, null, 54, ChatColor.GOLD + "房间列表 - 第 " + page + " 页");
 
-        // 排序房间：等待中的在前，游戏中的在后
-        List<GameRoom> sortedRooms = new ArrayList<>(gameRooms.values());
-        sortedRooms.sort((r1, r2) -> {
-            if (r1.isGameStarted() == r2.isGameStarted()) return 0;
-            return r1.isGameStarted() ? 1 : -1;
-        });
-
-        // 每页显示45个房间(5行)
-        int itemsPerPage = 45;
-        int startIndex = (page - 1) * itemsPerPage;
-        int endIndex = Math.min(startIndex + itemsPerPage, sortedRooms.size());
-
-        // 添加房间物品
-        for (int i = startIndex; i < endIndex; i++) {
-            GameRoom room = sortedRooms.get(i);
-            gui.setItem(i - startIndex, createRoomItem(player, room));
+        // 金币房需要按玩家的金币显示，余额只在本页有金币房时查询一次
+        double balance = roomPage.hasMoneyRooms() ? getPlayerBalance(player) : 0;
+        double required = getMoneyMultiplier();
+        for (int slot = 0; slot < roomPage.size(); slot++) {
+            String roomId = roomPage.getRoomId(slot);
+            gui.setItem(slot, roomPage.getItem(slot, balance, required), (p, e) -> joinRoomFromGUI(p, roomId));
         }
 
         // 添加分页按钮
-        addPaginationButtons(gui, page, (int) Math.ceil((double) sortedRooms.size() / itemsPerPage));
+        addPaginationButtons(gui, page, roomPage.getTotalPages());
 
-        player.openInventory(gui);
+        player.openInventory(gui.getInventory());
     }
 
-    private ItemStack createRoomItem(Player viewer, GameRoom room) {
-        Material material;
-        ChatColor color;
-        String status;
-
-        // 金币房特殊处理（带附魔效果）
-        if (room.isMoneyGame()) {
-            // 检查玩家金币是否足够
-            double playerBalance = getPlayerBalance(viewer);
-            double required = getMoneyMultiplier();
-            boolean hasEnough = playerBalance >= required;
-
-            // 根据金币是否足够选择不同材质
-            if (hasEnough) {
-                material = room.isGameStarted() ? Material.GOLD_BLOCK : Material.EMERALD_BLOCK;
-            } else {
-                material = room.isGameStarted() ? Material.REDSTONE_BLOCK : Material.COAL_BLOCK;
-            }
-
-            ItemStack item = new ItemStack(material);
-            ItemMeta meta = item.getItemMeta();
-
-            // 金币足够的才有附魔光效
-            if (hasEnough) {
-                meta.addEnchant(Enchantment.VANISHING_CURSE, 1, true);
-                meta.addItemFlags(ItemFlag.HIDE_ENCHANTS);
-            }
-
-            status = room.isGameStarted() ? ChatColor.RED + "游戏中(金币房)" : ChatColor.GREEN + "等待中(金币房)";
-            meta.setDisplayName((hasEnough ? ChatColor.GOLD : ChatColor.GRAY) + room.getRoomId());
-
-            List<String> lore = new ArrayList<>();
-            lore.add(ChatColor.GRAY + "状态: " + status);
-            lore.add(ChatColor.GRAY + "玩家: " + room.getPlayerCount() + "/3");
-            lore.add(ChatColor.GRAY + "倍数: " + room.getMultiplier());
-            lore.add(ChatColor.GOLD + "金币要求: " + required);
-            lore.add(ChatColor.YELLOW + "我的金币: " + playerBalance +
-                    (hasEnough ? ChatColor.GREEN + " (满足要求)" : ChatColor.RED + " (不满足要求)"));
-
-            if (room.getRoomOwner() != null) {
-                lore.add(ChatColor.GRAY + "房主: " + room.getRoomOwner().getName());
-            }
-            lore.add("");
-            lore.add(hasEnough ? ChatColor.YELLOW + "点击加入房间" : ChatColor.GRAY + "金币不足无法加入");
-
-            meta.setLore(lore);
-            item.setItemMeta(meta);
-            return item;
-        }
-        // 普通房间
-        else {
-            material = room.isGameStarted() ? Material.RED_WOOL : Material.LIME_WOOL;
-            color = room.isGameStarted() ? ChatColor.RED : ChatColor.GREEN;
-            status = room.isGameStarted() ? "游戏中" : "等待中";
-
-            ItemStack item = new ItemStack(material);
-            ItemMeta meta = item.getItemMeta();
-            meta.setDisplayName(color + room.getRoomId());
-
-            List<String> lore = new ArrayList<>();
-            lore.add(ChatColor.GRAY + "状态: " + color + status);
-            lore.add(ChatColor.GRAY + "玩家: " + room.getPlayerCount() + "/3");
-            if (room.getRoomOwner() != null) {
-                lore.add(ChatColor.GRAY + "房主: " + room.getRoomOwner().getName());
-            }
-            lore.add("");
-            lore.add(ChatColor.YELLOW + "点击加入房间");
-
-            meta.setLore(lore);
-            item.setItemMeta(meta);
-            return item;
-        }
-    }
-
-    private void addPaginationButtons(Inventory gui, int currentPage, int totalPages) {
+    private void addPaginationButtons(MenuHolder gui, int currentPage, int totalPages) {
         // 上一页按钮（位置48）
         if (currentPage > 1) {
             ItemStack prevPage = new ItemStack(Material.ARROW);
             ItemMeta prevMeta = prevPage.getItemMeta();
             prevMeta.setDisplayName(ChatColor.YELLOW + "上一页");
             prevPage.setItemMeta(prevMeta);
-            gui.setItem(48, prevPage);
+            gui.setItem(48, prevPage, (p, e) -> openRoomListGUI(p, currentPage - 1));
         }
 
         // 当前页信息（位置49）
@@ -745,7 +1005,7 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
         ItemMeta pageMeta = pageInfo.getItemMeta();
         pageMeta.setDisplayName(ChatColor.GOLD + "第 " + currentPage + "/" + totalPages + " 页");
         pageInfo.setItemMeta(pageMeta);
-        gui.setItem(49, pageInfo);
+        gui.setItem(49, pageInfo, null);
 
         // 下一页按钮（位置50）
         if (currentPage < totalPages) {
@@ -753,133 +1013,32 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
             ItemMeta nextMeta = nextPage.getItemMeta();
             nextMeta.setDisplayName(ChatColor.YELLOW + "下一页");
             nextPage.setItemMeta(nextMeta);
-            gui.setItem(50, nextPage);
+            gui.setItem(50, nextPage, (p, e) -> openRoomListGUI(p, currentPage + 1));
         }
     }
 
-    private final Map<UUID, Long> lastClickTimes = new HashMap<>();
-    @EventHandler
-    public void onInventoryClick(InventoryClickEvent event) {
-        if (!(event.getWhoClicked() instanceof Player)) return;
-
-        Player player = (Player) event.getWhoClicked();
-        Inventory clickedInventory = event.getClickedInventory();
-        String title = event.getView().getTitle();
-
-        // 如果不是斗地主相关的GUI，直接返回，不取消事件
-        if (!title.startsWith(ChatColor.GOLD + "斗地主主菜单") &&
-                !title.startsWith(ChatColor.GOLD + "房间列表") &&
-                !title.equals(ChatColor.RED + "确认切换房间?")) {
-            return;
-        }
-
-        // 冷却检查
-        long now = System.currentTimeMillis();
-        if (lastClickTimes.containsKey(player.getUniqueId())) {
-            long lastClick = lastClickTimes.get(player.getUniqueId());
-            if (now - lastClick < 100) { // 100毫秒冷却
-                event.setCancelled(true);
-                return;
-            }
-        }
-        lastClickTimes.put(player.getUniqueId(), now);
-
-        // 防止玩家点击自己的背包
-        if (clickedInventory != event.getView().getTopInventory()) {
-            event.setCancelled(true);
-            return;
-        }
-
-        // 到这里才取消事件（确保只影响斗地主GUI）
-        event.setCancelled(true);
-
-        ItemStack clicked = event.getCurrentItem();
-        if (clicked == null || !clicked.hasItemMeta()) return;
-
-        // 处理主菜单点击
-        if (title.startsWith(ChatColor.GOLD + "斗地主主菜单")) {
-            handleMainMenuClick(player, clicked);
-            return;
-        }
-
-        // 处理确认对话框
-        if (title.equals(ChatColor.RED + "确认切换房间?")) {
-            handleConfirmDialogClick(player, clicked);
-            return;
-        }
-
-        // 处理房间列表GUI
-        if (title.startsWith(ChatColor.GOLD + "房间列表")) {
-            handleRoomListClick(player, clicked, title);
-        }
-    }
-
-    private void handleConfirmDialogClick(Player player, ItemStack clicked) {
+    private void confirmSwitchRoom(Player player) {
         GameRoom room = playerRooms.get(player.getUniqueId());
         if (room == null) return;
 
         // 游戏进行中禁止离开
         if (room.isGameStarted()) {
-            player.sendMessage(ChatColor.RED + "游戏进行中，无法离开房间！");
+            player.sendMessage(Component.text("游戏进行中，无法离开房间！", NamedTextColor.RED));
             return;
         }
 
-        String displayName = clicked.getItemMeta().getDisplayName();
-        if (displayName.equals(ChatColor.GREEN + "确认切换")) {
-            // 离开当前房间
-            GameRoom currentRoom = playerRooms.get(player.getUniqueId());
-            if (currentRoom != null) {
-                currentRoom.removePlayer(player);
-                playerRooms.remove(player.getUniqueId());
-
-                // 如果房间空了，删除房间
-                if (currentRoom.getPlayerCount() == 0) {
-                    gameRooms.remove(currentRoom.getRoomId());
-                }
-            }
-            // 打开房间列表
-            openRoomListGUI(player, 1);
-        } else if (displayName.equals(ChatColor.RED + "取消")) {
-            player.closeInventory();
-        }
-    }
-
-    private void handleRoomListClick(Player player, ItemStack clicked, String title) {
-        String displayName = clicked.getItemMeta().getDisplayName();
-
-        try {
-            // 从标题获取当前页码
-            int currentPage = Integer.parseInt(
-                    ChatColor.stripColor(title.split(" - 第 ")[1].split(" 页")[0])
-            );
-
-            // 处理翻页按钮
-            if (displayName.equals(ChatColor.YELLOW + "上一页")) {
-                openRoomListGUI(player, currentPage - 1);
-                return;
-            } else if (displayName.equals(ChatColor.YELLOW + "下一页")) {
-                openRoomListGUI(player, currentPage + 1);
-                return;
-            }
-
-            // 处理房间点击
-            if (clicked.getItemMeta().hasLore()) {
-                List<String> lore = clicked.getItemMeta().getLore();
-                if (lore.contains(ChatColor.YELLOW + "点击加入房间")) {
-                    String roomId = ChatColor.stripColor(displayName);
-                    joinRoomFromGUI(player, roomId);
-                }
-            }
-        } catch (Exception e) {
-            getLogger().warning("处理GUI点击时出错: " + e.getMessage());
-        }
+        // 离开当前房间，房间空了会由房间自己注销
+        room.removePlayer(player);
+        playerRooms.remove(player.getUniqueId());
+        // 打开房间列表
+        openRoomListGUI(player, 1);
     }
 
     private void joinRoomFromGUI(Player player, String roomId) {
         // 获取目标房间
         GameRoom targetRoom = gameRooms.get(roomId);
         if (targetRoom == null) {
-            player.sendMessage(ChatColor.RED + "房间不存在或已关闭！");
+            player.sendMessage(Component.text("房间不存在或已关闭！", NamedTextColor.RED));
             return;
         }
 
@@ -889,8 +1048,8 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
             double playerBalance = getPlayerBalance(player);
 
             if (playerBalance < required) {
-                player.sendMessage(ChatColor.RED + "加入失败！该房间是金币赛，需要至少 " + required +
-                        " 金币，你当前只有 " + playerBalance + " 金币");
+                player.sendMessage(Component.text("加入失败！该房间是金币赛，需要至少 " + required +
+                        " 金币，你当前只有 " + playerBalance + " 金币", NamedTextColor.RED));
                 player.closeInventory();
                 return;
             }
@@ -902,12 +1061,18 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
 
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
-        // 玩家加入时的处理
+        // 异步预加载玩家档案（统计 + 余额）
+        profileManager.load(event.getPlayer());
     }
 
     @EventHandler
     public void onPlayerQuit(PlayerQuitEvent event) {
         Player player = event.getPlayer();
+        profileManager.unload(player.getUniqueId());
+        matchmaking.cancel(player.getUniqueId());
+        if (replayViewer != null) {
+            replayViewer.stop(player.getUniqueId(), false);
+        }
         GameRoom room = playerRooms.get(player.getUniqueId());
         if (room != null) {
             // 直接调用removePlayer，此时player.isOnline()为false
@@ -916,10 +1081,6 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
             // 如果游戏未开始，才从playerRooms中移除
             if (!room.isGameStarted()) {
                 playerRooms.remove(player.getUniqueId());
-
-                if (room.getPlayerCount() == 0) {
-                    gameRooms.remove(room.getRoomId());
-                }
             }
         }
     }
@@ -938,16 +1099,15 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
 
                 event.setCancelled(true);
 
-                // 在主线程中处理游戏逻辑
-                Bukkit.getScheduler().runTask(this, () -> {
-                    room.handleGameCommand(player, message);
-                });
+                // 投递到房间邮箱，由房间线程处理
+                room.handleGameCommand(player, message);
             }
         }
     }
 
     private void openMainMenu(Player player) {
-        Inventory gui = Bukkit.createInventory(player, 27, ChatColor.GOLD + "斗地主主菜单");
+        MenuHolder menu = new MenuHolder(MenuHolder.Type.MAIN_MENU, null, 27, ChatColor.GOLD + "斗地主主菜单");
+        Inventory gui = menu.getInventory();
 
         // 创建房间按钮 (第一行中间)
         ItemStack createRoom = new ItemStack(Material.OAK_SIGN);
@@ -958,7 +1118,10 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
                 ChatColor.GRAY + "可以自定义房间号或使用自动生成"
         ));
         createRoom.setItemMeta(createMeta);
-        gui.setItem(11, createRoom); // 第一行中间
+        menu.setItem(11, createRoom, (p, e) -> {
+            p.closeInventory();
+            p.performCommand("ddz create");
+        }); // 第一行中间
 
         // 金币赛开关按钮 (第一行右侧)
         GameRoom currentRoom = playerRooms.get(player.getUniqueId());
@@ -992,7 +1155,7 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
         }
         moneyMeta.setLore(moneyLore);
         moneyGame.setItemMeta(moneyMeta);
-        gui.setItem(13, moneyGame); // 第一行右侧
+        menu.setItem(13, moneyGame, (p, e) -> menuToggleMoneyGame(p)); // 第一行右侧
 
         // 房间列表按钮 (第二行中间)
         ItemStack roomList = new ItemStack(Material.BOOK);
@@ -1003,7 +1166,10 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
                 ChatColor.GRAY + "可以加入其他玩家的房间"
         ));
         roomList.setItemMeta(listMeta);
-        gui.setItem(15, roomList); // 第二行中间
+        menu.setItem(15, roomList, (p, e) -> {
+            p.closeInventory();
+            p.performCommand("ddz list");
+        }); // 第二行中间
 
         // 准备按钮 (第三行左侧)
         ItemStack readyBtn = new ItemStack(currentRoom != null ?
@@ -1026,7 +1192,7 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
         }
         readyMeta.setLore(readyLore);
         readyBtn.setItemMeta(readyMeta);
-        gui.setItem(20, readyBtn); // 第三行左侧
+        menu.setItem(20, readyBtn, (p, e) -> menuToggleReady(p)); // 第三行左侧
 
         // 托管按钮 (第三行中间)
         boolean isBiddingPhase = currentRoom != null && currentRoom.getGameState() == GameRoom.GameState.BIDDING;
@@ -1058,7 +1224,7 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
         }
         autoMeta.setLore(autoLore);
         autoPlayBtn.setItemMeta(autoMeta);
-        gui.setItem(22, autoPlayBtn); // 第三行中间
+        menu.setItem(22, autoPlayBtn, (p, e) -> menuToggleAutoPlay(p)); // 第三行中间
 
         // 离开房间按钮 (第三行右侧)
         boolean canLeave = currentRoom != null && !currentRoom.isGameStarted();
@@ -1080,13 +1246,10 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
         }
         leaveMeta.setLore(leaveLore);
         leaveRoom.setItemMeta(leaveMeta);
-        gui.setItem(24, leaveRoom); // 第三行右侧
+        menu.setItem(24, leaveRoom, (p, e) -> menuLeaveRoom(p)); // 第三行右侧
 
         // 填充空白区域
-        ItemStack filler = new ItemStack(Material.GRAY_STAINED_GLASS_PANE);
-        ItemMeta fillerMeta = filler.getItemMeta();
-        fillerMeta.setDisplayName(" ");
-        filler.setItemMeta(fillerMeta);
+        ItemStack filler = itemTemplates.separator();
         for (int i = 0; i < gui.getSize(); i++) {
             if (gui.getItem(i) == null) {
                 gui.setItem(i, filler);
@@ -1096,73 +1259,64 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
         player.openInventory(gui);
     }
 
-    private void handleMainMenuClick(Player player, ItemStack clicked) {
-        String displayName = clicked.getItemMeta().getDisplayName();
+    private void menuToggleMoneyGame(Player player) {
+        GameRoom room = playerRooms.get(player.getUniqueId());
+        if (room == null) {
+            player.sendMessage(Component.text("你不在任何房间中！", NamedTextColor.RED));
+            return;
+        }
 
-        if (displayName.contains("创建房间")) {
-            player.closeInventory();
-            player.performCommand("ddz create");
+        if (room.getRoomOwner() != null && room.getRoomOwner().equals(player)) {
+            room.toggleMoneyGame(player);
+            openMainMenu(player); // 刷新GUI
+        } else {
+            player.sendMessage(Component.text("只有房主可以开关金币赛！", NamedTextColor.RED));
         }
-        else if (displayName.contains("金币赛")) {
-            GameRoom room = playerRooms.get(player.getUniqueId());
-            if (room == null) {
-                player.sendMessage(ChatColor.RED + "你不在任何房间中！");
-                return;
-            }
+    }
 
-            if (room.getRoomOwner() != null && room.getRoomOwner().equals(player)) {
-                room.toggleMoneyGame(player);
-                openMainMenu(player); // 刷新GUI
-            } else {
-                player.sendMessage(ChatColor.RED + "只有房主可以开关金币赛！");
-            }
+    private void menuToggleReady(Player player) {
+        GameRoom room = playerRooms.get(player.getUniqueId());
+        if (room != null) {
+            room.toggleReady(player);
+            openMainMenu(player); // 刷新GUI
+        } else {
+            player.sendMessage(Component.text("你不在任何房间中！", NamedTextColor.RED));
         }
-        else if (displayName.contains("房间列表")) {
-            player.closeInventory();
-            player.performCommand("ddz list");
+    }
+
+    private void menuToggleAutoPlay(Player player) {
+        GameRoom room = playerRooms.get(player.getUniqueId());
+        if (room == null) {
+            player.sendMessage(Component.text("你不在任何房间中！", NamedTextColor.RED));
+            return;
         }
-        else if (displayName.contains("准备状态")) {
-            GameRoom room = playerRooms.get(player.getUniqueId());
-            if (room != null) {
-                room.toggleReady(player);
-                openMainMenu(player); // 刷新GUI
-            } else {
-                player.sendMessage(ChatColor.RED + "你不在任何房间中！");
-            }
+
+        // 检查是否是叫分阶段
+        if (room.getGameState() == GameRoom.GameState.BIDDING) {
+            player.sendMessage(Component.text("叫分阶段不允许使用托管！", NamedTextColor.RED));
+            return;
         }
-        else if (displayName.contains("托管状态")) {
-            GameRoom room = playerRooms.get(player.getUniqueId());
-            if (room == null) {
-                player.sendMessage(ChatColor.RED + "你不在任何房间中！");
-                return;
-            }
 
-            // 检查是否是叫分阶段
-            if (room.getGameState() == GameRoom.GameState.BIDDING) {
-                player.sendMessage(ChatColor.RED + "叫分阶段不允许使用托管！");
-                return;
-            }
+        if (!room.isGameStarted()) {
+            player.sendMessage(Component.text("游戏未开始，无法使用托管！", NamedTextColor.RED));
+            return;
+        }
 
-            if (!room.isGameStarted()) {
-                player.sendMessage(ChatColor.RED + "游戏未开始，无法使用托管！");
-                return;
-            }
+        room.toggleAutoPlay(player);
+        openMainMenu(player); // 刷新GUI
+    }
 
-            room.toggleAutoPlay(player);
-            openMainMenu(player); // 刷新GUI
-        }
-        else if (displayName.contains("离开房间")) {
-            GameRoom room = playerRooms.get(player.getUniqueId());
-            if (room != null) {
-                if (room.isGameStarted()) {
-                    player.sendMessage(ChatColor.RED + "游戏进行中，无法离开房间！");
-                } else {
-                    player.closeInventory();
-                    player.performCommand("ddz leave");
-                }
+    private void menuLeaveRoom(Player player) {
+        GameRoom room = playerRooms.get(player.getUniqueId());
+        if (room != null) {
+            if (room.isGameStarted()) {
+                player.sendMessage(Component.text("游戏进行中，无法离开房间！", NamedTextColor.RED));
             } else {
-                player.sendMessage(ChatColor.RED + "你不在任何房间中！");
+                player.closeInventory();
+                player.performCommand("ddz leave");
             }
+        } else {
+            player.sendMessage(Component.text("你不在任何房间中！", NamedTextColor.RED));
         }
     }
 
@@ -1177,16 +1331,73 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
         }
     }
 
+    /**
+     * 玩家未能进入房间时解除其房间记录（不通知房间）
+     */
+    public void detachPlayer(UUID playerId, GameRoom room) {
+        playerRooms.remove(playerId, room);
+    }
+
+    public RoomPool getRoomPool() {
+        return roomPool;
+    }
+
     public StatsManager getStatsManager() {
         return statsManager;
     }
 
+    public ProfileManager getProfileManager() {
+        return profileManager;
+    }
+
+    public LoadShedder getLoadShedder() {
+        return loadShedder;
+    }
+
+    public IoExecutor getIoExecutor() {
+        return ioExecutor;
+    }
+
+    public ItemTemplates getItemTemplates() {
+        return itemTemplates;
+    }
+
+    public RoomDirectory getRoomDirectory() {
+        return roomDirectory;
+    }
+
+    public TickBudgetGovernor getGovernor() {
+        return governor;
+    }
+
+    public TimingWheel getTimingWheel() {
+        return timingWheel;
+    }
+
+    public Leaderboards getLeaderboards() {
+        return leaderboards;
+    }
+
+    public ReplayRecorder getReplayRecorder() {
+        return replayRecorder;
+    }
+
+    public PlatformProfile getPlatform() {
+        return platform;
+    }
+
     public boolean isFolia() {
-        try {
-            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
-            return true;
-        } catch (ClassNotFoundException e) {
-            return false;
+        return platform.isFolia();
+    }
+
+    /**
+     * 回到玩家所在线程执行任务
+     */
+    public void runForPlayer(Player player, Runnable task) {
+        if (isFolia()) {
+            player.getScheduler().run(this, t -> task.run(), null);
+        } else {
+            Bukkit.getScheduler().runTask(this, task);
         }
     }
 
@@ -1211,6 +1422,6 @@ public class Landlord extends JavaPlugin implements Listener, CommandExecutor, T
     }
 
     public boolean isVaultAvailable() {
-        return vaultAvailable;
+        return platform.hasVault();
     }
 }
\ No newline at end of file
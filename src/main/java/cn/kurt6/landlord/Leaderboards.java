@@ -0,0 +1,402 @@
+package cn.kurt6.landlord;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.*;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 时间窗口排行榜（日榜/周榜/赛季榜）
+ * 每局结果累加到按天分桶的环形数组中，跨天时只减去滑出窗口的那一天，不重新扫描历史
+ * 每次更新后重建前N名快照，计分板/变量每tick轮询也只读快照
+ */
+public class Leaderboards {
+    private static final int SNAPSHOT_SIZE = 100;   // 快照保留的名次
+    private static final int FILE_VERSION = 1;
+    private static final long SAVE_INTERVAL_SECONDS = 300;
+
+    public enum Window {
+        DAY("day", "日榜"),
+        WEEK("week", "周榜"),
+        SEASON("season", "赛季榜");
+
+        private final String key;
+        private final String displayName;
+
+        Window(String key, String displayName) {
+            this.key = key;
+            this.displayName = displayName;
+        }
+
+        public String getKey() { return key; }
+        public String getDisplayName() { return displayName; }
+
+        public static Window fromKey(String key) {
+            for (Window window : values()) {
+                if (window.key.equalsIgnoreCase(key)) return window;
+            }
+            return null;
+        }
+    }
+
+    public enum Metric {
+        POINTS("points", "积分"),
+        WINS("wins", "胜场"),
+        MONEY("money", "净收益"),
+        GAMES("games", "场次");
+
+        private final String key;
+        private final String displayName;
+
+        Metric(String key, String displayName) {
+            this.key = key;
+            this.displayName = displayName;
+        }
+
+        public String getKey() { return key; }
+        public String getDisplayName() { return displayName; }
+
+        public static Metric fromKey(String key) {
+            for (Metric metric : values()) {
+                if (metric.key.equalsIgnoreCase(key)) return metric;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 排行榜条目（不可变）
+     */
+    public static class Entry {
+        private final UUID playerId;
+        private final String playerName;
+        private final double value;
+
+        Entry(UUID playerId, String playerName, double value) {
+            this.playerId = playerId;
+            this.playerName = playerName;
+            this.value = value;
+        }
+
+        public UUID getPlayerId() { return playerId; }
+        public String getPlayerName() { return playerName; }
+        public double getValue() { return value; }
+    }
+
+    // 单日增量桶
+    private static class Bucket {
+        final long day;
+        final Map<UUID, double[]> deltas = new HashMap<>();
+
+        Bucket(long day) {
+            this.day = day;
+        }
+    }
+
+    // 单个窗口的累计值与有序集合
+    private static class WindowState {
+        final int days;
+        final Map<UUID, double[]> totals = new ConcurrentHashMap<>();
+        final List<TreeSet<Entry>> ranked = new ArrayList<>();
+        final List<List<Entry>> snapshots = new ArrayList<>(); // 按Metric下标，整体替换
+
+        WindowState(int days) {
+            this.days = days;
+            for (Metric metric : Metric.values()) {
+                ranked.add(new TreeSet<>(RANK_ORDER));
+                snapshots.add(Collections.emptyList());
+            }
+        }
+    }
+
+    private static final Comparator<Entry> RANK_ORDER = (a, b) -> {
+        int cmp = Double.compare(b.value, a.value);
+        return cmp != 0 ? cmp : a.playerId.compareTo(b.playerId);
+    };
+
+    private final Landlord plugin;
+    private final File dataFile;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final Bucket[] ring;
+    private final Map<UUID, String> names = new ConcurrentHashMap<>();
+    private final EnumMap<Window, WindowState> windows = new EnumMap<>(Window.class);
+    private long currentDay;
+    private volatile long nextRollover;   // 下一次跨天的时间戳
+    private volatile boolean dirty = false;
+    private BukkitTask bukkitSaveTask;
+    private ScheduledTask foliaSaveTask;
+
+    public Leaderboards(Landlord plugin, int seasonDays) {
+        this.plugin = plugin;
+        this.dataFile = new File(plugin.getDataFolder(), "leaderboards.dat");
+        int season = Math.max(7, seasonDays);
+        this.ring = new Bucket[season];
+        windows.put(Window.DAY, new WindowState(1));
+        windows.put(Window.WEEK, new WindowState(7));
+        windows.put(Window.SEASON, new WindowState(season));
+
+        currentDay = LocalDate.now(zone).toEpochDay();
+        ring[(int) (currentDay % ring.length)] = new Bucket(currentDay);
+        load();
+        rollover();
+        rebuildAllSnapshots();
+        startAutoSave();
+    }
+
+    /**
+     * 记录一次结果增量（每局结算时调用）
+     */
+    public synchronized void record(UUID playerId, String playerName, int points, int wins, int games, double money) {
+        rollover();
+        names.put(playerId, playerName);
+        double[] delta = new double[Metric.values().length];
+        delta[Metric.POINTS.ordinal()] = points;
+        delta[Metric.WINS.ordinal()] = wins;
+        delta[Metric.GAMES.ordinal()] = games;
+        delta[Metric.MONEY.ordinal()] = money;
+
+        Bucket today = ring[(int) (currentDay % ring.length)];
+        add(today.deltas, playerId, delta, 1);
+        for (WindowState state : windows.values()) {
+            apply(state, playerId, delta, 1);
+            rebuildSnapshots(state);
+        }
+        dirty = true;
+    }
+
+    /**
+     * 读取前N名快照，不触发任何计算（可每tick调用）
+     */
+    public List<Entry> getTop(Window window, Metric metric, int limit) {
+        if (System.currentTimeMillis() >= nextRollover) {
+            synchronized (this) {
+                rollover();
+            }
+        }
+        List<Entry> snapshot = windows.get(window).snapshots.get(metric.ordinal());
+        return snapshot.size() <= limit ? snapshot : snapshot.subList(0, limit);
+    }
+
+    /**
+     * 读取玩家在窗口内的累计值
+     */
+    public double getValue(UUID playerId, Window window, Metric metric) {
+        double[] total = windows.get(window).totals.get(playerId);
+        return total != null ? total[metric.ordinal()] : 0;
+    }
+
+    /**
+     * 计算玩家在窗口内的名次，未上榜返回-1（需要遍历有序集合，不适合每tick调用）
+     */
+    public synchronized int getRank(UUID playerId, Window window, Metric metric) {
+        WindowState state = windows.get(window);
+        double[] total = state.totals.get(playerId);
+        if (total == null) {
+            return -1;
+        }
+        Entry key = new Entry(playerId, null, total[metric.ordinal()]);
+        return state.ranked.get(metric.ordinal()).headSet(key).size() + 1;
+    }
+
+    // 跨天：滑出窗口的那一天从各窗口累计中减去，然后复用环形数组的槽位
+    private void rollover() {
+        long today = LocalDate.now(zone).toEpochDay();
+        nextRollover = LocalDate.ofEpochDay(today + 1).atStartOfDay(zone).toInstant().toEpochMilli();
+        if (today <= currentDay) {
+            return;
+        }
+
+        long from = Math.max(currentDay + 1, today - ring.length);
+        for (long day = from; day <= today; day++) {
+            for (WindowState state : windows.values()) {
+                Bucket leaving = ring[(int) (Math.floorMod(day - state.days, (long) ring.length))];
+                if (leaving != null && leaving.day == day - state.days) {
+                    for (Map.Entry<UUID, double[]> e : leaving.deltas.entrySet()) {
+                        apply(state, e.getKey(), e.getValue(), -1);
+                    }
+                }
+            }
+            ring[(int) (day % ring.length)] = new Bucket(day);
+        }
+        // 间隔超过整个赛季时，所有桶都已过期
+        if (today - currentDay > ring.length) {
+            for (WindowState state : windows.values()) {
+                state.totals.clear();
+                state.ranked.forEach(TreeSet::clear);
+            }
+        }
+        currentDay = today;
+        rebuildAllSnapshots();
+        dirty = true;
+    }
+
+    private void apply(WindowState state, UUID playerId, double[] delta, int sign) {
+        double[] old = state.totals.get(playerId);
+        double[] updated = old != null ? old.clone() : new double[delta.length];
+        boolean empty = true;
+        for (int i = 0; i < delta.length; i++) {
+            updated[i] += sign * delta[i];
+            if (Math.abs(updated[i]) > 1e-9) empty = false;
+        }
+
+        String name = names.getOrDefault(playerId, "?");
+        for (Metric metric : Metric.values()) {
+            TreeSet<Entry> set = state.ranked.get(metric.ordinal());
+            if (old != null) {
+                set.remove(new Entry(playerId, name, old[metric.ordinal()]));
+            }
+            if (!empty) {
+                set.add(new Entry(playerId, name, updated[metric.ordinal()]));
+            }
+        }
+        if (empty) {
+            state.totals.remove(playerId);
+        } else {
+            state.totals.put(playerId, updated);
+        }
+    }
+
+    private static void add(Map<UUID, double[]> deltas, UUID playerId, double[] delta, int sign) {
+        double[] current = deltas.computeIfAbsent(playerId, k -> new double[delta.length]);
+        for (int i = 0; i < delta.length; i++) {
+            current[i] += sign * delta[i];
+        }
+    }
+
+    private void rebuildSnapshots(WindowState state) {
+        for (Metric metric : Metric.values()) {
+            List<Entry> top = new ArrayList<>(Math.min(SNAPSHOT_SIZE, state.totals.size()));
+            for (Entry entry : state.ranked.get(metric.ordinal())) {
+                if (top.size() >= SNAPSHOT_SIZE) break;
+                top.add(entry);
+            }
+            state.snapshots.set(metric.ordinal(), Collections.unmodifiableList(top));
+        }
+    }
+
+    private void rebuildAllSnapshots() {
+        for (WindowState state : windows.values()) {
+            rebuildSnapshots(state);
+        }
+    }
+
+    // 定期提交到I/O执行器保存（仅在有变化时写文件）
+    private void startAutoSave() {
+        Runnable submit = () -> {
+            if (dirty) {
+                plugin.getIoExecutor().submit("leaderboard-save", "leaderboard-save", this::saveIfDirty);
+            }
+        };
+        if (plugin.isFolia()) {
+            foliaSaveTask = Bukkit.getAsyncScheduler().runAtFixedRate(plugin, t -> submit.run(),
+                    SAVE_INTERVAL_SECONDS, SAVE_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        } else {
+            bukkitSaveTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, submit,
+                    SAVE_INTERVAL_SECONDS * 20, SAVE_INTERVAL_SECONDS * 20);
+        }
+    }
+
+    public void shutdown() {
+        if (bukkitSaveTask != null) bukkitSaveTask.cancel();
+        if (foliaSaveTask != null) foliaSaveTask.cancel();
+        saveIfDirty();
+    }
+
+    private void saveIfDirty() {
+        if (!dirty) return;
+        try {
+            byte[] bytes = serialize();
+            File tmp = new File(dataFile.getParentFile(), dataFile.getName() + ".tmp");
+            try (FileOutputStream out = new FileOutputStream(tmp)) {
+                out.write(bytes);
+            }
+            if (dataFile.exists() && !dataFile.delete()) {
+                throw new IOException("无法替换 " + dataFile.getName());
+            }
+            if (!tmp.renameTo(dataFile)) {
+                throw new IOException("无法写入 " + dataFile.getName());
+            }
+        } catch (IOException e) {
+            dirty = true;
+            plugin.getLogger().warning("保存排行榜数据失败: " + e.getMessage());
+        }
+    }
+
+    // 持锁时只在内存中序列化，写文件在锁外进行
+    private synchronized byte[] serialize() throws IOException {
+        dirty = false;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(FILE_VERSION);
+            out.writeLong(currentDay);
+            List<Bucket> buckets = new ArrayList<>();
+            for (Bucket bucket : ring) {
+                if (bucket != null && !bucket.deltas.isEmpty()) buckets.add(bucket);
+            }
+            out.writeInt(buckets.size());
+            for (Bucket bucket : buckets) {
+                out.writeLong(bucket.day);
+                out.writeInt(bucket.deltas.size());
+                for (Map.Entry<UUID, double[]> e : bucket.deltas.entrySet()) {
+                    out.writeLong(e.getKey().getMostSignificantBits());
+                    out.writeLong(e.getKey().getLeastSignificantBits());
+                    out.writeUTF(names.getOrDefault(e.getKey(), "?"));
+                    for (double value : e.getValue()) {
+                        out.writeDouble(value);
+                    }
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    // 启动时从保存的日桶重建各窗口累计（只在启动时执行一次）
+    private void load() {
+        if (!dataFile.exists()) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(dataFile)))) {
+            if (in.readInt() != FILE_VERSION) {
+                plugin.getLogger().warning("排行榜数据版本不兼容，已忽略");
+                return;
+            }
+            in.readLong();
+            int bucketCount = in.readInt();
+            for (int b = 0; b < bucketCount; b++) {
+                Bucket bucket = new Bucket(in.readLong());
+                int entries = in.readInt();
+                for (int i = 0; i < entries; i++) {
+                    UUID playerId = new UUID(in.readLong(), in.readLong());
+                    names.put(playerId, in.readUTF());
+                    double[] delta = new double[Metric.values().length];
+                    for (int m = 0; m < delta.length; m++) {
+                        delta[m] = in.readDouble();
+                    }
+                    bucket.deltas.put(playerId, delta);
+                }
+                // 只保留仍在赛季窗口内的桶
+                if (bucket.day <= currentDay && bucket.day > currentDay - ring.length) {
+                    ring[(int) (bucket.day % ring.length)] = bucket;
+                }
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("读取排行榜数据失败: " + e.getMessage());
+        }
+
+        for (WindowState state : windows.values()) {
+            for (Bucket bucket : ring) {
+                if (bucket != null && bucket.day > currentDay - state.days) {
+                    for (Map.Entry<UUID, double[]> e : bucket.deltas.entrySet()) {
+                        apply(state, e.getKey(), e.getValue(), 1);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package cn.kurt6.landlord;
+
+/**
+ * 负载降级：根据实测tick间隔在服务器落后时逐级关闭非必要工作
+ * 升级即时生效，降级需要持续恢复一段时间（滞回），避免来回抖动
+ */
+public class LoadShedder {
+    public static final int LEVEL_NORMAL = 0;
+    public static final int LEVEL_NO_EFFECTS = 1;   // 跳过粒子与炸弹特效
+    public static final int LEVEL_SLOW_RENDER = 2;  // 计分板与BossBar降低刷新频率
+    public static final int LEVEL_AI_CAP = 3;       // 限制每tick的AI决策数量
+    public static final int LEVEL_FAST_BOTS = 4;    // 缩短托管出牌等待
+    public static final int MAX_LEVEL = LEVEL_FAST_BOTS;
+
+    private static final String[] LEVEL_NAMES = {"正常", "关闭特效", "降低刷新频率", "限制AI预算", "加快托管出牌"};
+    // 进入各等级的平均tick耗时（毫秒），约对应 TPS 19 / 18 / 16 / 14
+    private static final double[] ENTER_MS = {0, 52.6, 55.6, 62.5, 71.4};
+    // 退出各等级的平均tick耗时，约对应 TPS 19.5 / 18.5 / 17 / 15
+    private static final double[] EXIT_MS = {0, 51.3, 54.1, 58.8, 66.7};
+    private static final int RECOVER_TICKS = 200;   // 连续恢复10秒才降一级
+    private static final double SMOOTHING = 0.05;   // 指数平均系数
+
+    private final Landlord plugin;
+    private final boolean enabled;
+    private double averageTickMs = 50.0;
+    private int calmTicks = 0;
+    private volatile int level = LEVEL_NORMAL;
+    private volatile double reportedTickMs = 50.0;
+
+    public LoadShedder(Landlord plugin, boolean enabled) {
+        this.plugin = plugin;
+        this.enabled = enabled;
+    }
+
+    /**
+     * 每tick由预算调度器调用，传入实测tick间隔
+     */
+    void sample(long intervalNanos) {
+        double ms = intervalNanos / 1_000_000.0;
+        averageTickMs += (Math.min(ms, 1000.0) - averageTickMs) * SMOOTHING;
+        reportedTickMs = averageTickMs;
+        if (!enabled) {
+            return;
+        }
+
+        int current = level;
+        int target = current;
+        while (target < MAX_LEVEL && averageTickMs >= ENTER_MS[target + 1]) {
+            target++;
+        }
+        if (target > current) {
+            calmTicks = 0;
+            setLevel(target);
+            return;
+        }
+
+        if (current > LEVEL_NORMAL && averageTickMs < EXIT_MS[current]) {
+            if (++calmTicks >= RECOVER_TICKS) {
+                calmTicks = 0;
+                setLevel(current - 1);
+            }
+        } else {
+            calmTicks = 0;
+        }
+    }
+
+    private void setLevel(int newLevel) {
+        int old = level;
+        level = newLevel;
+        plugin.getLogger().info(String.format("负载降级等级 %d(%s) -> %d(%s)，平均tick %.1fms",
+                old, LEVEL_NAMES[old], newLevel, LEVEL_NAMES[newLevel], averageTickMs));
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public boolean isAtLeast(int threshold) {
+        return level >= threshold;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public double getAverageTickMs() {
+        return reportedTickMs;
+    }
+
+    public static String getLevelName(int level) {
+        return LEVEL_NAMES[Math.max(0, Math.min(MAX_LEVEL, level))];
+    }
+}
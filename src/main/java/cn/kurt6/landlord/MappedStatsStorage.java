@@ -0,0 +1,499 @@
+package cn.kurt6.landlord;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * 内存映射存储：每个玩家占 stats.dat 中一个定长槽位，UUID 到槽位的开放寻址哈希表持久化在索引文件
+ * 读写只访问单个槽位，不做序列化；启动时直接映射文件，无需解析
+ * 数据文件或索引快满时，由落盘任务（I/O线程）在锁外扩容与重建，重建期间新玩家暂存在内存溢出表中
+ * 重建的索引写入新文件名（stats.N.idx，N为代数），当前代数记在数据文件头，不删除仍被映射的文件
+ */
+public class MappedStatsStorage implements StatsStorage {
+    private static final int DATA_MAGIC = 0x4C445354;  // "LDST"
+    private static final int INDEX_MAGIC = 0x4C444958; // "LDIX"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;         // magic, version, 数量/容量, 索引代数（数据文件）/已索引数量（索引文件）
+
+    // 槽位布局（64字节）
+    static final int SLOT_SIZE = 64;
+    private static final int OFF_MSB = 0;
+    private static final int OFF_LSB = 8;
+    private static final int OFF_NAME_LEN = 16;
+    private static final int OFF_NAME = 17;            // 到 OFF_PLAYED 之前共19字节
+    // 名字最多存19字节UTF-8：正版名（16个ASCII字符）完整保存，中文名最多保存6个字，超出部分按字符边界截断
+    private static final int NAME_MAX = 19;
+    private static final int OFF_PLAYED = 36;
+    private static final int OFF_WON = 40;
+    private static final int OFF_LOST = 44;
+    private static final int OFF_POINTS = 48;
+    private static final int OFF_NET_MONEY = 56;
+    private static final int GROW_SLOTS = 4096;        // 数据文件每次扩容的槽位数
+
+    // 索引项布局（24字节）：UUID高位、低位、槽位号+1（0表示空）
+    private static final int INDEX_ENTRY_SIZE = 24;
+    private static final int INITIAL_INDEX_CAPACITY = 8192;
+
+    // 重建期间暂存的新玩家
+    private static final class Pending {
+        final String name;
+        final StatsManager.PlayerStats stats;
+
+        Pending(String name, StatsManager.PlayerStats stats) {
+            this.name = name;
+            this.stats = stats;
+        }
+    }
+
+    private final File folder;
+    private final File dataFile;
+    private File indexFile;
+    private volatile MappedByteBuffer data;
+    private volatile MappedByteBuffer index;
+    private int indexGeneration;
+    private int slotCount;      // 已使用的槽位数
+    private int slotCapacity;   // 已映射的槽位数
+    private int indexCapacity;  // 哈希表容量（2的幂）
+    private boolean growing;    // 扩容任务已安排、尚未换上新映射
+    private final Map<UUID, Pending> overflow = new LinkedHashMap<>(); // 没有空位时暂存，扩容后写入槽位
+    private Map<String, Integer> nameSlots; // 名字（小写）到槽位，首次按名字查询时才建立
+    private final boolean created;
+
+    public MappedStatsStorage(File folder) throws IOException {
+        if (!folder.exists() && !folder.mkdirs()) {
+            throw new IOException("无法创建目录 " + folder);
+        }
+        this.folder = folder;
+        dataFile = new File(folder, "stats.dat");
+        created = !dataFile.exists() || dataFile.length() < HEADER_SIZE;
+
+        openData();
+        indexGeneration = data.getInt(12);
+        indexFile = indexFile(indexGeneration);
+        deleteStaleIndexes();
+        if (!openIndex()) {
+            // 启动时同步重建
+            int capacity = Math.max(INITIAL_INDEX_CAPACITY, tableSizeFor(slotCount * 2));
+            int generation = indexGeneration + 1;
+            index = buildIndex(indexFile(generation), capacity, data, slotCount);
+            indexCapacity = capacity;
+            switchIndex(generation);
+        }
+    }
+
+    /**
+     * 数据文件是否为本次新建（用于首次从 stats.yml 导入）
+     */
+    public boolean isCreated() {
+        return created;
+    }
+
+    private File indexFile(int generation) {
+        return new File(folder, generation == 0 ? "stats.idx" : "stats." + generation + ".idx");
+    }
+
+    // 上次运行时没能删除的旧索引（Windows 下映射中的文件无法删除）在启动时清理
+    private void deleteStaleIndexes() {
+        File[] files = folder.listFiles((dir, name) -> name.startsWith("stats.") && name.endsWith(".idx"));
+        if (files == null) return;
+        for (File file : files) {
+            if (!file.equals(indexFile)) {
+                file.delete();
+            }
+        }
+    }
+
+    private void openData() throws IOException {
+        if (created) {
+            slotCapacity = GROW_SLOTS;
+            data = mapData(slotCapacity);
+            data.putInt(0, DATA_MAGIC);
+            data.putInt(4, VERSION);
+            data.putInt(8, 0);
+            data.putInt(12, 0);
+            slotCount = 0;
+            return;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(dataFile, "rw");
+             FileChannel channel = raf.getChannel()) {
+            slotCapacity = (int) ((channel.size() - HEADER_SIZE) / SLOT_SIZE);
+            data = channel.map(FileChannel.MapMode.READ_WRITE, 0, dataSize(slotCapacity));
+        }
+        if (data.getInt(0) != DATA_MAGIC || data.getInt(4) != VERSION) {
+            throw new IOException("统计数据文件格式不正确: " + dataFile.getName());
+        }
+        slotCount = data.getInt(8);
+        if (slotCount < 0 || slotCount > slotCapacity) {
+            throw new IOException("统计数据文件已损坏: " + dataFile.getName());
+        }
+    }
+
+    // 同一文件的多个映射共享页缓存，新映射建立后旧映射上的写入依然可见
+    private MappedByteBuffer mapData(long slots) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(dataFile, "rw");
+             FileChannel channel = raf.getChannel()) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, dataSize(slots));
+        }
+    }
+
+    // 索引缺失或与数据文件不一致时返回false，由调用方重建
+    private boolean openIndex() throws IOException {
+        if (!indexFile.exists() || indexFile.length() < HEADER_SIZE) {
+            return false;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(indexFile, "rw");
+             FileChannel channel = raf.getChannel()) {
+            index = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        }
+        indexCapacity = index.getInt(8);
+        return index.getInt(0) == INDEX_MAGIC
+                && index.getInt(4) == VERSION
+                && Integer.bitCount(indexCapacity) == 1
+                && index.capacity() >= indexSize(indexCapacity)
+                && index.getInt(12) == slotCount;
+    }
+
+    // 按数据文件中前 count 个槽位的UUID建立新的哈希表文件（不持锁，这些槽位的UUID不会再变）
+    private static MappedByteBuffer buildIndex(File file, int capacity, MappedByteBuffer source, int count) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+             FileChannel channel = raf.getChannel()) {
+            raf.setLength(0);
+            MappedByteBuffer table = channel.map(FileChannel.MapMode.READ_WRITE, 0, indexSize(capacity));
+            table.putInt(0, INDEX_MAGIC);
+            table.putInt(4, VERSION);
+            table.putInt(8, capacity);
+            for (int slot = 0; slot < count; slot++) {
+                int base = slotOffset(slot);
+                insert(table, capacity, source.getLong(base + OFF_MSB), source.getLong(base + OFF_LSB), slot);
+            }
+            table.putInt(12, count);
+            table.force();
+            return table;
+        }
+    }
+
+    // 数据文件头记录新的索引代数；旧索引文件尽量删除，删不掉的下次启动清理
+    private void switchIndex(int generation) {
+        File old = indexFile;
+        indexGeneration = generation;
+        indexFile = indexFile(generation);
+        data.putInt(12, generation);
+        old.delete();
+    }
+
+    @Override
+    public synchronized StatsManager.PlayerStats load(UUID playerId, String playerName) {
+        int slot = find(playerId);
+        if (slot >= 0) {
+            return readStats(slot);
+        }
+        Pending pending = overflow.get(playerId);
+        return pending != null ? pending.stats.copy() : new StatsManager.PlayerStats();
+    }
+
+    // 名字索引在第一次按名字查询时扫描一次建立，之后随保存增量维护
+    @Override
+    public synchronized StatsManager.PlayerStats loadByName(String playerName) {
+        for (Pending pending : overflow.values()) {
+            if (playerName.equalsIgnoreCase(pending.name)) {
+                return pending.stats.copy();
+            }
+        }
+        if (nameSlots == null) {
+            nameSlots = new HashMap<>();
+            for (int slot = 0; slot < slotCount; slot++) {
+                nameSlots.put(readName(slot).toLowerCase(Locale.ROOT), slot);
+            }
+        }
+        Integer slot = nameSlots.get(storedName(playerName).toLowerCase(Locale.ROOT)); // 按截断后的名字查找
+        return slot != null ? readStats(slot) : new StatsManager.PlayerStats();
+    }
+
+    @Override
+    public synchronized void save(UUID playerId, String playerName, StatsManager.PlayerStats stats) {
+        int slot = find(playerId);
+        if (slot < 0) {
+            if (!hasRoom()) {
+                // 等待落盘任务扩容，不在调用线程上重映射文件
+                overflow.put(playerId, new Pending(playerName, stats.copy()));
+                return;
+            }
+            slot = allocate(playerId);
+        }
+        write(slot, playerName, stats);
+    }
+
+    @Override
+    public synchronized void forEach(BiConsumer<String, StatsManager.PlayerStats> action) {
+        for (int slot = 0; slot < slotCount; slot++) {
+            action.accept(readName(slot), readStats(slot));
+        }
+        for (Pending pending : overflow.values()) {
+            action.accept(pending.name, pending.stats.copy());
+        }
+    }
+
+    /**
+     * 同步扩容（有暂存玩家时）并强制落盘，用于导入和关闭
+     */
+    @Override
+    public void flush() {
+        Runnable grow = prepareGrowth();
+        if (grow != null) {
+            grow.run();
+        }
+        force();
+    }
+
+    /**
+     * 持锁时只判断是否需要扩容；扩容、重建索引与强制落盘都在返回的任务中（I/O线程）执行
+     */
+    @Override
+    public Runnable prepareFlush() {
+        Runnable grow = prepareGrowth();
+        return () -> {
+            if (grow != null) {
+                grow.run();
+            }
+            force();
+        };
+    }
+
+    // 映射区域的写入由操作系统回写，这里只在保存点强制落盘
+    private void force() {
+        data.force();
+        index.force();
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+
+    // 数据文件剩余不足半次扩容量、或索引负载超过0.5时安排扩容；暂存表非空时也会处理
+    private synchronized Runnable prepareGrowth() {
+        if (growing) return null;
+        int need = slotCount + overflow.size();
+        boolean growData = slotCapacity - need < GROW_SLOTS / 2;
+        boolean growIndex = need * 2 > indexCapacity;
+        if (!growData && !growIndex) {
+            drainOverflow();
+            return null;
+        }
+
+        growing = true;
+        MappedByteBuffer source = data;
+        int count = slotCount;
+        long newSlotCapacity = growData ? Math.max((long) slotCapacity + GROW_SLOTS, (long) need + GROW_SLOTS) : slotCapacity;
+        int newIndexCapacity = growIndex ? tableSizeFor(Math.max(need, 1) * 4) : indexCapacity;
+        int generation = indexGeneration + 1;
+        return () -> {
+            try {
+                if (dataSize(newSlotCapacity) > Integer.MAX_VALUE) {
+                    throw new IOException("统计数据文件已达到上限");
+                }
+                MappedByteBuffer newData = growData ? mapData(newSlotCapacity) : null;
+                MappedByteBuffer newIndex = growIndex
+                        ? buildIndex(indexFile(generation), newIndexCapacity, newData != null ? newData : source, count)
+                        : null;
+                commitGrowth(newData, (int) newSlotCapacity, newIndex, newIndexCapacity, count, generation);
+            } catch (IOException e) {
+                synchronized (this) {
+                    growing = false;
+                }
+                throw new IllegalStateException("无法扩展统计文件: " + e.getMessage(), e);
+            }
+        };
+    }
+
+    // 换上新映射；重建期间分配的槽位补进新索引，再把暂存的玩家写入槽位
+    private synchronized void commitGrowth(MappedByteBuffer newData, int newSlotCapacity,
+                                           MappedByteBuffer newIndex, int newIndexCapacity, int indexed, int generation) {
+        if (newData != null) {
+            data = newData;
+            slotCapacity = newSlotCapacity;
+        }
+        if (newIndex != null) {
+            for (int slot = indexed; slot < slotCount; slot++) {
+                int base = slotOffset(slot);
+                insert(newIndex, newIndexCapacity, data.getLong(base + OFF_MSB), data.getLong(base + OFF_LSB), slot);
+            }
+            newIndex.putInt(12, slotCount);
+            index = newIndex;
+            indexCapacity = newIndexCapacity;
+            switchIndex(generation);
+        }
+        growing = false;
+        drainOverflow();
+    }
+
+    private void drainOverflow() {
+        Iterator<Map.Entry<UUID, Pending>> it = overflow.entrySet().iterator();
+        while (it.hasNext() && hasRoom()) {
+            Map.Entry<UUID, Pending> entry = it.next();
+            write(allocate(entry.getKey()), entry.getValue().name, entry.getValue().stats);
+            it.remove();
+        }
+    }
+
+    // 还有空槽位且索引负载不超过0.75
+    private boolean hasRoom() {
+        return slotCount < slotCapacity && (slotCount + 1) * 4 <= indexCapacity * 3;
+    }
+
+    private int find(UUID playerId) {
+        long msb = playerId.getMostSignificantBits();
+        long lsb = playerId.getLeastSignificantBits();
+        int mask = indexCapacity - 1;
+        int pos = hash(msb, lsb) & mask;
+        while (true) {
+            int base = HEADER_SIZE + pos * INDEX_ENTRY_SIZE;
+            int stored = index.getInt(base + 16);
+            if (stored == 0) {
+                return -1;
+            }
+            if (index.getLong(base) == msb && index.getLong(base + 8) == lsb) {
+                return stored - 1;
+            }
+            pos = (pos + 1) & mask;
+        }
+    }
+
+    // 调用方已确认 hasRoom()
+    private int allocate(UUID playerId) {
+        int slot = slotCount;
+        int base = slotOffset(slot);
+        data.putLong(base + OFF_MSB, playerId.getMostSignificantBits());
+        data.putLong(base + OFF_LSB, playerId.getLeastSignificantBits());
+        slotCount++;
+        data.putInt(8, slotCount);
+        insert(index, indexCapacity, playerId.getMostSignificantBits(), playerId.getLeastSignificantBits(), slot);
+        index.putInt(12, slotCount);
+        return slot;
+    }
+
+    private void write(int slot, String playerName, StatsManager.PlayerStats stats) {
+        int base = slotOffset(slot);
+        String stored = writeName(base, playerName);
+        if (nameSlots != null) {
+            nameSlots.put(stored.toLowerCase(Locale.ROOT), slot);
+        }
+        data.putInt(base + OFF_PLAYED, stats.getGamesPlayed());
+        data.putInt(base + OFF_WON, stats.getGamesWon());
+        data.putInt(base + OFF_LOST, stats.getGamesLost());
+        data.putInt(base + OFF_POINTS, stats.getPoints());
+        data.putDouble(base + OFF_NET_MONEY, stats.getNetMoney());
+    }
+
+    private static void insert(ByteBuffer table, int capacity, long msb, long lsb, int slot) {
+        int mask = capacity - 1;
+        int pos = hash(msb, lsb) & mask;
+        while (table.getInt(HEADER_SIZE + pos * INDEX_ENTRY_SIZE + 16) != 0) {
+            pos = (pos + 1) & mask;
+        }
+        int base = HEADER_SIZE + pos * INDEX_ENTRY_SIZE;
+        table.putLong(base, msb);
+        table.putLong(base + 8, lsb);
+        table.putInt(base + 16, slot + 1);
+    }
+
+    private StatsManager.PlayerStats readStats(int slot) {
+        int base = slotOffset(slot);
+        return new StatsManager.PlayerStats(
+                data.getInt(base + OFF_PLAYED),
+                data.getInt(base + OFF_WON),
+                data.getInt(base + OFF_LOST),
+                data.getInt(base + OFF_POINTS),
+                data.getDouble(base + OFF_NET_MONEY)
+        );
+    }
+
+    private String readName(int slot) {
+        int base = slotOffset(slot);
+        int length = Math.min(NAME_MAX, data.get(base + OFF_NAME_LEN) & 0xFF);
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = data.get(base + OFF_NAME + i);
+        }
+        // 旧版本按字节截断的名字可能以半个字符结尾，去掉不完整的尾部
+        int end = length;
+        int lead = end - 1;
+        while (lead >= 0 && (bytes[lead] & 0xC0) == 0x80) {
+            lead--;
+        }
+        if (lead >= 0 && lead + sequenceLength(bytes[lead]) > end) {
+            end = lead;
+        }
+        return new String(bytes, 0, end, StandardCharsets.UTF_8);
+    }
+
+    // 写入名字，返回实际保存的（可能截断的）名字
+    private String writeName(int base, String playerName) {
+        String stored = storedName(playerName);
+        byte[] bytes = stored.getBytes(StandardCharsets.UTF_8);
+        data.put(base + OFF_NAME_LEN, (byte) bytes.length);
+        for (int i = 0; i < NAME_MAX; i++) {
+            data.put(base + OFF_NAME + i, i < bytes.length ? bytes[i] : 0);
+        }
+        return stored;
+    }
+
+    // 按字符边界截断到 NAME_MAX 字节以内
+    static String storedName(String playerName) {
+        int bytes = 0;
+        int i = 0;
+        while (i < playerName.length()) {
+            int codePoint = playerName.codePointAt(i);
+            int size = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (bytes + size > NAME_MAX) {
+                return playerName.substring(0, i);
+            }
+            bytes += size;
+            i += Character.charCount(codePoint);
+        }
+        return playerName;
+    }
+
+    private static int sequenceLength(byte lead) {
+        int b = lead & 0xFF;
+        return b < 0x80 ? 1 : b >= 0xF0 ? 4 : b >= 0xE0 ? 3 : b >= 0xC0 ? 2 : 1;
+    }
+
+    private static int hash(long msb, long lsb) {
+        long h = msb ^ lsb;
+        h ^= (h >>> 33);
+        h *= 0xff51afd7ed558ccdL;
+        h ^= (h >>> 33);
+        return (int) h;
+    }
+
+    private static int tableSizeFor(int n) {
+        int size = 1;
+        while (size < n) size <<= 1;
+        return size;
+    }
+
+    private static int slotOffset(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    private static long dataSize(long slots) {
+        return HEADER_SIZE + slots * SLOT_SIZE;
+    }
+
+    private static long indexSize(int capacity) {
+        return HEADER_SIZE + (long) capacity * INDEX_ENTRY_SIZE;
+    }
+}
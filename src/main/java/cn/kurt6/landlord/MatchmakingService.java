@@ -0,0 +1,219 @@
+package cn.kurt6.landlord;
+
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 快速匹配队列：按“是否金币赛 + 积分段”分桶，每个桶是按入队顺序排列的队列
+ * 入队、退出都是按玩家查表的 O(1) 操作；桶内凑满3人即从队首取出开桌，不扫描其他等待的玩家
+ * 所有方法加锁执行（命令可能来自不同区域线程），开桌本身由调用方在锁外完成
+ */
+public class MatchmakingService {
+    public static final int TABLE_SIZE = 3;
+
+    /**
+     * 一张凑满的桌子
+     */
+    public static final class Table {
+        private final boolean moneyGame;
+        private final List<Player> players;
+        private final List<Ticket> tickets; // 开桌前的排队记录，开桌失败时据此放回队首
+
+        private Table(boolean moneyGame, List<Player> players, List<Ticket> tickets) {
+            this.moneyGame = moneyGame;
+            this.players = players;
+            this.tickets = tickets;
+        }
+
+        public boolean isMoneyGame() { return moneyGame; }
+        public List<Player> getPlayers() { return players; }
+    }
+
+    private static final class Ticket {
+        final Player player;
+        final long bucket;
+        final long enqueuedAt;
+
+        Ticket(Player player, long bucket, long enqueuedAt) {
+            this.player = player;
+            this.bucket = bucket;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    private final int bandWidth; // 每个积分段的宽度
+    private final Map<Long, LinkedHashMap<UUID, Ticket>> buckets = new HashMap<>(); // 桶 -> 按入队顺序的等待玩家
+    private final Map<UUID, Ticket> tickets = new HashMap<>(); // 玩家 -> 所在桶的排队记录
+    private long tablesFormed = 0;
+    private long matchedPlayers = 0;
+    private long totalWaitMillis = 0; // 已成功匹配玩家的等待时间合计
+    private long maxWaitMillis = 0;
+
+    public MatchmakingService(int bandWidth) {
+        this.bandWidth = Math.max(1, bandWidth);
+    }
+
+    // 桶编号：积分段左移一位，最低位表示金币赛
+    private long bucketOf(boolean moneyGame, int points) {
+        long band = Math.floorDiv(points, bandWidth);
+        return (band << 1) | (moneyGame ? 1 : 0);
+    }
+
+    public int getBand(int points) {
+        return Math.floorDiv(points, bandWidth);
+    }
+
+    /**
+     * 玩家入队；所在桶凑满3人时返回开桌的玩家（已移出队列），否则返回null
+     */
+    public synchronized Table enqueue(Player player, boolean moneyGame, int points) {
+        UUID playerId = player.getUniqueId();
+        cancel(playerId); // 重新入队时以最新的积分和模式为准
+
+        long bucketId = bucketOf(moneyGame, points);
+        LinkedHashMap<UUID, Ticket> bucket = buckets.computeIfAbsent(bucketId, k -> new LinkedHashMap<>());
+        Ticket ticket = new Ticket(player, bucketId, System.currentTimeMillis());
+        bucket.put(playerId, ticket);
+        tickets.put(playerId, ticket);
+        return formTable(bucketId, moneyGame);
+    }
+
+    /**
+     * 开桌失败（有人下线或金币不足）：撤销这次开桌的统计，其余玩家按原顺序和原入队时间放回所在桶的队首
+     * 放回后桶内再次凑满3人时返回新开的桌子，否则返回null
+     */
+    public synchronized Table requeueFront(Table table, List<Player> remaining) {
+        long now = System.currentTimeMillis();
+        for (Ticket ticket : table.tickets) {
+            totalWaitMillis -= now - ticket.enqueuedAt; // 按当前时间近似撤销，误差只有开桌到此刻的几毫秒
+        }
+        totalWaitMillis = Math.max(0, totalWaitMillis);
+        tablesFormed--;
+        matchedPlayers -= table.tickets.size();
+
+        long bucketId = table.tickets.get(0).bucket;
+        LinkedHashMap<UUID, Ticket> front = new LinkedHashMap<>();
+        for (Ticket ticket : table.tickets) {
+            UUID playerId = ticket.player.getUniqueId();
+            if (remaining.contains(ticket.player) && !tickets.containsKey(playerId)) {
+                front.put(playerId, ticket);
+                tickets.put(playerId, ticket);
+            }
+        }
+        LinkedHashMap<UUID, Ticket> bucket = buckets.get(bucketId);
+        if (bucket != null) {
+            front.putAll(bucket);
+        }
+        if (front.isEmpty()) {
+            return null;
+        }
+        buckets.put(bucketId, front);
+        return formTable(bucketId, table.moneyGame);
+    }
+
+    // 桶内凑满3人时从队首取出开桌
+    private Table formTable(long bucketId, boolean moneyGame) {
+        LinkedHashMap<UUID, Ticket> bucket = buckets.get(bucketId);
+        if (bucket == null || bucket.size() < TABLE_SIZE) {
+            return null;
+        }
+
+        long now = System.currentTimeMillis();
+        List<Player> seated = new ArrayList<>(TABLE_SIZE);
+        List<Ticket> taken = new ArrayList<>(TABLE_SIZE);
+        Iterator<Ticket> it = bucket.values().iterator();
+        while (seated.size() < TABLE_SIZE) {
+            Ticket next = it.next();
+            it.remove();
+            tickets.remove(next.player.getUniqueId());
+            seated.add(next.player);
+            taken.add(next);
+
+            long waited = now - next.enqueuedAt;
+            totalWaitMillis += waited;
+            maxWaitMillis = Math.max(maxWaitMillis, waited);
+        }
+        if (bucket.isEmpty()) {
+            buckets.remove(bucketId);
+        }
+        tablesFormed++;
+        matchedPlayers += TABLE_SIZE;
+        return new Table(moneyGame, seated, taken);
+    }
+
+    /**
+     * 退出匹配（主动取消、进入其他房间或下线），返回玩家之前是否在队列中
+     */
+    public synchronized boolean cancel(UUID playerId) {
+        Ticket ticket = tickets.remove(playerId);
+        if (ticket == null) return false;
+        LinkedHashMap<UUID, Ticket> bucket = buckets.get(ticket.bucket);
+        if (bucket != null) {
+            bucket.remove(playerId);
+            if (bucket.isEmpty()) {
+                buckets.remove(ticket.bucket);
+            }
+        }
+        return true;
+    }
+
+    public synchronized boolean isQueued(UUID playerId) {
+        return tickets.containsKey(playerId);
+    }
+
+    /**
+     * 玩家所在桶当前的等待人数（含自己），不在队列中时返回0
+     */
+    public synchronized int getBucketSize(UUID playerId) {
+        Ticket ticket = tickets.get(playerId);
+        if (ticket == null) return 0;
+        LinkedHashMap<UUID, Ticket> bucket = buckets.get(ticket.bucket);
+        return bucket != null ? bucket.size() : 0;
+    }
+
+    public synchronized void clear() {
+        buckets.clear();
+        tickets.clear();
+    }
+
+    // 统计信息（/ddz perf）
+    public synchronized int getQueueDepth() {
+        return tickets.size();
+    }
+
+    public synchronized int getBucketCount() {
+        return buckets.size();
+    }
+
+    public synchronized long getTablesFormed() {
+        return tablesFormed;
+    }
+
+    public synchronized double getAverageWaitMillis() {
+        return matchedPlayers == 0 ? 0 : (double) totalWaitMillis / matchedPlayers;
+    }
+
+    public synchronized long getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+    /**
+     * 当前排队最久的玩家已等待的时间；每个桶的队首就是桶内最早入队的玩家，只需查看各桶队首
+     */
+    public synchronized long getOldestWaitMillis() {
+        long now = System.currentTimeMillis();
+        long oldest = 0;
+        for (LinkedHashMap<UUID, Ticket> bucket : buckets.values()) {
+            Ticket head = bucket.values().iterator().next();
+            oldest = Math.max(oldest, now - head.enqueuedAt);
+        }
+        return oldest;
+    }
+}
@@ -0,0 +1,102 @@
+package cn.kurt6.landlord;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.function.Consumer;
+
+/**
+ * 插件所有界面的持有者：记录界面类型、所属房间以及每个格子的点击动作
+ * GuiListener 只需一次 instanceof 判断加数组查表即可分发，不依赖标题文字，也不会误判其他插件的界面
+ */
+public class MenuHolder implements InventoryHolder {
+
+    public enum Type {
+        MAIN_MENU(true),
+        ROOM_LIST(true),
+        CONFIRM_SWITCH(true),
+        CARD_SELECTION(false),
+        BIDDING(false);
+
+        private final boolean throttled; // 是否限制点击频率
+
+        Type(boolean throttled) {
+            this.throttled = throttled;
+        }
+
+        public boolean isThrottled() {
+            return throttled;
+        }
+    }
+
+    /**
+     * 格子点击动作
+     */
+    @FunctionalInterface
+    public interface Action {
+        void click(Player player, InventoryClickEvent event);
+    }
+
+    private final Type type;
+    private final GameRoom room;
+    private final Action[] actions;
+    private final Inventory inventory;
+    private Consumer<Player> closeHandler;
+
+    /**
+     * @param room 所属房间，非房间界面为null
+     */
+    public MenuHolder(Type type, GameRoom room, int size, String title) {
+        this.type = type;
+        this.room = room;
+        this.actions = new Action[size];
+        this.inventory = Bukkit.createInventory(this, size, title);
+    }
+
+    /**
+     * 放置物品并绑定点击动作（action为null表示仅展示）
+     */
+    public void setItem(int slot, ItemStack item, Action action) {
+        inventory.setItem(slot, item);
+        actions[slot] = action;
+    }
+
+    public void setAction(int slot, Action action) {
+        actions[slot] = action;
+    }
+
+    public void onClose(Consumer<Player> handler) {
+        this.closeHandler = handler;
+    }
+
+    void click(Player player, int slot, InventoryClickEvent event) {
+        if (slot < 0 || slot >= actions.length) return;
+        Action action = actions[slot];
+        if (action != null) {
+            action.click(player, event);
+        }
+    }
+
+    void close(Player player) {
+        if (closeHandler != null) {
+            closeHandler.accept(player);
+        }
+    }
+
+    @Override
+    public Inventory getInventory() {
+        return inventory;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public GameRoom getRoom() {
+        return room;
+    }
+}
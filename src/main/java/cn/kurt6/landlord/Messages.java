@@ -0,0 +1,262 @@
+package cn.kurt6.landlord;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.JoinConfiguration;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 聊天消息组件：固定文本、按钮、牌面与牌型名称都在类加载时构建一次，之后直接拼接发送
+ * Adventure 组件不可变，可在多个玩家和线程间共用
+ */
+public final class Messages {
+    public static final Component BLANK = Component.text(" ");
+
+    // 准备按钮与托管提示
+    public static final Component READY_BUTTON = Component.text("【准备/取消准备】", NamedTextColor.GREEN, TextDecoration.BOLD)
+            .clickEvent(ClickEvent.runCommand("/landlord ready"))
+            .hoverEvent(HoverEvent.showText(Component.text("点击切换准备状态", NamedTextColor.YELLOW)));
+    public static final Component AUTO_PLAY_ON = Component.textOfChildren(
+            Component.text("可输入/landlord_action auto 取消托管", NamedTextColor.YELLOW),
+            Component.text("【点击取消托管】", NamedTextColor.RED)
+                    .clickEvent(ClickEvent.runCommand("/landlord_action auto"))
+                    .hoverEvent(HoverEvent.showText(Component.text("点击取消托管模式"))));
+    public static final Component AUTO_PLAY_ACTIVE = Component.join(JoinConfiguration.newlines(),
+            Component.text("可输入/landlord_action auto 退出托管", NamedTextColor.RED),
+            Component.text("【取消托管】", NamedTextColor.RED)
+                    .clickEvent(ClickEvent.runCommand("/landlord_action auto"))
+                    .hoverEvent(HoverEvent.showText(Component.text("点击取消托管"))));
+
+    // 对局播报的固定片段
+    private static final Component HAND_PREFIX = Component.text("你的手牌: ");
+    private static final Component PLAYED = Component.text(" 出了 ");
+    private static final Component COLON = Component.text(": ");
+    private static final Component PASSED = Component.text(" 选择过牌");
+    private static final Component NO_BID = Component.text(" 不叫");
+    private static final Component PLEASE = Component.text("请 ");
+    private static final Component PLAY_NOW = Component.text(" 出牌！");
+    private static final Component[] BIDS = new Component[4];
+    private static final Component[] CARDS = new Component[54];
+    private static final Map<GameLogic.CardType, Component> PATTERNS = new EnumMap<>(GameLogic.CardType.class);
+    private static final Map<String, Component> PROMPTS = new ConcurrentHashMap<>(); // 倒计时提示按秒数缓存
+    private static final Component JOINED = Component.text(" 加入了房间！");
+    private static final Component LEFT = Component.text(" 离开了房间！");
+    private static final Component NEW_OWNER = Component.text(" 成为了新房主！");
+    private static final Component DISCONNECTED = Component.text(" 掉线了，已自动托管！");
+    private static final Component OFFLINE_AUTO = Component.text(" 已掉线，自动托管！");
+    private static final Component OFFLINE_SKIP_BID = Component.text(" 已离线，自动跳过叫分");
+    private static final Component READY = Component.text(" 已准备", NamedTextColor.GREEN);
+    private static final Component NOT_READY = Component.text(" 未准备", NamedTextColor.RED);
+    private static final Component SHORT_OF_STAKE = Component.text(" 金币不足，无法支付全部赌注！");
+    private static final Component JOIN_SUCCESS = Component.text("成功加入房间: ");
+    private static final Component LANDLORD_CARDS = Component.text("地主牌: ");
+    private static final Component[] LANDLORD_BY_BID = new Component[4];
+
+    // 房间与出牌界面的固定提示
+    public static final Component ROOM_CLOSED = Component.text("房间已关闭！", NamedTextColor.RED);
+    public static final Component JOIN_STARTED = Component.text("游戏进行中，无法加入房间！", NamedTextColor.RED);
+    public static final Component JOIN_FULL = Component.text("房间已满！", NamedTextColor.RED);
+    public static final Component ROOM_FULL = Component.text("房间已满！所有玩家准备后即可开始游戏！", NamedTextColor.YELLOW);
+    public static final Component CANNOT_LEAVE = Component.text("游戏进行中，无法主动离开房间！", NamedTextColor.RED);
+    public static final Component CANNOT_TOGGLE_READY = Component.text("游戏已开始，无法切换准备状态！", NamedTextColor.RED);
+    public static final Component GAME_START = Component.text("游戏开始！进入叫分阶段！", NamedTextColor.GOLD);
+    public static final Component BID_RULES = Component.text("叫分规则：可以叫1分、2分、3分或不叫，后叫分者必须比前面的分数高", NamedTextColor.YELLOW);
+    public static final Component NO_BIDS = Component.text("无人叫分，重新发牌！", NamedTextColor.RED);
+    public static final Component BID_TIMEOUT = Component.text("时间到！自动选择不叫", NamedTextColor.RED);
+    public static final Component BID_TOO_LOW = Component.text("叫分必须高于当前最高分！", NamedTextColor.RED);
+    public static final Component NOT_YOUR_TURN = Component.text("还没轮到你！", NamedTextColor.RED);
+    public static final Component NOT_YOUR_PLAY = Component.text("还没轮到你出牌！", NamedTextColor.RED);
+    public static final Component CLICK_TO_SELECT = Component.text("请点击手牌选择要出的牌！", NamedTextColor.YELLOW);
+    public static final Component USE_SELECT_BUTTON = Component.text("请点击【选择出牌】按钮选择要出的牌！", NamedTextColor.YELLOW);
+    public static final Component SELECT_FIRST = Component.text("请先选择要出的牌！", NamedTextColor.RED);
+    public static final Component INVALID_PATTERN = Component.text("无效的牌型！请重新选择", NamedTextColor.RED);
+    public static final Component CHOOSE_VALID_PATTERN = Component.text("请选择有效牌型！", NamedTextColor.RED);
+    public static final Component CANNOT_BEAT = Component.text("无法压过上家的牌！请重新选择或选择过牌", NamedTextColor.RED);
+    public static final Component CANNOT_BEAT_GUI = Component.text("无法压过上家的牌！请重新选择", NamedTextColor.RED);
+    public static final Component FIRST_ROUND_NO_PASS = Component.text("第一轮不能过牌！", NamedTextColor.RED);
+    public static final Component FIRST_ROUND_MUST_PLAY = Component.text("第一轮必须出牌，不能直接过牌！", NamedTextColor.RED);
+    public static final Component SELECTION_CLEARED = Component.text("已清空选择", NamedTextColor.YELLOW);
+    public static final Component NOTHING_SELECTED = Component.text("当前没有选中的牌", NamedTextColor.YELLOW);
+    public static final Component ALL_CLEARED = Component.text("已清空所有选择", NamedTextColor.YELLOW);
+    public static final Component AUTO_ENABLED = Component.text("已开启托管", NamedTextColor.YELLOW);
+    public static final Component AUTO_ENABLED_SYSTEM = Component.text("已开启托管，系统将自动出牌", NamedTextColor.YELLOW);
+    public static final Component AUTO_DISABLED = Component.text("已取消托管", NamedTextColor.YELLOW);
+    public static final Component AUTO_MODE_ON = Component.text("已开启托管模式", NamedTextColor.YELLOW);
+    public static final Component AUTO_MODE_OFF = Component.text("已取消托管模式", NamedTextColor.YELLOW);
+    public static final Component AUTO_PLAYING = Component.text("你处于托管状态，系统将自动出牌", NamedTextColor.YELLOW);
+    public static final Component AUTO_CANCELLED = Component.text("你的托管状态已自动取消", NamedTextColor.YELLOW);
+    public static final Component TURN_TIMEOUT = Component.text("时间到！已自动托管", NamedTextColor.RED);
+    public static final Component SETTLEMENT = Component.text("=== 本局积分结算 ===", NamedTextColor.GOLD);
+    public static final Component GAME_OVER = Component.text("=== 游戏结束 ===", NamedTextColor.GOLD);
+    public static final Component ACTIONS_HEADER = Component.text("=== 游戏操作 ===", NamedTextColor.AQUA);
+    public static final Component READY_HINT = Component.text("输入/ddz ready 准备/取消准备", NamedTextColor.GREEN);
+    public static final Component MONEY_OWNER_ONLY = Component.text("只有房主可以设置金币赛！", NamedTextColor.RED);
+    public static final Component MONEY_LOCKED = Component.text("游戏已经开始，无法修改金币赛设置！", NamedTextColor.RED);
+    public static final Component MONEY_UNAVAILABLE = Component.text("金币赛功能未启用或Vault经济系统不可用！", NamedTextColor.RED);
+    public static final Component MONEY_SOME_SHORT = Component.text("已开启金币赛，但有些玩家金币不足！", NamedTextColor.YELLOW);
+    public static final Component ECONOMY_UNAVAILABLE = Component.text("经济系统不可用，无法处理金币奖励！", NamedTextColor.RED);
+    public static final Component PAYMENT_SHORT = Component.text("你的金币不足，无法完成支付！", NamedTextColor.RED);
+
+    // 回放控制按钮
+    public static final Component REPLAY_CONTROLS = Component.join(JoinConfiguration.spaces(),
+            button("【暂停】", "/ddz replay pause", "暂停回放"),
+            button("【继续】", "/ddz replay resume", "继续回放"),
+            button("【单步】", "/ddz replay step", "暂停并前进一步"),
+            button("【加速】", "/ddz replay faster", "提高回放速度"),
+            button("【减速】", "/ddz replay slower", "降低回放速度"),
+            button("【退出】", "/ddz replay stop", "退出回放"));
+
+    // 帮助信息
+    public static final Component HELP = Component.join(JoinConfiguration.newlines(),
+            Component.text("=== 斗地主游戏帮助 ===", NamedTextColor.GOLD),
+            help("/ddz - 打开主菜单GUI", "点击打开主菜单GUI", ClickEvent.suggestCommand("/ddz ")),
+            help("/ddz create <房间号 可选> - 创建房间", "点击自动输入创建命令\n房间号规则: 字母/数字/_-，长度3-16",
+                    ClickEvent.suggestCommand("/ddz create ")),
+            help("/ddz join <房间号> - 加入房间", "点击自动输入加入命令\nTab键可补全现有房间号",
+                    ClickEvent.suggestCommand("/ddz join ")),
+            help("/ddz quick [money] - 快速匹配", "点击开始快速匹配，凑满3人自动开局\n按积分段匹配，再次输入取消排队",
+                    ClickEvent.runCommand("/ddz quick")),
+            help("/ddz leave - 离开房间", "点击立即执行离开房间命令", ClickEvent.runCommand("/ddz leave")),
+            help("/ddz ready - 准备/取消准备", "点击立即切换准备状态", ClickEvent.runCommand("/ddz ready")),
+            help("/ddz list - 打开房间列表GUI", "点击立即查看所有可用房间", ClickEvent.runCommand("/ddz list")),
+            help("/ddz stats - 查看个人统计", "点击查看你的游戏统计数据", ClickEvent.runCommand("/ddz stats")),
+            help("/ddz top [day|week|season] [指标] - 查看排行榜", "点击查看前10名玩家\n可指定数量如/ddz top 5\n时间窗口榜如/ddz top week wins",
+                    ClickEvent.suggestCommand("/ddz top 10")));
+    public static final Component HELP_MONEY = help("/ddz money - 房主开关金币赛", "点击切换金币赛模式\n需要Vault经济系统支持",
+            ClickEvent.runCommand("/ddz money"));
+    public static final Component HELP_REPLAY = help("/ddz replay [对局编号] - 回放历史对局",
+            "点击查看最近参与的对局\n可用 pause/resume/step/faster/slower/stop 控制回放", ClickEvent.runCommand("/ddz replay"));
+    public static final Component HELP_PERF = help("/ddz perf - 查看性能与降级状态（管理员）",
+            "查看平均tick、当前降级等级与延后任务", ClickEvent.runCommand("/ddz perf"));
+
+    static {
+        for (int index = 0; index < 54; index++) {
+            CARDS[index] = Component.text(Card.fromIndex(index).toString());
+        }
+        for (GameLogic.CardType type : GameLogic.CardType.values()) {
+            PATTERNS.put(type, Component.text(GameRoom.getPatternName(type)));
+        }
+        for (int score = 1; score <= 3; score++) {
+            BIDS[score] = Component.text(" 叫了 " + score + " 分！");
+            LANDLORD_BY_BID[score] = Component.text(" 成为地主！叫分: " + score + " 分");
+        }
+    }
+
+    private Messages() {
+    }
+
+    private static Component button(String text, String command, String hover) {
+        return Component.text(text, NamedTextColor.YELLOW)
+                .clickEvent(ClickEvent.runCommand(command))
+                .hoverEvent(HoverEvent.showText(Component.text(hover, NamedTextColor.GRAY)));
+    }
+
+    private static Component help(String text, String hover, ClickEvent click) {
+        return Component.text(text, NamedTextColor.YELLOW)
+                .clickEvent(click)
+                .hoverEvent(HoverEvent.showText(Component.text(hover, NamedTextColor.GRAY)));
+    }
+
+    public static Component card(Card card) {
+        return CARDS[card.getIndex()];
+    }
+
+    public static Component pattern(GameLogic.CardType type) {
+        return PATTERNS.get(type);
+    }
+
+    public static Component cards(List<Card> cards) {
+        List<Component> parts = new ArrayList<>(cards.size());
+        for (Card card : cards) {
+            parts.add(card(card));
+        }
+        return Component.join(JoinConfiguration.spaces(), parts);
+    }
+
+    public static Component hand(List<Card> cards) {
+        return Component.textOfChildren(HAND_PREFIX, cards(cards)).color(NamedTextColor.GREEN);
+    }
+
+    public static Component played(Component player, GameLogic.CardType type, List<Card> cards) {
+        return Component.textOfChildren(player, PLAYED, pattern(type), COLON, cards(cards)).color(NamedTextColor.GREEN);
+    }
+
+    public static Component passed(Component player) {
+        return Component.textOfChildren(player, PASSED).color(NamedTextColor.GRAY);
+    }
+
+    public static Component bid(Component player, int score) {
+        return Component.textOfChildren(player, BIDS[score]).color(NamedTextColor.GREEN);
+    }
+
+    public static Component noBid(Component player) {
+        return Component.textOfChildren(player, NO_BID).color(NamedTextColor.GRAY);
+    }
+
+    public static Component playNow(Component player) {
+        return Component.textOfChildren(PLEASE, player, PLAY_NOW).color(NamedTextColor.YELLOW);
+    }
+
+    public static Component joined(Component player) {
+        return Component.textOfChildren(player, JOINED).color(NamedTextColor.GREEN);
+    }
+
+    public static Component left(Component player) {
+        return Component.textOfChildren(player, LEFT).color(NamedTextColor.RED);
+    }
+
+    public static Component newOwner(Component player) {
+        return Component.textOfChildren(player, NEW_OWNER).color(NamedTextColor.YELLOW);
+    }
+
+    public static Component disconnected(Component player) {
+        return Component.textOfChildren(player, DISCONNECTED).color(NamedTextColor.RED);
+    }
+
+    public static Component offlineAuto(Component player) {
+        return Component.textOfChildren(player, OFFLINE_AUTO).color(NamedTextColor.RED);
+    }
+
+    public static Component offlineSkipBid(Component player) {
+        return Component.textOfChildren(player, OFFLINE_SKIP_BID).color(NamedTextColor.RED);
+    }
+
+    public static Component readyState(Component player, boolean ready) {
+        return Component.textOfChildren(player, ready ? READY : NOT_READY).color(NamedTextColor.YELLOW);
+    }
+
+    public static Component shortOfStake(Component player) {
+        return Component.textOfChildren(player, SHORT_OF_STAKE).color(NamedTextColor.RED);
+    }
+
+    public static Component becameLandlord(Component player, int bidScore) {
+        Component suffix = bidScore >= 1 && bidScore <= 3 ? LANDLORD_BY_BID[bidScore]
+                : Component.text(" 成为地主！叫分: " + bidScore + " 分");
+        return Component.textOfChildren(player, suffix).color(NamedTextColor.GOLD);
+    }
+
+    public static Component joinSuccess(String roomId) {
+        return Component.textOfChildren(JOIN_SUCCESS, Component.text(roomId)).color(NamedTextColor.GREEN);
+    }
+
+    public static Component landlordCards(List<Card> cards) {
+        return Component.textOfChildren(LANDLORD_CARDS, cards(cards)).color(NamedTextColor.GOLD);
+    }
+
+    /**
+     * “请 XX 在 N 秒内出牌/叫分！”，后半句按秒数缓存
+     */
+    public static Component countdown(Component player, int seconds, String action) {
+        Component suffix = PROMPTS.computeIfAbsent(seconds + action,
+                k -> Component.text(" 在 " + seconds + " 秒内" + action + "！"));
+        return Component.textOfChildren(PLEASE, player, suffix).color(NamedTextColor.YELLOW);
+    }
+}
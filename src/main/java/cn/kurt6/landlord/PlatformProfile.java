@@ -0,0 +1,68 @@
+package cn.kurt6.landlord;
+
+import org.bukkit.Bukkit;
+
+/**
+ * 运行平台信息：插件启用时检测一次，之后只读
+ * 调度与界面渲染方式都据此决定，热路径上不再反射探测
+ */
+public final class PlatformProfile {
+
+    /**
+     * 房间信息的展示方式
+     */
+    public enum ScoreboardMode {
+        SIDEBAR,  // 右侧计分板（仅 Paper）
+        BOSSBAR   // 计分板禁用或 Folia 核心时用 BossBar 代替
+    }
+
+    private final boolean folia;
+    private final boolean vaultPresent;
+    private final ScoreboardMode scoreboardMode;
+
+    private PlatformProfile(boolean folia, boolean vaultPresent, ScoreboardMode scoreboardMode) {
+        this.folia = folia;
+        this.vaultPresent = vaultPresent;
+        this.scoreboardMode = scoreboardMode;
+    }
+
+    public static PlatformProfile detect(boolean scoreboardEnabled) {
+        boolean folia = classExists("io.papermc.paper.threadedregions.RegionizedServer");
+        boolean vault = Bukkit.getPluginManager().getPlugin("Vault") != null;
+        // Folia 下计分板无法安全地跨线程设置，统一改用 BossBar
+        ScoreboardMode mode = scoreboardEnabled && !folia ? ScoreboardMode.SIDEBAR : ScoreboardMode.BOSSBAR;
+        return new PlatformProfile(folia, vault, mode);
+    }
+
+    private static boolean classExists(String name) {
+        try {
+            Class.forName(name);
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    public boolean isFolia() {
+        return folia;
+    }
+
+    public boolean hasVault() {
+        return vaultPresent;
+    }
+
+    public ScoreboardMode getScoreboardMode() {
+        return scoreboardMode;
+    }
+
+    public boolean usesSidebar() {
+        return scoreboardMode == ScoreboardMode.SIDEBAR;
+    }
+
+    @Override
+    public String toString() {
+        return (folia ? "Folia" : "Paper") + "，" +
+                (usesSidebar() ? "计分板" : "BossBar") + "显示房间信息，" +
+                (vaultPresent ? "已检测到Vault" : "未检测到Vault");
+    }
+}
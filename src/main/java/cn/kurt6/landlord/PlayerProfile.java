@@ -0,0 +1,84 @@
+package cn.kurt6.landlord;
+
+import java.util.UUID;
+
+/**
+ * 玩家会话档案：玩家在线期间缓存的统计数据与余额快照
+ * 由 ProfileManager 在异步线程中加载，游戏线程只读内存
+ */
+public class PlayerProfile {
+    private final UUID playerId;
+    private final String playerName;
+    private volatile StatsManager.PlayerStats stats;
+    private long statsVersion = 0; // 每次写入统计加一，异步加载据此判断读到的数据是否已过时
+    private volatile double balance;
+    private volatile long balanceUpdatedAt; // 余额快照时间
+    private volatile boolean loaded = false;
+
+    public PlayerProfile(UUID playerId, String playerName) {
+        this.playerId = playerId;
+        this.playerName = playerName;
+    }
+
+    public UUID getPlayerId() {
+        return playerId;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    void markLoaded() {
+        this.loaded = true;
+    }
+
+    /**
+     * 获取统计数据副本（避免多线程共享可变对象）
+     */
+    public StatsManager.PlayerStats getStats() {
+        StatsManager.PlayerStats current = stats;
+        return current != null ? current.copy() : null;
+    }
+
+    synchronized long getStatsVersion() {
+        return statsVersion;
+    }
+
+    synchronized void setStats(StatsManager.PlayerStats stats) {
+        this.stats = stats != null ? stats.copy() : null;
+        statsVersion++;
+    }
+
+    /**
+     * 异步加载完成时写入统计；加载期间已有新的保存则保留保存的数据，返回false
+     */
+    synchronized boolean setLoadedStats(long expectedVersion, StatsManager.PlayerStats stats) {
+        if (statsVersion != expectedVersion) {
+            return false;
+        }
+        setStats(stats);
+        return true;
+    }
+
+    public double getBalance() {
+        return balance;
+    }
+
+    public long getBalanceUpdatedAt() {
+        return balanceUpdatedAt;
+    }
+
+    void setBalance(double balance) {
+        this.balance = balance;
+        this.balanceUpdatedAt = System.currentTimeMillis();
+    }
+
+    // 结算后先在本地调整余额，异步刷新后再以经济插件为准
+    void adjustBalance(double delta) {
+        setBalance(balance + delta);
+    }
+}
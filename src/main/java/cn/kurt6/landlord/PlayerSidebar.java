@@ -0,0 +1,74 @@
+package cn.kurt6.landlord;
+
+import org.bukkit.ChatColor;
+import org.bukkit.entity.Player;
+import org.bukkit.scoreboard.DisplaySlot;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.ScoreboardManager;
+import org.bukkit.scoreboard.Team;
+
+import java.util.List;
+
+/**
+ * 单个玩家的右侧计分板：计分板、目标与每行的队伍只创建一次
+ * 每行是一个固定的不可见条目，文字放在队伍前缀里；更新时只改动与上次不同的行，分数不再反复增删
+ */
+public class PlayerSidebar {
+    public static final int MAX_LINES = 15; // 侧边栏最多显示15行
+
+    private final Scoreboard scoreboard;
+    private final Objective objective;
+    private final Team[] teams = new Team[MAX_LINES];
+    private final String[] entries = new String[MAX_LINES];
+    private final String[] shown = new String[MAX_LINES]; // 上次显示的内容，null表示该行隐藏
+    private long renderedVersion = -1; // 上次渲染的房间快照版本
+
+    public PlayerSidebar(ScoreboardManager manager, String title) {
+        scoreboard = manager.getNewScoreboard();
+        objective = scoreboard.registerNewObjective("landlord", "dummy", title);
+        objective.setDisplaySlot(DisplaySlot.SIDEBAR);
+
+        ChatColor[] colors = ChatColor.values();
+        for (int i = 0; i < MAX_LINES; i++) {
+            // 颜色代码组合成互不相同且不可见的条目名
+            entries[i] = colors[i].toString() + ChatColor.RESET;
+            teams[i] = scoreboard.registerNewTeam("line" + i);
+            teams[i].addEntry(entries[i]);
+        }
+    }
+
+    /**
+     * 显示房间快照，版本未变时跳过；只更新变化的行
+     */
+    public void update(Player player, RoomView view) {
+        if (view.getVersion() == renderedVersion && player.getScoreboard() == scoreboard) {
+            return;
+        }
+        renderedVersion = view.getVersion();
+
+        List<String> lines = view.getSidebarLines();
+        int count = Math.min(lines.size(), MAX_LINES);
+        for (int i = 0; i < MAX_LINES; i++) {
+            String text = i < count ? lines.get(i) : null;
+            if (text == null ? shown[i] == null : text.equals(shown[i])) {
+                continue;
+            }
+
+            if (text == null) {
+                scoreboard.resetScores(entries[i]);
+            } else {
+                teams[i].setPrefix(text);
+                if (shown[i] == null) {
+                    objective.getScore(entries[i]).setScore(MAX_LINES - i); // 分数决定行的顺序
+                }
+            }
+            shown[i] = text;
+        }
+
+        // 其他插件可能替换了玩家的计分板
+        if (player.getScoreboard() != scoreboard) {
+            player.setScoreboard(scoreboard);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package cn.kurt6.landlord;
+
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 玩家档案管理：进服时异步预加载统计与余额，游戏内交互只读内存
+ */
+public class ProfileManager {
+    private final Landlord plugin;
+    private final Map<UUID, PlayerProfile> profiles = new ConcurrentHashMap<>();
+
+    public ProfileManager(Landlord plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * 异步加载玩家档案（统计数据 + 余额快照）
+     * 统计读取失败时缓存留空、读取统计时回退到存储；余额没能加载时移除档案，下次读取余额时重新加载
+     */
+    public void load(Player player) {
+        PlayerProfile profile = new PlayerProfile(player.getUniqueId(), player.getName());
+        profiles.put(player.getUniqueId(), profile);
+
+        boolean submitted = plugin.getIoExecutor().submit("profile-load", () -> {
+            try {
+                // 先记下版本再读存储，读取期间的保存会让这次读到的数据作废
+                long version = profile.getStatsVersion();
+                StatsManager.PlayerStats stats = plugin.getStatsManager().getPlayerStats(profile.getPlayerId(), profile.getPlayerName());
+                profile.setLoadedStats(version, stats);
+            } catch (Exception e) {
+                plugin.getLogger().warning("加载玩家统计失败 " + profile.getPlayerName() + ": " + e.getMessage());
+            }
+            try {
+                profile.setBalance(plugin.fetchPlayerBalance(player));
+                profile.markLoaded();
+            } catch (Exception e) {
+                profiles.remove(profile.getPlayerId(), profile);
+                plugin.getLogger().warning("加载玩家余额失败 " + profile.getPlayerName() + ": " + e.getMessage());
+            }
+        });
+        if (!submitted) {
+            profiles.remove(profile.getPlayerId(), profile); // I/O队列已满，下次读取时重试
+        }
+    }
+
+    public void unload(UUID playerId) {
+        profiles.remove(playerId);
+    }
+
+    public PlayerProfile getProfile(UUID playerId) {
+        return profiles.get(playerId);
+    }
+
+    /**
+     * 获取玩家余额：已加载则直接读缓存，否则回退到同步查询并补加载档案
+     */
+    public double getBalance(Player player) {
+        PlayerProfile profile = profiles.get(player.getUniqueId());
+        if (profile != null && profile.isLoaded()) {
+            return profile.getBalance();
+        }
+        if (profile == null && player.isOnline()) {
+            load(player);
+        }
+        return plugin.fetchPlayerBalance(player);
+    }
+
+    /**
+     * 获取玩家统计副本：已加载则读缓存，否则从存储读取
+     */
+    public StatsManager.PlayerStats getStats(Player player) {
+        PlayerProfile profile = profiles.get(player.getUniqueId());
+        if (profile != null && profile.isLoaded()) {
+            StatsManager.PlayerStats stats = profile.getStats();
+            if (stats != null) {
+                return stats;
+            }
+        }
+        return plugin.getStatsManager().getPlayerStats(player.getUniqueId(), player.getName());
+    }
+
+    /**
+     * 更新玩家统计：同时刷新缓存与存储
+     */
+    public void saveStats(Player player, StatsManager.PlayerStats stats) {
+        PlayerProfile profile = profiles.get(player.getUniqueId());
+        if (profile != null) {
+            profile.setStats(stats);
+        }
+        plugin.getStatsManager().updatePlayerStats(player.getUniqueId(), player.getName(), stats);
+    }
+
+    /**
+     * 结算后本地调整余额快照
+     */
+    public void adjustBalance(Player player, double delta) {
+        PlayerProfile profile = profiles.get(player.getUniqueId());
+        if (profile != null && profile.isLoaded()) {
+            profile.adjustBalance(delta);
+        }
+    }
+
+    /**
+     * 结算后异步从经济插件刷新余额
+     */
+    public void refreshBalance(Player player) {
+        PlayerProfile profile = profiles.get(player.getUniqueId());
+        if (profile == null) {
+            return;
+        }
+        plugin.getIoExecutor().submit("balance-refresh", "balance:" + profile.getPlayerId(), () -> {
+            try {
+                profile.setBalance(plugin.fetchPlayerBalance(player));
+            } catch (Exception e) {
+                plugin.getLogger().warning("刷新玩家余额失败 " + profile.getPlayerName() + ": " + e.getMessage());
+            }
+        });
+    }
+}
@@ -0,0 +1,110 @@
+package cn.kurt6.landlord;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * 回放归档读取：索引文件以内存映射方式按需读取，只加载目标对局所在的数据块
+ * 读取涉及磁盘，必须在异步线程中调用
+ */
+public class ReplayArchive {
+    private final ReplayRecorder recorder;
+    private MappedByteBuffer index; // 索引文件的只读映射
+    private long mappedSize = 0;
+
+    public ReplayArchive(ReplayRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * 读取并解码一局记录，不存在时返回null
+     */
+    public synchronized GameRecord read(long gameId) throws IOException {
+        if (gameId <= 0) {
+            return null;
+        }
+        long position = (gameId - 1) * ReplayRecorder.ENTRY_SIZE;
+        if (!ensureMapped(position + ReplayRecorder.ENTRY_SIZE)) {
+            return null;
+        }
+
+        int base = (int) position;
+        if (index.getLong(base) != gameId) {
+            return null; // 空位或尚未写入
+        }
+        int fileNo = index.getInt(base + 8);
+        long offset = index.getLong(base + 12);
+        int length = index.getInt(base + 20);
+
+        byte[] block = new byte[length];
+        try (RandomAccessFile raf = new RandomAccessFile(recorder.dataFile(fileNo), "r")) {
+            raf.seek(offset);
+            raf.readFully(block);
+        }
+        return GameRecordCodec.decode(inflate(block));
+    }
+
+    // 索引增长后重新映射（只映射到当前文件大小）
+    private boolean ensureMapped(long required) throws IOException {
+        if (index != null && required <= mappedSize) {
+            return true;
+        }
+        File indexFile = recorder.getIndexFile();
+        if (!indexFile.exists()) {
+            return false;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(indexFile, "r");
+             FileChannel channel = raf.getChannel()) {
+            long size = channel.size();
+            if (required > size || size > Integer.MAX_VALUE) {
+                return false;
+            }
+            index = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            mappedSize = size;
+        }
+        return true;
+    }
+
+    // [原始长度varint][deflate数据]
+    private byte[] inflate(byte[] block) throws IOException {
+        int rawLength = 0;
+        int shift = 0;
+        int pos = 0;
+        while (true) {
+            if (pos >= block.length) {
+                throw new IOException("回放数据块已损坏");
+            }
+            byte b = block[pos++];
+            rawLength |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) break;
+            shift += 7;
+        }
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(block, pos, block.length - pos);
+            byte[] raw = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(raw, read, rawLength - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != rawLength) {
+                throw new IOException("回放数据块长度不匹配");
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IOException("回放数据块解压失败: " + e.getMessage());
+        } finally {
+            inflater.end();
+        }
+    }
+}
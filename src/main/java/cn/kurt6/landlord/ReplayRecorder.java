@@ -0,0 +1,218 @@
+package cn.kurt6.landlord;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+
+/**
+ * 对局回放记录器：游戏线程只提交记录，编码/压缩/写盘都在I/O执行器上完成
+ * 写入通过合并键串行执行，并由写入锁保证关闭时的收尾写入不会与仍在运行的写入任务并发
+ * 内存中每名玩家只保留最近 RECENT_GAMES 局的编号
+ *
+ * 数据文件 replays/games-NNNNN.dat 滚动追加，每条记录为 [原始长度varint][deflate数据]
+ * 索引文件 replays/index.dat 为定长条目，第 gameId 条位于 (gameId-1)*ENTRY_SIZE
+ */
+public class ReplayRecorder {
+    // 索引条目: gameId(8) 文件号(4) 偏移(8) 长度(4) 结束时间(8) 3×座位UUID(48)
+    static final int ENTRY_SIZE = 80;
+    static final int SEATS = 3;
+    public static final int RECENT_GAMES = 10; // 每名玩家在内存中保留的最近对局数
+    private static final int SCAN_BATCH = 4096; // 启动扫描索引时每次读取的条目数
+
+    private final Landlord plugin;
+    private final File directory;
+    private final File indexFile;
+    private final long maxFileSize;
+    private final AtomicLong nextGameId = new AtomicLong(1);
+    private final Map<UUID, ConcurrentLinkedDeque<Long>> gamesByPlayer = new ConcurrentHashMap<>();
+    private final Queue<GameRecord> pending = new ConcurrentLinkedQueue<>();
+
+    // 以下字段只在持有写入锁时访问
+    private final Object writeLock = new Object();
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private int currentFileNo = 1;
+    private boolean closed = false;
+
+    public ReplayRecorder(Landlord plugin, long maxFileSize) {
+        this.plugin = plugin;
+        this.directory = new File(plugin.getDataFolder(), "replays");
+        this.indexFile = new File(directory, "index.dat");
+        this.maxFileSize = maxFileSize;
+        if (!directory.exists() && !directory.mkdirs()) {
+            plugin.getLogger().warning("无法创建回放目录: " + directory.getPath());
+        }
+        loadIndex();
+    }
+
+    // 启动时按批扫描定长索引，恢复编号与玩家的最近对局
+    private void loadIndex() {
+        if (!indexFile.exists()) {
+            return;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(indexFile, "r");
+             FileChannel channel = raf.getChannel()) {
+            long entries = channel.size() / ENTRY_SIZE;
+            ByteBuffer batch = ByteBuffer.allocate(SCAN_BATCH * ENTRY_SIZE);
+            for (long start = 0; start < entries; start += SCAN_BATCH) {
+                int count = (int) Math.min(SCAN_BATCH, entries - start);
+                batch.clear();
+                batch.limit(count * ENTRY_SIZE);
+                while (batch.hasRemaining() && channel.read(batch, start * ENTRY_SIZE + batch.position()) > 0) {
+                    // 读满本批
+                }
+                for (int i = 0; i < count; i++) {
+                    int base = i * ENTRY_SIZE;
+                    long gameId = batch.getLong(base);
+                    if (gameId == 0) {
+                        continue; // 写入失败或未完成留下的空位
+                    }
+                    currentFileNo = Math.max(currentFileNo, batch.getInt(base + 8));
+                    for (int seat = 0; seat < SEATS; seat++) {
+                        UUID playerId = new UUID(batch.getLong(base + 32 + seat * 16), batch.getLong(base + 40 + seat * 16));
+                        indexPlayer(playerId, gameId);
+                    }
+                }
+            }
+            nextGameId.set(entries + 1);
+        } catch (IOException e) {
+            plugin.getLogger().warning("读取回放索引失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 提交一局已结束的记录，返回分配的对局编号
+     */
+    public long submit(GameRecord record) {
+        long gameId = nextGameId.getAndIncrement();
+        record.setGameId(gameId);
+        pending.add(record);
+        // 队列满时记录留在内存中，下次提交或关闭时再写
+        plugin.getIoExecutor().submit("replay-write", "replay-write", this::drain);
+        return gameId;
+    }
+
+    private void drain() {
+        synchronized (writeLock) {
+            if (closed) return;
+            GameRecord record;
+            while ((record = pending.poll()) != null) {
+                write(record);
+            }
+        }
+    }
+
+    private void write(GameRecord record) {
+        try {
+            byte[] raw = GameRecordCodec.encode(record);
+            byte[] block = compress(raw);
+
+            File dataFile = dataFile(currentFileNo);
+            if (dataFile.exists() && dataFile.length() + block.length > maxFileSize) {
+                currentFileNo++;
+                dataFile = dataFile(currentFileNo);
+            }
+
+            long offset;
+            try (RandomAccessFile raf = new RandomAccessFile(dataFile, "rw");
+                 FileChannel channel = raf.getChannel()) {
+                offset = channel.size();
+                channel.write(ByteBuffer.wrap(block), offset);
+            }
+
+            ByteBuffer entry = ByteBuffer.allocate(ENTRY_SIZE);
+            entry.putLong(record.getGameId());
+            entry.putInt(currentFileNo);
+            entry.putLong(offset);
+            entry.putInt(block.length);
+            entry.putLong(System.currentTimeMillis());
+            UUID[] seats = record.getSeatIds();
+            for (int seat = 0; seat < SEATS; seat++) {
+                entry.putLong(seats[seat].getMostSignificantBits());
+                entry.putLong(seats[seat].getLeastSignificantBits());
+            }
+            entry.flip();
+            try (RandomAccessFile raf = new RandomAccessFile(indexFile, "rw");
+                 FileChannel channel = raf.getChannel()) {
+                channel.write(entry, (record.getGameId() - 1) * ENTRY_SIZE);
+            }
+
+            for (UUID playerId : seats) {
+                indexPlayer(playerId, record.getGameId());
+            }
+        } catch (Exception e) {
+            plugin.getLogger().warning("写入对局记录 #" + record.getGameId() + " 失败: " + e.getMessage());
+        }
+    }
+
+    // [原始长度varint][deflate数据]
+    private byte[] compress(byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        GameRecordCodec.Writer out = new GameRecordCodec.Writer(raw.length / 2 + 16);
+        out.writeVarLong(raw.length);
+        byte[] chunk = new byte[512];
+        while (!deflater.finished()) {
+            int n = deflater.deflate(chunk);
+            out.writeBytes(chunk, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    // 按编号递增的顺序调用，超出上限时丢弃最旧的
+    private void indexPlayer(UUID playerId, long gameId) {
+        ConcurrentLinkedDeque<Long> games = gamesByPlayer.computeIfAbsent(playerId, k -> new ConcurrentLinkedDeque<>());
+        games.addFirst(gameId);
+        while (games.size() > RECENT_GAMES) {
+            games.pollLast();
+        }
+    }
+
+    File dataFile(int fileNo) {
+        return new File(directory, String.format("games-%05d.dat", fileNo));
+    }
+
+    File getIndexFile() {
+        return indexFile;
+    }
+
+    /**
+     * 获取玩家参与过的对局编号（最近的在前）
+     */
+    public List<Long> getGamesOf(UUID playerId, int limit) {
+        ConcurrentLinkedDeque<Long> games = gamesByPlayer.get(playerId);
+        if (games == null) {
+            return Collections.emptyList();
+        }
+        List<Long> result = new ArrayList<>(Math.min(limit, 16));
+        for (Long gameId : games) {
+            if (result.size() >= limit) break;
+            result.add(gameId);
+        }
+        return result;
+    }
+
+    /**
+     * 写完剩余记录并释放压缩器（I/O执行器关闭后调用）；仍在运行的写入任务结束后才会执行
+     */
+    public void shutdown() {
+        drain();
+        synchronized (writeLock) {
+            closed = true;
+            deflater.end();
+        }
+    }
+}
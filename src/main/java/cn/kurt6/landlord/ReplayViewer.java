@@ -0,0 +1,281 @@
+package cn.kurt6.landlord;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 对局回放查看：按回合把历史对局推送给玩家，支持暂停、单步和调速
+ * 只使用 Card/GameLogic 重建牌局，不创建 GameRoom
+ */
+public class ReplayViewer {
+    private static final long TICK_PERIOD = 5L;      // 回放驱动周期（tick）
+    private static final int MIN_STEP_TICKS = 10;    // 两步之间最短间隔
+    private static final int MAX_STEP_TICKS = 100;   // 两步之间最长间隔
+    private static final double[] SPEEDS = {0.5, 1.0, 2.0, 4.0};
+
+    private final Landlord plugin;
+    private final ReplayArchive archive;
+    private final Map<UUID, ReplaySession> sessions = new ConcurrentHashMap<>();
+
+    public ReplayViewer(Landlord plugin, ReplayRecorder recorder) {
+        this.plugin = plugin;
+        this.archive = new ReplayArchive(recorder);
+    }
+
+    /**
+     * 异步读取对局并开始回放
+     */
+    public void open(Player viewer, long gameId) {
+        stop(viewer.getUniqueId(), false);
+        viewer.sendMessage(Component.text("正在读取对局 #" + gameId + " ...", NamedTextColor.GRAY));
+
+        boolean accepted = plugin.getIoExecutor().submit("replay-read", () -> {
+            GameRecord record;
+            try {
+                record = archive.read(gameId);
+            } catch (IOException | IllegalArgumentException e) {
+                plugin.getLogger().warning("读取对局 #" + gameId + " 失败: " + e.getMessage());
+                record = null;
+            }
+            GameRecord loaded = record;
+            plugin.runForPlayer(viewer, () -> start(viewer, gameId, loaded));
+        });
+        if (!accepted) {
+            viewer.sendMessage(Component.text("服务器繁忙，请稍后再试！", NamedTextColor.RED));
+        }
+    }
+
+    private void start(Player viewer, long gameId, GameRecord record) {
+        if (!viewer.isOnline()) return;
+        if (record == null) {
+            viewer.sendMessage(Component.text("对局 #" + gameId + " 不存在或已损坏！", NamedTextColor.RED));
+            return;
+        }
+        // 只有参与者或管理员可以查看完整手牌
+        if (record.seatOf(viewer.getUniqueId()) < 0 && !viewer.hasPermission("landlord.admin")) {
+            viewer.sendMessage(Component.text("你没有参与对局 #" + gameId + "，无法查看回放！", NamedTextColor.RED));
+            return;
+        }
+
+        ReplaySession session = new ReplaySession(viewer, record);
+        sessions.put(viewer.getUniqueId(), session);
+        session.showHeader();
+        session.schedule();
+    }
+
+    public void pause(Player viewer, boolean paused) {
+        ReplaySession session = sessions.get(viewer.getUniqueId());
+        if (session == null) {
+            viewer.sendMessage(Component.text("你当前没有在观看回放！", NamedTextColor.RED));
+            return;
+        }
+        session.paused = paused;
+        viewer.sendMessage(Component.text((paused ? "回放已暂停" : "回放继续"), NamedTextColor.YELLOW));
+    }
+
+    public void step(Player viewer) {
+        ReplaySession session = sessions.get(viewer.getUniqueId());
+        if (session == null) {
+            viewer.sendMessage(Component.text("你当前没有在观看回放！", NamedTextColor.RED));
+            return;
+        }
+        session.paused = true;
+        session.advance();
+    }
+
+    public void changeSpeed(Player viewer, int direction) {
+        ReplaySession session = sessions.get(viewer.getUniqueId());
+        if (session == null) {
+            viewer.sendMessage(Component.text("你当前没有在观看回放！", NamedTextColor.RED));
+            return;
+        }
+        session.speedIndex = Math.max(0, Math.min(SPEEDS.length - 1, session.speedIndex + direction));
+        viewer.sendMessage(Component.text("回放速度: x" + SPEEDS[session.speedIndex], NamedTextColor.YELLOW));
+    }
+
+    public void stop(UUID viewerId, boolean notify) {
+        ReplaySession session = sessions.remove(viewerId);
+        if (session == null) return;
+        session.cancel();
+        if (notify && session.viewer.isOnline()) {
+            session.viewer.sendMessage(Component.text("已退出回放", NamedTextColor.YELLOW));
+        }
+    }
+
+    public boolean isWatching(UUID viewerId) {
+        return sessions.containsKey(viewerId);
+    }
+
+    public void stopAll() {
+        for (UUID viewerId : new ArrayList<>(sessions.keySet())) {
+            stop(viewerId, false);
+        }
+    }
+
+    private class ReplaySession {
+        private final Player viewer;
+        private final GameRecord record;
+        private final List<List<Card>> hands = new ArrayList<>();
+        private int cursor = 0;
+        private boolean paused = false;
+        private int speedIndex = 1;
+        private int ticksUntilNext = MIN_STEP_TICKS;
+        private int multiplier = 1;
+        private boolean landlordRevealed = false;
+        private BukkitTask bukkitTask;
+        private ScheduledTask foliaTask;
+
+        ReplaySession(Player viewer, GameRecord record) {
+            this.viewer = viewer;
+            this.record = record;
+            for (int seat = 0; seat < record.getSeatIds().length; seat++) {
+                hands.add(Card.fromMask(record.getHandMask(seat)));
+            }
+        }
+
+        void schedule() {
+            if (plugin.isFolia()) {
+                foliaTask = viewer.getScheduler().runAtFixedRate(plugin, t -> tick(), null, TICK_PERIOD, TICK_PERIOD);
+            } else {
+                bukkitTask = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, TICK_PERIOD, TICK_PERIOD);
+            }
+        }
+
+        void cancel() {
+            if (bukkitTask != null) bukkitTask.cancel();
+            if (foliaTask != null) foliaTask.cancel();
+        }
+
+        private void tick() {
+            if (!viewer.isOnline()) {
+                stop(viewer.getUniqueId(), false);
+                return;
+            }
+            if (paused) return;
+            ticksUntilNext -= TICK_PERIOD;
+            if (ticksUntilNext <= 0) {
+                advance();
+            }
+        }
+
+        // 应用下一条事件并渲染
+        void advance() {
+            if (cursor >= record.getEventCount()) {
+                showResult();
+                stop(viewer.getUniqueId(), false);
+                return;
+            }
+
+            int i = cursor++;
+            int seat = record.getEventSeat(i);
+            String name = seatName(seat);
+            switch (record.getEventType(i)) {
+                case GameRecord.EVENT_BID:
+                    int score = (int) record.getEventPayload(i);
+                    if (score > 0) {
+                        multiplier = score;
+                        viewer.sendMessage(Component.text(name + " 叫了 " + score + " 分", NamedTextColor.GREEN));
+                    } else {
+                        viewer.sendMessage(Component.text(name + " 不叫", NamedTextColor.GRAY));
+                    }
+                    break;
+                case GameRecord.EVENT_PLAY:
+                    revealLandlord();
+                    List<Card> cards = Card.fromMask(record.getEventPayload(i));
+                    if (!hands.get(seat).containsAll(cards)) {
+                        viewer.sendMessage(Component.text("回放数据与对局不一致，已停止回放", NamedTextColor.RED));
+                        stop(viewer.getUniqueId(), false);
+                        return;
+                    }
+                    hands.get(seat).removeAll(cards);
+                    GameLogic.CardPattern pattern = GameLogic.recognizePattern(cards);
+                    if (pattern.getType() == GameLogic.CardType.BOMB) {
+                        multiplier *= 2;
+                    } else if (pattern.getType() == GameLogic.CardType.ROCKET) {
+                        multiplier *= 4;
+                    }
+                    viewer.sendMessage(Component.text(name + " 出了 " +
+                            GameRoom.getPatternName(pattern.getType()) + ": " + joinCards(cards), NamedTextColor.GREEN));
+                    showHands();
+                    break;
+                case GameRecord.EVENT_PASS:
+                    viewer.sendMessage(Component.text(name + " 选择过牌", NamedTextColor.GRAY));
+                    break;
+                default:
+                    break;
+            }
+
+            // 按记录的时间间隔推进下一步
+            long nextDelta = cursor < record.getEventCount() ? record.getEventDelta(cursor) : 1000L;
+            int ticks = (int) (nextDelta / 50 / SPEEDS[speedIndex]);
+            ticksUntilNext = Math.max(MIN_STEP_TICKS, Math.min(MAX_STEP_TICKS, ticks));
+        }
+
+        // 叫分结束后把地主牌并入地主手牌
+        private void revealLandlord() {
+            if (landlordRevealed || record.getLandlordSeat() < 0) return;
+            landlordRevealed = true;
+            int seat = record.getLandlordSeat();
+            List<Card> landlordCards = Card.fromMask(record.getLandlordMask());
+            hands.get(seat).addAll(landlordCards);
+            hands.get(seat).sort((a, b) -> Integer.compare(b.getValue(), a.getValue()));
+            viewer.sendMessage(Component.text(seatName(seat) + " 成为地主！地主牌: " + joinCards(landlordCards), NamedTextColor.GOLD));
+        }
+
+        void showHeader() {
+            viewer.sendMessage(Component.text("=== 对局回放 #" + record.getGameId() + " ===", NamedTextColor.GOLD));
+            viewer.sendMessage(Component.textOfChildren(
+                    Component.text("房间: " + record.getRoomId(), NamedTextColor.GRAY),
+                    record.isMoneyGame() ? Component.text(" [金币赛]", NamedTextColor.GOLD) : Component.empty()));
+            viewer.sendMessage(Component.text("地主牌: " + joinCards(Card.fromMask(record.getLandlordMask())), NamedTextColor.GOLD));
+            showHands();
+            sendControls();
+        }
+
+        private void showHands() {
+            for (int seat = 0; seat < hands.size(); seat++) {
+                String role = landlordRevealed && seat == record.getLandlordSeat() ? "[地主] " : "";
+                viewer.sendMessage(Component.textOfChildren(
+                        Component.text(role + seatName(seat) + " (" + hands.get(seat).size() + "张): "),
+                        Messages.cards(hands.get(seat))).color(NamedTextColor.AQUA));
+            }
+        }
+
+        private void showResult() {
+            viewer.sendMessage(Component.text("=== 回放结束 ===", NamedTextColor.GOLD));
+            if (record.getLandlordSeat() >= 0) {
+                viewer.sendMessage(Component.text((record.isLandlordWin() ? "地主获胜！" : "农民获胜！") +
+                        " 最终倍数: x" + record.getMultiplier(), NamedTextColor.YELLOW));
+            }
+        }
+
+        private void sendControls() {
+            viewer.sendMessage(Messages.REPLAY_CONTROLS); // 控制按钮共用同一份组件
+        }
+
+        private String seatName(int seat) {
+            String[] names = record.getSeatNames();
+            return seat >= 0 && seat < names.length ? names[seat] : "?";
+        }
+
+        private String joinCards(List<Card> cards) {
+            StringBuilder sb = new StringBuilder();
+            for (Card card : cards) {
+                if (sb.length() > 0) sb.append(" ");
+                sb.append(card.toString());
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package cn.kurt6.landlord;
+
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemFlag;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 房间目录：随房间创建、注销与状态变化增量维护，按“等待中（空位少的在前）→ 已满 → 游戏中”排序
+ * 每个房间的列表物品在快照版本变化时才重建，各页的物品数组也会缓存，打开房间列表只需复制一页
+ * 金币房的物品按“金币是否足够”缓存两份，打开时只替换“我的金币”这一行
+ * 另有按房间号排序的索引，供命令补全按前缀查找
+ */
+public class RoomDirectory {
+    public static final int PAGE_SIZE = 45; // 每页5行
+    private static final int BALANCE_LINE = 4; // 金币房说明中“我的金币”所在行
+
+    /**
+     * 房间列表的一页（只读，物品为共享模板）
+     */
+    public static final class Page {
+        private final int number;
+        private final int totalPages;
+        private final String[] roomIds;
+        private final ItemStack[] items;       // 普通房间的物品；金币房为null
+        private final ItemStack[] moneyEnough; // 金币房：金币足够时的物品
+        private final ItemStack[] moneyShort;  // 金币房：金币不足时的物品
+        private Key first; // 本页首尾条目生成时的排序键，房间变化时据此判断本页是否受影响
+        private Key last;
+
+        private Page(int number, int totalPages, int size) {
+            this.number = number;
+            this.totalPages = totalPages;
+            this.roomIds = new String[size];
+            this.items = new ItemStack[size];
+            this.moneyEnough = new ItemStack[size];
+            this.moneyShort = new ItemStack[size];
+        }
+
+        public int getNumber() { return number; }
+        public int getTotalPages() { return totalPages; }
+        public int size() { return roomIds.length; }
+        public String getRoomId(int slot) { return roomIds[slot]; }
+
+        public boolean hasMoneyRooms() {
+            for (ItemStack item : moneyEnough) {
+                if (item != null) return true;
+            }
+            return false;
+        }
+
+        /**
+         * 取某一格给指定玩家显示的物品，金币房会复制一份并填入该玩家的金币
+         */
+        public ItemStack getItem(int slot, double balance, double required) {
+            if (items[slot] != null) {
+                return items[slot];
+            }
+            boolean hasEnough = balance >= required;
+            ItemStack item = (hasEnough ? moneyEnough[slot] : moneyShort[slot]).clone();
+            ItemMeta meta = item.getItemMeta();
+            List<String> lore = meta.getLore();
+            lore.set(BALANCE_LINE, ChatColor.YELLOW + "我的金币: " + balance +
+                    (hasEnough ? ChatColor.GREEN + " (满足要求)" : ChatColor.RED + " (不满足要求)"));
+            meta.setLore(lore);
+            item.setItemMeta(meta);
+            return item;
+        }
+    }
+
+    // 排序键：排序分组 + 房间号
+    private static final class Key implements Comparable<Key> {
+        final int rank;
+        final String roomId;
+
+        Key(int rank, String roomId) {
+            this.rank = rank;
+            this.roomId = roomId;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int byRank = Integer.compare(rank, other.rank);
+            return byRank != 0 ? byRank : roomId.compareTo(other.roomId);
+        }
+    }
+
+    private static final class Entry {
+        final GameRoom room;
+        final String roomId;
+        RoomView view;
+        ItemStack item;        // 缓存的物品，快照版本变化时清空
+        ItemStack moneyEnough;
+        ItemStack moneyShort;
+
+        Entry(GameRoom room, RoomView view) {
+            this.room = room;
+            this.roomId = room.getRoomId();
+            this.view = view;
+        }
+
+        // 排序分组：0-2=等待中且空位为1-3，3=等待中已满，4=游戏中
+        int rank() {
+            if (view.isGameStarted()) return 4;
+            int open = 3 - view.getPlayerCount();
+            return open <= 0 ? 3 : open - 1;
+        }
+
+        Key key() {
+            return new Key(rank(), roomId);
+        }
+    }
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingInt(Entry::rank)
+            .thenComparing(e -> e.roomId);
+
+    private final Landlord plugin;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final TreeSet<Entry> order = new TreeSet<>(ORDER);
+    private final Map<Integer, Page> pages = new HashMap<>(); // 已生成的页，只清除受房间变化影响的页
+    private final NavigableSet<String> roomIds = new ConcurrentSkipListSet<>(); // 补全可能在异步线程调用，不加锁
+
+    public RoomDirectory(Landlord plugin) {
+        this.plugin = plugin;
+    }
+
+    public synchronized void add(GameRoom room) {
+        int totalPages = getTotalPages();
+        Entry entry = new Entry(room, room.getView());
+        Entry old = entries.put(entry.roomId, entry);
+        Key from = entry.key();
+        if (old != null) {
+            Key oldKey = old.key();
+            if (oldKey.compareTo(from) < 0) from = oldKey;
+            order.remove(old);
+        }
+        order.add(entry);
+        roomIds.add(entry.roomId);
+        evictFrom(from, totalPages, true);
+    }
+
+    public synchronized void remove(GameRoom room) {
+        Entry entry = entries.get(room.getRoomId());
+        if (entry == null || entry.room != room) return;
+        int totalPages = getTotalPages();
+        entries.remove(entry.roomId);
+        order.remove(entry);
+        roomIds.remove(entry.roomId);
+        evictFrom(entry.key(), totalPages, false);
+    }
+
+    /**
+     * 以 prefix 开头的房间号（按字典序），最多 limit 个
+     */
+    public List<String> completeRoomIds(String prefix, int limit) {
+        List<String> result = new ArrayList<>();
+        for (String roomId : roomIds.tailSet(prefix, true)) {
+            if (!roomId.startsWith(prefix) || result.size() >= limit) break;
+            result.add(roomId);
+        }
+        return result;
+    }
+
+    /**
+     * 房间生成了新的显示快照（由房间线程调用）
+     */
+    public synchronized void update(GameRoom room, RoomView view) {
+        Entry entry = entries.get(room.getRoomId());
+        if (entry == null || entry.room != room || entry.view.getVersion() >= view.getVersion()) return;
+        if (sameListing(entry.view, view)) {
+            entry.view = view; // 倒计时、当前玩家等变化不影响列表物品和排序
+            return;
+        }
+
+        Key before = entry.key();
+        order.remove(entry); // 排序键可能变化，先移出再放回
+        entry.view = view;
+        entry.item = null;
+        entry.moneyEnough = null;
+        entry.moneyShort = null;
+        order.add(entry);
+        Key after = entry.key();
+
+        // 只有本房间所在页，以及排序移动时新旧位置之间的页受影响
+        Key low = before.compareTo(after) <= 0 ? before : after;
+        Key high = low == before ? after : before;
+        pages.values().removeIf(page -> page.first == null
+                || (page.last.compareTo(low) >= 0 && page.first.compareTo(high) <= 0));
+    }
+
+    // 列表物品只用到这些字段，且它们决定排序
+    private static boolean sameListing(RoomView a, RoomView b) {
+        return a.isGameStarted() == b.isGameStarted()
+                && a.getPlayerCount() == b.getPlayerCount()
+                && a.isMoneyGame() == b.isMoneyGame()
+                && a.getMultiplier() == b.getMultiplier()
+                && Objects.equals(a.getOwnerName(), b.getOwnerName());
+    }
+
+    // 增删房间时排在该键之后的条目整体移动，只比较各缓存页的首尾键，不统计位置
+    // 总页数变化时每页的页码信息都要更新；新增排在末尾时落在未满的最后一页
+    private void evictFrom(Key key, int totalPagesBefore, boolean added) {
+        if (getTotalPages() != totalPagesBefore) {
+            pages.clear();
+            return;
+        }
+        pages.values().removeIf(page -> page.first == null || page.last.compareTo(key) >= 0
+                || (added && page.number == totalPagesBefore));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized int getTotalPages() {
+        return Math.max(1, (entries.size() + PAGE_SIZE - 1) / PAGE_SIZE);
+    }
+
+    /**
+     * 按排序取一页（页码从1开始），页码超出范围时返回null
+     */
+    public synchronized Page getPage(int number) {
+        int totalPages = getTotalPages();
+        if (number < 1 || number > totalPages) return null;
+        Page cached = pages.get(number);
+        if (cached != null) return cached;
+
+        int start = (number - 1) * PAGE_SIZE;
+        int size = Math.max(0, Math.min(PAGE_SIZE, entries.size() - start));
+        Page page = new Page(number, totalPages, size);
+        int index = 0;
+        int slot = 0;
+        for (Entry entry : order) {
+            if (index++ < start) continue;
+            if (slot >= size) break;
+            page.roomIds[slot] = entry.roomId;
+            if (slot == 0) page.first = entry.key();
+            page.last = entry.key();
+            if (entry.view.isMoneyGame()) {
+                if (entry.moneyEnough == null) {
+                    entry.moneyEnough = createMoneyItem(entry.view, true);
+                    entry.moneyShort = createMoneyItem(entry.view, false);
+                }
+                page.moneyEnough[slot] = entry.moneyEnough;
+                page.moneyShort[slot] = entry.moneyShort;
+            } else {
+                if (entry.item == null) {
+                    entry.item = createItem(entry.view);
+                }
+                page.items[slot] = entry.item;
+            }
+            slot++;
+        }
+        pages.put(number, page);
+        return page;
+    }
+
+    /**
+     * 取一页，页码超出范围时取最近的有效页；没有房间时返回null
+     */
+    public synchronized Page getPageClamped(int number) {
+        if (entries.isEmpty()) return null;
+        return getPage(Math.max(1, Math.min(number, getTotalPages())));
+    }
+
+    // 金币房（带附魔效果），“我的金币”一行在打开时按玩家填入
+    private ItemStack createMoneyItem(RoomView view, boolean hasEnough) {
+        Material material;
+        if (hasEnough) {
+            material = view.isGameStarted() ? Material.GOLD_BLOCK : Material.EMERALD_BLOCK;
+        } else {
+            material = view.isGameStarted() ? Material.REDSTONE_BLOCK : Material.COAL_BLOCK;
+        }
+
+        ItemStack item = new ItemStack(material);
+        ItemMeta meta = item.getItemMeta();
+
+        // 金币足够的才有附魔光效
+        if (hasEnough) {
+            meta.addEnchant(Enchantment.VANISHING_CURSE, 1, true);
+            meta.addItemFlags(ItemFlag.HIDE_ENCHANTS);
+        }
+
+        String status = view.isGameStarted() ? ChatColor.RED + "游戏中(金币房)" : ChatColor.GREEN + "等待中(金币房)";
+        meta.setDisplayName((hasEnough ? ChatColor.GOLD : ChatColor.GRAY) + view.getRoomId());
+
+        List<String> lore = new ArrayList<>();
+        lore.add(ChatColor.GRAY + "状态: " + status);
+        lore.add(ChatColor.GRAY + "玩家: " + view.getPlayerCount() + "/3");
+        lore.add(ChatColor.GRAY + "倍数: " + view.getMultiplier());
+        lore.add(ChatColor.GOLD + "金币要求: " + (double) plugin.getMoneyMultiplier());
+        lore.add(""); // BALANCE_LINE，打开时替换
+        if (view.getOwnerName() != null) {
+            lore.add(ChatColor.GRAY + "房主: " + view.getOwnerName());
+        }
+        lore.add("");
+        lore.add(hasEnough ? ChatColor.YELLOW + "点击加入房间" : ChatColor.GRAY + "金币不足无法加入");
+
+        meta.setLore(lore);
+        item.setItemMeta(meta);
+        return item;
+    }
+
+    private ItemStack createItem(RoomView view) {
+        Material material = view.isGameStarted() ? Material.RED_WOOL : Material.LIME_WOOL;
+        ChatColor color = view.isGameStarted() ? ChatColor.RED : ChatColor.GREEN;
+        String status = view.isGameStarted() ? "游戏中" : "等待中";
+
+        ItemStack item = new ItemStack(material);
+        ItemMeta meta = item.getItemMeta();
+        meta.setDisplayName(color + view.getRoomId());
+
+        List<String> lore = new ArrayList<>();
+        lore.add(ChatColor.GRAY + "状态: " + color + status);
+        lore.add(ChatColor.GRAY + "玩家: " + view.getPlayerCount() + "/3");
+        if (view.getOwnerName() != null) {
+            lore.add(ChatColor.GRAY + "房主: " + view.getOwnerName());
+        }
+        lore.add("");
+        lore.add(ChatColor.YELLOW + "点击加入房间");
+
+        meta.setLore(lore);
+        item.setItemMeta(meta);
+        return item;
+    }
+}
@@ -0,0 +1,77 @@
+package cn.kurt6.landlord;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 房间邮箱：命令、计时器与GUI操作都作为消息投递，由房间的执行上下文逐条处理
+ * 同一房间的状态只会在一个线程上顺序修改，不同房间互不阻塞
+ */
+public class RoomMailbox {
+    private final Landlord plugin;
+    private volatile String roomId;
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private final Executor executor;
+    private final Runnable afterMessage; // 每条消息处理完后执行（发送本次事件合并的聊天消息）
+    private volatile Thread drainingThread;
+
+    public RoomMailbox(Landlord plugin, String roomId, Executor executor, Runnable afterMessage) {
+        this.plugin = plugin;
+        this.roomId = roomId;
+        this.executor = executor;
+        this.afterMessage = afterMessage;
+    }
+
+    /**
+     * 房间复用时更换房间号（仅用于日志）
+     */
+    public void rename(String roomId) {
+        this.roomId = roomId;
+    }
+
+    /**
+     * 投递一条消息，必要时安排一次处理
+     */
+    public void post(Runnable message) {
+        queue.add(message);
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    /**
+     * 当前线程是否正在处理本房间的消息
+     */
+    public boolean isDraining() {
+        return drainingThread == Thread.currentThread();
+    }
+
+    private void drain() {
+        drainingThread = Thread.currentThread();
+        try {
+            Runnable message;
+            while ((message = queue.poll()) != null) {
+                try {
+                    message.run();
+                } catch (Exception e) {
+                    plugin.getLogger().warning("房间 " + roomId + " 处理消息时出错: " + e.getMessage());
+                }
+                try {
+                    afterMessage.run();
+                } catch (Exception e) {
+                    plugin.getLogger().warning("房间 " + roomId + " 发送消息时出错: " + e.getMessage());
+                }
+            }
+        } finally {
+            drainingThread = null;
+            scheduled.set(false);
+        }
+        // 处理结束前刚好有新消息入队时重新安排
+        if (!queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+}
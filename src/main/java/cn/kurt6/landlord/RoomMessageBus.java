@@ -0,0 +1,90 @@
+package cn.kurt6.landlord;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.JoinConfiguration;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 房间消息总线：房间邮箱处理一条消息（一次事件）期间发出的聊天行先按玩家收集，
+ * 事件结束时每个玩家只发送一条多行消息；收到相同内容的玩家（出牌者、其他玩家、旁观者）共用同一份组件
+ * 不在房间线程上调用时直接发送
+ */
+public class RoomMessageBus {
+    private final BooleanSupplier batching;
+    private final Map<Player, List<Component>> pending = new LinkedHashMap<>();
+    private final Map<Player, Component> hands = new HashMap<>(); // 每个玩家本次事件的手牌行，只保留最新一条
+
+    public RoomMessageBus(BooleanSupplier batching) {
+        this.batching = batching;
+    }
+
+    public void send(Player player, Component message) {
+        if (!batching.getAsBoolean()) {
+            player.sendMessage(message);
+            return;
+        }
+        pending.computeIfAbsent(player, k -> new ArrayList<>()).add(message);
+    }
+
+    /**
+     * 向多名玩家发送同一行，组件只构建一次
+     */
+    public void broadcast(Collection<Player> players, Component message) {
+        for (Player player : players) {
+            send(player, message);
+        }
+    }
+
+    /**
+     * 发送手牌行：同一事件内多次调用只保留最后一次，并排在其他消息之后
+     */
+    public void sendHand(Player player, Component hand) {
+        if (!batching.getAsBoolean()) {
+            player.sendMessage(hand);
+            return;
+        }
+        hands.put(player, hand);
+        pending.computeIfAbsent(player, k -> new ArrayList<>());
+    }
+
+    /**
+     * 事件结束：每个玩家发送一条合并后的消息
+     */
+    public void flush() {
+        if (pending.isEmpty()) return;
+
+        // 行内容相同的玩家共用一份合并结果（广播的行是同一个组件对象）
+        Map<List<Component>, Component> built = new HashMap<>();
+        for (Map.Entry<Player, List<Component>> entry : pending.entrySet()) {
+            Player player = entry.getKey();
+            List<Component> lines = entry.getValue();
+            Component hand = hands.get(player);
+            if (hand != null) {
+                lines.add(hand);
+            }
+            if (lines.isEmpty() || !player.isOnline()) continue;
+
+            Component message = built.computeIfAbsent(lines,
+                    k -> k.size() == 1 ? k.get(0) : Component.join(JoinConfiguration.newlines(), k));
+            player.sendMessage(message);
+        }
+        pending.clear();
+        hands.clear();
+    }
+
+    /**
+     * 丢弃尚未发送的消息（房间销毁时）
+     */
+    public void clear() {
+        pending.clear();
+        hands.clear();
+    }
+}
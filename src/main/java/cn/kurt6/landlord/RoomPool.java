@@ -0,0 +1,65 @@
+package cn.kurt6.landlord;
+
+import org.bukkit.entity.Player;
+
+import java.util.ArrayDeque;
+
+/**
+ * 房间池：空房间注销并重置后放回有界的空闲列表，创建房间和快速匹配优先取用
+ * 复用的房间保留自己的BossBar、出牌界面和各状态表，只换房间号与房主；池满时多余的房间直接丢弃
+ */
+public class RoomPool {
+    private final Landlord plugin;
+    private final int capacity;
+    private final ArrayDeque<GameRoom> free = new ArrayDeque<>();
+    private long created = 0;
+    private long reused = 0;
+    private long discarded = 0;
+
+    public RoomPool(Landlord plugin, int capacity) {
+        this.plugin = plugin;
+        this.capacity = Math.max(0, capacity);
+    }
+
+    /**
+     * 取一个房间并以指定房间号和房主启用，池空时新建
+     */
+    public GameRoom acquire(String roomId, Player owner) {
+        GameRoom room;
+        synchronized (this) {
+            room = free.pollLast(); // 后进先出，优先取最近用过的
+            if (room != null) {
+                reused++;
+            } else {
+                created++;
+            }
+        }
+        if (room == null) {
+            return new GameRoom(roomId, owner, plugin);
+        }
+        room.reopen(roomId, owner);
+        return room;
+    }
+
+    /**
+     * 归还已注销并重置的房间
+     */
+    public synchronized void release(GameRoom room) {
+        if (free.size() >= capacity) {
+            discarded++;
+            return;
+        }
+        free.addLast(room);
+    }
+
+    public synchronized void clear() {
+        free.clear();
+    }
+
+    // 统计信息（/ddz perf）
+    public synchronized int getIdle() { return free.size(); }
+    public int getCapacity() { return capacity; }
+    public synchronized long getCreated() { return created; }
+    public synchronized long getReused() { return reused; }
+    public synchronized long getDiscarded() { return discarded; }
+}
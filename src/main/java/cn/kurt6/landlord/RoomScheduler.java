@@ -0,0 +1,94 @@
+package cn.kurt6.landlord;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.concurrent.Executor;
+
+/**
+ * 房间调度器：房间的消息处理、延迟任务与界面刷新都在房间的“归属上下文”执行
+ * Paper 下即主线程；Folia 下挂在房主（或房内任一在线玩家）的实体调度器上，
+ * 不同房间分散到各自的区域线程，房主离开时迁移到新的玩家
+ */
+public class RoomScheduler implements Executor {
+    private final Landlord plugin;
+    private volatile Player home;
+
+    public RoomScheduler(Landlord plugin, Player home) {
+        this.plugin = plugin;
+        this.home = home;
+    }
+
+    /**
+     * 迁移归属上下文（已在执行中的任务不受影响）
+     */
+    public void migrate(Player newHome) {
+        this.home = newHome;
+    }
+
+    public Player getHome() {
+        return home;
+    }
+
+    /**
+     * 尽快在归属上下文执行；已在该上下文时立即执行
+     */
+    @Override
+    public void execute(Runnable task) {
+        if (!plugin.isFolia()) {
+            if (Bukkit.isPrimaryThread()) {
+                task.run();
+            } else {
+                Bukkit.getScheduler().runTask(plugin, task);
+            }
+            return;
+        }
+
+        Player anchor = home;
+        if (anchor != null && anchor.isOnline()) {
+            if (Bukkit.isOwnedByCurrentRegion(anchor)) {
+                task.run();
+                return;
+            }
+            // 实体已失效时返回null，改由全局区域执行
+            if (anchor.getScheduler().run(plugin, t -> task.run(), () -> runGlobal(task)) != null) {
+                return;
+            }
+        }
+        runGlobal(task);
+    }
+
+    /**
+     * 在目标玩家所在的区域执行针对该玩家实体的操作（开关界面、标题、音效、粒子等）
+     * Paper 下房间线程即主线程，直接执行；Folia 下玩家属于其他区域时交给该玩家的实体调度器
+     * 这些操作只读写玩家本身，不修改房间状态
+     */
+    public void runFor(Player target, Runnable effect) {
+        if (!plugin.isFolia() || Bukkit.isOwnedByCurrentRegion(target)) {
+            effect.run();
+            return;
+        }
+        target.getScheduler().run(plugin, t -> effect.run(), null); // 玩家已下线时丢弃
+    }
+
+    /**
+     * 延迟delay tick后在归属上下文执行
+     */
+    public void runLater(Runnable task, long delay) {
+        if (!plugin.isFolia()) {
+            Bukkit.getScheduler().runTaskLater(plugin, task, delay);
+            return;
+        }
+
+        Player anchor = home;
+        if (anchor != null && anchor.isOnline()
+                && anchor.getScheduler().runDelayed(plugin, t -> task.run(), () -> runGlobal(task), delay) != null) {
+            return;
+        }
+        Bukkit.getGlobalRegionScheduler().runDelayed(plugin, t -> task.run(), delay);
+    }
+
+    private void runGlobal(Runnable task) {
+        Bukkit.getGlobalRegionScheduler().execute(plugin, task);
+    }
+}
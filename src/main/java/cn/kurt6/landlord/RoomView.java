@@ -0,0 +1,175 @@
+package cn.kurt6.landlord;
+
+import org.bukkit.ChatColor;
+import org.bukkit.boss.BarColor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 房间的只读显示快照：状态变化后由房间线程生成一次，带递增的版本号
+ * 计分板、BossBar、出牌界面信息行和房间列表都读取同一份快照，版本号未变时跳过渲染
+ * 快照不可变，其他线程（如打开房间列表的玩家线程）可以直接读取
+ */
+public final class RoomView {
+
+    /**
+     * 座位信息（按加入顺序）
+     */
+    public static final class Seat {
+        private final String name;
+        private final int cardCount;
+        private final boolean ready;
+
+        public Seat(String name, int cardCount, boolean ready) {
+            this.name = name;
+            this.cardCount = cardCount;
+            this.ready = ready;
+        }
+
+        public String getName() { return name; }
+        public int getCardCount() { return cardCount; }
+        public boolean isReady() { return ready; }
+    }
+
+    private final long version;
+    private final String roomId;
+    private final GameRoom.GameState state;
+    private final boolean gameStarted;
+    private final boolean moneyGame;
+    private final String ownerName;
+    private final String currentPlayerName;
+    private final String landlordName;
+    private final int multiplier;
+    private final int currentBidScore;
+    private final List<Seat> seats;
+
+    // 由上面的字段一次性生成的显示内容
+    private final String bossBarTitle;
+    private final BarColor bossBarColor;
+    private final double bossBarProgress;
+    private final List<String> sidebarLines;
+    private final String summaryTitle;
+
+    public RoomView(long version, String roomId, GameRoom.GameState state, boolean gameStarted, boolean moneyGame,
+                    String ownerName, String currentPlayerName, String landlordName,
+                    int multiplier, int currentBidScore, List<Seat> seats) {
+        this.version = version;
+        this.roomId = roomId;
+        this.state = state;
+        this.gameStarted = gameStarted;
+        this.moneyGame = moneyGame;
+        this.ownerName = ownerName;
+        this.currentPlayerName = currentPlayerName != null ? currentPlayerName : "无";
+        this.landlordName = landlordName;
+        this.multiplier = multiplier;
+        this.currentBidScore = currentBidScore;
+        this.seats = Collections.unmodifiableList(new ArrayList<>(seats));
+
+        String moneyTag = moneyGame ? " " + ChatColor.GOLD + "[金币赛]" : "";
+        switch (state) {
+            case WAITING:
+                bossBarTitle = "房间 " + roomId + " - 等待玩家 (" + seats.size() + "/3)" + moneyTag;
+                bossBarColor = BarColor.BLUE;
+                bossBarProgress = seats.size() / 3.0;
+                break;
+            case BIDDING:
+                bossBarTitle = "叫分阶段 - 当前: " + this.currentPlayerName + " | 最高分: " + currentBidScore + moneyTag;
+                bossBarColor = BarColor.YELLOW;
+                bossBarProgress = 0.5;
+                break;
+            case PLAYING:
+                bossBarTitle = "游戏中 - 当前: " + this.currentPlayerName +
+                        " | 倍数: x" + multiplier +
+                        (landlordName != null ? " | 地主: " + landlordName : "") + moneyTag;
+                bossBarColor = BarColor.GREEN;
+                bossBarProgress = 1.0;
+                break;
+            case FINISHED:
+                bossBarTitle = "游戏结束 - 即将重置" + moneyTag;
+                bossBarColor = BarColor.RED;
+                bossBarProgress = 0.0;
+                break;
+            default:
+                bossBarTitle = "房间 " + roomId + moneyTag;
+                bossBarColor = BarColor.WHITE;
+                bossBarProgress = 0.0;
+                break;
+        }
+
+        this.sidebarLines = Collections.unmodifiableList(buildSidebarLines());
+        this.summaryTitle = buildSummaryTitle();
+    }
+
+    private List<String> buildSidebarLines() {
+        List<String> lines = new ArrayList<>();
+        lines.add(ChatColor.YELLOW + "房间: " + roomId);
+        lines.add("");
+
+        if (gameStarted) {
+            if (state == GameRoom.GameState.BIDDING) {
+                lines.add(ChatColor.GOLD + "▶ 叫分阶段");
+                lines.add(ChatColor.WHITE + "当前叫分: " + currentPlayerName);
+                lines.add(ChatColor.AQUA + "最高分: " + currentBidScore + "分");
+            } else if (state == GameRoom.GameState.PLAYING) {
+                if (landlordName != null) {
+                    lines.add(ChatColor.RED + "地主: " + landlordName);
+                    lines.add(ChatColor.AQUA + "倍数: ×" + multiplier);
+                }
+                lines.add(ChatColor.WHITE + "当前出牌: " + currentPlayerName);
+            }
+
+            lines.add(ChatColor.GREEN + "手牌数量:");
+            for (Seat seat : seats) {
+                lines.add(seat.getName() + ": " + seat.getCardCount() + "张");
+            }
+        } else {
+            lines.add(ChatColor.WHITE + "玩家列表:");
+            for (Seat seat : seats) {
+                lines.add((seat.isReady() ? ChatColor.GREEN + "✓ " : ChatColor.RED + "✗ ") + seat.getName());
+            }
+        }
+        return lines;
+    }
+
+    // 计分板不可用时显示在第二条BossBar上的摘要，按玩家名排序保证顺序一致
+    private String buildSummaryTitle() {
+        List<Seat> ordered = new ArrayList<>(seats);
+        ordered.sort(Comparator.comparing(Seat::getName));
+
+        StringBuilder info = new StringBuilder();
+        if (gameStarted) {
+            info.append(ChatColor.AQUA).append("手牌数量: ");
+            for (Seat seat : ordered) {
+                info.append(seat.getName()).append(":").append(seat.getCardCount()).append(" ");
+            }
+        } else {
+            info.append(ChatColor.WHITE).append("玩家状态: ");
+            for (Seat seat : ordered) {
+                info.append(seat.isReady() ? ChatColor.GREEN + "✓" : ChatColor.RED + "✗").append(seat.getName()).append(" ");
+            }
+        }
+        return info.toString();
+    }
+
+    public long getVersion() { return version; }
+    public String getRoomId() { return roomId; }
+    public GameRoom.GameState getState() { return state; }
+    public boolean isGameStarted() { return gameStarted; }
+    public boolean isMoneyGame() { return moneyGame; }
+    public String getOwnerName() { return ownerName; }
+    public String getCurrentPlayerName() { return currentPlayerName; }
+    public String getLandlordName() { return landlordName; }
+    public int getMultiplier() { return multiplier; }
+    public int getCurrentBidScore() { return currentBidScore; }
+    public int getPlayerCount() { return seats.size(); }
+    public List<Seat> getSeats() { return seats; }
+
+    public String getBossBarTitle() { return bossBarTitle; }
+    public BarColor getBossBarColor() { return bossBarColor; }
+    public double getBossBarProgress() { return bossBarProgress; }
+    public List<String> getSidebarLines() { return sidebarLines; }
+    public String getSummaryTitle() { return summaryTitle; }
+}
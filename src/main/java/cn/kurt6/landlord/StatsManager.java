@@ -1,85 +1,114 @@
 package cn.kurt6.landlord;
 
-import org.bukkit.ChatColor;
-import org.bukkit.configuration.file.YamlConfiguration;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.UUID;
+import java.util.function.BiConsumer;
 
 public class StatsManager {
     private final Landlord plugin;
-    private final Map<UUID, PlayerStats> statsCache = new HashMap<>();
-    private File statsFile;
-    private YamlConfiguration statsConfig;
+    private final StatsStorage storage;
 
     public StatsManager(Landlord plugin) {
         this.plugin = plugin;
-        loadStats();
+        this.storage = createStorage();
     }
 
-    private void loadStats() {
-        statsFile = new File(plugin.getDataFolder(), "stats.yml");
-        if (!statsFile.exists()) {
-            plugin.saveResource("stats.yml", false);
+    // stats-storage: yaml（默认）或 mmap（内存映射定长槽位，适合超大玩家量）
+    private StatsStorage createStorage() {
+        String type = plugin.getConfig().getString("stats-storage", "yaml");
+        if ("mmap".equalsIgnoreCase(type)) {
+            try {
+                MappedStatsStorage mapped = new MappedStatsStorage(new File(plugin.getDataFolder(), "stats"));
+                if (mapped.isCreated()) {
+                    importYaml(mapped);
+                }
+                return mapped;
+            } catch (IOException | RuntimeException e) {
+                plugin.getLogger().severe("无法打开内存映射统计文件，改用 stats.yml: " + e.getMessage());
+            }
         }
-        statsConfig = YamlConfiguration.loadConfiguration(statsFile);
+        return new YamlStatsStorage(plugin);
     }
 
-    public void saveStats() {
-        try {
-            statsConfig.save(statsFile);
-        } catch (IOException e) {
-            plugin.getLogger().severe("无法保存统计文件: " + e.getMessage());
+    // 首次切换到 mmap 时导入 stats.yml 中能解析出 UUID 的玩家
+    private void importYaml(MappedStatsStorage mapped) {
+        if (!new File(plugin.getDataFolder(), "stats.yml").exists()) {
+            return;
         }
+        int[] counts = new int[2];
+        new YamlStatsStorage(plugin).forEach((playerName, stats) -> {
+            OfflinePlayer offline = Bukkit.getOfflinePlayerIfCached(playerName);
+            if (offline != null) {
+                mapped.save(offline.getUniqueId(), playerName, stats);
+                counts[0]++;
+            } else {
+                counts[1]++;
+            }
+        });
+        mapped.flush();
+        plugin.getLogger().info("已从 stats.yml 导入 " + counts[0] + " 名玩家的统计" +
+                (counts[1] > 0 ? "，" + counts[1] + " 名玩家因无法解析UUID被跳过" : ""));
     }
 
-    public PlayerStats getPlayerStats(String playerName) {
-        String path = "players." + playerName;
-        if (!statsConfig.contains(path)) {
-            return new PlayerStats();
+    /**
+     * 落盘：持锁时只准备数据，写文件在锁外进行，不阻塞游戏线程更新统计
+     */
+    public void saveStats() {
+        Runnable write;
+        synchronized (this) {
+            write = storage.prepareFlush();
         }
-        return new PlayerStats(
-                statsConfig.getInt(path + ".gamesPlayed"),
-                statsConfig.getInt(path + ".gamesWon"),
-                statsConfig.getInt(path + ".gamesLost"),
-                statsConfig.getInt(path + ".points"),
-                statsConfig.getDouble(path + ".netMoney", 0) // 只保留净收益
-        );
+        write.run();
+    }
+
+    public synchronized void close() {
+        storage.close();
+    }
+
+    public synchronized PlayerStats getPlayerStats(UUID playerId, String playerName) {
+        return storage.load(playerId, playerName);
+    }
+
+    /**
+     * 按名字读取统计（mmap 存储下需要扫描，优先使用 UUID 版本）
+     */
+    public synchronized PlayerStats getPlayerStats(String playerName) {
+        return storage.loadByName(playerName);
+    }
+
+    public synchronized void updatePlayerStats(UUID playerId, String playerName, PlayerStats stats) {
+        storage.save(playerId, playerName, stats);
+        // 落盘交给I/O执行器，连续更新合并为一次写入
+        plugin.getIoExecutor().submit("stats-flush", "stats-flush", this::saveStats);
     }
 
-    public void updatePlayerStats(String playerName, PlayerStats stats) {
-        String path = "players." + playerName;
-        statsConfig.set(path + ".gamesPlayed", stats.getGamesPlayed());
-        statsConfig.set(path + ".gamesWon", stats.getGamesWon());
-        statsConfig.set(path + ".gamesLost", stats.getGamesLost());
-        statsConfig.set(path + ".points", stats.getPoints());
-        statsConfig.set(path + ".netMoney", stats.getNetMoney()); // 只保留净收益
-        saveStats();
+    public synchronized void forEachPlayer(BiConsumer<String, PlayerStats> action) {
+        storage.forEach(action);
     }
 
     public void showStats(Player player) {
-        PlayerStats stats = getPlayerStats(player.getName());
-        player.sendMessage(ChatColor.GOLD + "=== 你的游戏统计 ===");
-        player.sendMessage(ChatColor.YELLOW + "总游戏场次: " + stats.getGamesPlayed());
-        player.sendMessage(ChatColor.GREEN + "胜利场次: " + stats.getGamesWon());
-        player.sendMessage(ChatColor.RED + "失败场次: " + stats.getGamesLost());
-        player.sendMessage(ChatColor.AQUA + "当前积分: " + stats.getPoints());
-        player.sendMessage(ChatColor.GOLD + "净收益金币: " + String.format("%.2f", stats.getNetMoney()));
+        // 优先读取进服时预加载的档案
+        PlayerStats stats = plugin.getProfileManager().getStats(player);
+        player.sendMessage(Component.text("=== 你的游戏统计 ===", NamedTextColor.GOLD));
+        player.sendMessage(Component.text("总游戏场次: " + stats.getGamesPlayed(), NamedTextColor.YELLOW));
+        player.sendMessage(Component.text("胜利场次: " + stats.getGamesWon(), NamedTextColor.GREEN));
+        player.sendMessage(Component.text("失败场次: " + stats.getGamesLost(), NamedTextColor.RED));
+        player.sendMessage(Component.text("当前积分: " + stats.getPoints(), NamedTextColor.AQUA));
+        player.sendMessage(Component.text("净收益金币: " + String.format("%.2f", stats.getNetMoney()), NamedTextColor.GOLD));
 
         if (stats.getGamesPlayed() > 0) {
             int winRate = (int) ((double) stats.getGamesWon() / stats.getGamesPlayed() * 100);
-            player.sendMessage(ChatColor.YELLOW + "胜率: " + winRate + "%");
+            player.sendMessage(Component.text("胜率: " + winRate + "%", NamedTextColor.YELLOW));
         }
     }
 
-    public YamlConfiguration getStatsConfig() {
-        return statsConfig;
-    }
-
     public static class PlayerStats {
         private int gamesPlayed;
         private int gamesWon;
@@ -97,6 +126,10 @@ public class StatsManager {
             this.netMoney = netMoney;
         }
 
+        public PlayerStats copy() {
+            return new PlayerStats(gamesPlayed, gamesWon, gamesLost, points, netMoney);
+        }
+
         // Getter 和 Setter 方法
         public int getGamesPlayed() { return gamesPlayed; }
         public void incrementGamesPlayed() { gamesPlayed++; }
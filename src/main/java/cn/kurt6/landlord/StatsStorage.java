@@ -0,0 +1,38 @@
+package cn.kurt6.landlord;
+
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * 玩家统计存储后端，由 StatsManager 统一调用（调用方负责同步）
+ */
+public interface StatsStorage {
+
+    /**
+     * 读取玩家统计，不存在时返回全零统计
+     */
+    StatsManager.PlayerStats load(UUID playerId, String playerName);
+
+    /**
+     * 按名字读取（兼容旧接口），找不到返回全零统计
+     */
+    StatsManager.PlayerStats loadByName(String playerName);
+
+    void save(UUID playerId, String playerName, StatsManager.PlayerStats stats);
+
+    /**
+     * 遍历所有玩家统计（排行榜等使用）
+     */
+    void forEach(BiConsumer<String, StatsManager.PlayerStats> action);
+
+    void flush();
+
+    /**
+     * 持锁时调用，返回在锁外执行的写入任务；默认直接落盘
+     */
+    default Runnable prepareFlush() {
+        return this::flush;
+    }
+
+    void close();
+}
@@ -0,0 +1,207 @@
+package cn.kurt6.landlord;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 每tick时间预算调度器：可延后的工作（界面刷新、AI决策、特效）按优先级排队，
+ * 每tick在预算内尽量执行，剩余的顺延到下一tick
+ * 预算按实际tick间隔自动收缩，服务器变慢时插件占用的时间也随之减少
+ * Folia下房间分布在各区域线程，这里只能测到投递到房间邮箱的耗时，因此不做预算：
+ * 任务提交后立即执行（投递到房间邮箱），调度器只在全局区域为负载降级采样tick间隔
+ */
+public class TickBudgetGovernor {
+    private static final long TICK_NANOS = 50_000_000L;
+    private static final long LOW_PRIORITY_MAX_AGE = 40; // 低优先级任务排队超过40tick直接丢弃（过期特效没有意义）
+    private static final int CAPPED_HIGH_PER_TICK = 2;   // 降级时每tick最多执行的AI决策数
+
+    public enum Priority {
+        HIGH,    // 影响对局推进（托管/AI出牌）
+        NORMAL,  // 界面刷新
+        LOW      // 粒子、音效等可丢弃的特效
+    }
+
+    private static final class Job {
+        final String key;
+        final Priority priority;
+        final long enqueuedTick;
+        Runnable task;
+
+        Job(String key, Priority priority, long enqueuedTick, Runnable task) {
+            this.key = key;
+            this.priority = priority;
+            this.enqueuedTick = enqueuedTick;
+            this.task = task;
+        }
+    }
+
+    private final Landlord plugin;
+    private final LoadShedder loadShedder;
+    private final long configuredBudgetNanos;
+    private final boolean budgeted; // Folia下为false
+    private final EnumMap<Priority, ArrayDeque<Job>> queues = new EnumMap<>(Priority.class);
+    private final Map<String, Job> pendingByKey = new HashMap<>();
+    private long currentTick = 0;
+    private long lastTickStart = 0;
+    private BukkitTask bukkitTask;
+    private ScheduledTask foliaTask;
+
+    // 统计信息
+    private volatile long lastBudgetNanos;
+    private volatile long lastUsedNanos;
+    private volatile int lastExecuted;
+    private volatile int carriedOver;
+    private volatile long dropped;
+
+    public TickBudgetGovernor(Landlord plugin, LoadShedder loadShedder, double budgetMillis) {
+        this.plugin = plugin;
+        this.loadShedder = loadShedder;
+        this.configuredBudgetNanos = (long) (Math.max(0.5, budgetMillis) * 1_000_000L);
+        this.lastBudgetNanos = configuredBudgetNanos;
+        this.budgeted = !plugin.isFolia();
+        for (Priority priority : Priority.values()) {
+            queues.put(priority, new ArrayDeque<>());
+        }
+    }
+
+    public void start() {
+        if (plugin.isFolia()) {
+            foliaTask = Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin, t -> tick(), 1L, 1L);
+        } else {
+            bukkitTask = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    /**
+     * 停止调度并立即执行剩余任务（插件关闭时调用）
+     */
+    public void stop() {
+        if (bukkitTask != null) bukkitTask.cancel();
+        if (foliaTask != null) foliaTask.cancel();
+        Job job;
+        while ((job = poll(true)) != null) {
+            if (job.priority != Priority.LOW) {
+                run(job.task);
+            }
+        }
+    }
+
+    /**
+     * 提交一个可延后的任务
+     * @param key 合并键：同一键尚未执行时只保留最新的任务，null表示不合并
+     */
+    public void submit(Priority priority, String key, Runnable task) {
+        if (!budgeted) {
+            run(task);
+            return;
+        }
+        enqueue(priority, key, task);
+    }
+
+    private synchronized void enqueue(Priority priority, String key, Runnable task) {
+        if (key != null) {
+            Job pending = pendingByKey.get(key);
+            if (pending != null) {
+                pending.task = task;
+                return;
+            }
+        }
+        Job job = new Job(key, priority, currentTick, task);
+        queues.get(priority).add(job);
+        if (key != null) {
+            pendingByKey.put(key, job);
+        }
+    }
+
+    private void tick() {
+        long start = System.nanoTime();
+        long interval = lastTickStart == 0 ? TICK_NANOS : start - lastTickStart;
+        lastTickStart = start;
+        synchronized (this) {
+            currentTick++;
+        }
+        loadShedder.sample(interval);
+        if (!budgeted) {
+            return;
+        }
+        int highCap = loadShedder.isAtLeast(LoadShedder.LEVEL_AI_CAP) ? CAPPED_HIGH_PER_TICK : Integer.MAX_VALUE;
+
+        // tick间隔超过50ms说明服务器已经落后，按比例收缩预算（最低1/4）
+        double scale = Math.max(0.25, Math.min(1.0, (double) TICK_NANOS / Math.max(1L, interval)));
+        long budget = (long) (configuredBudgetNanos * scale);
+        lastBudgetNanos = budget;
+
+        int executed = 0;
+        int highExecuted = 0;
+        Job job;
+        // 每tick至少执行一个任务，保证不会完全停滞
+        while ((job = poll(highExecuted < highCap)) != null) {
+            run(job.task);
+            executed++;
+            if (job.priority == Priority.HIGH) {
+                highExecuted++;
+            }
+            if (System.nanoTime() - start >= budget) {
+                break;
+            }
+        }
+
+        lastUsedNanos = System.nanoTime() - start;
+        lastExecuted = executed;
+        carriedOver = getQueued();
+    }
+
+    private synchronized Job poll(boolean allowHigh) {
+        for (Priority priority : Priority.values()) {
+            if (priority == Priority.HIGH && !allowHigh) {
+                continue;
+            }
+            ArrayDeque<Job> queue = queues.get(priority);
+            Job job;
+            while ((job = queue.poll()) != null) {
+                if (job.key != null) {
+                    pendingByKey.remove(job.key);
+                }
+                if (priority == Priority.LOW && currentTick - job.enqueuedTick > LOW_PRIORITY_MAX_AGE) {
+                    dropped++;
+                    continue;
+                }
+                return job;
+            }
+        }
+        return null;
+    }
+
+    private void run(Runnable task) {
+        try {
+            task.run();
+        } catch (Exception e) {
+            plugin.getLogger().warning("执行延后任务时出错: " + e.getMessage());
+        }
+    }
+
+    public synchronized int getQueued() {
+        int total = 0;
+        for (ArrayDeque<Job> queue : queues.values()) {
+            total += queue.size();
+        }
+        return total;
+    }
+
+    /**
+     * 是否按预算执行（Folia下不做预算，/ddz perf 不显示预算数据）
+     */
+    public boolean isBudgeted() { return budgeted; }
+    public long getConfiguredBudgetNanos() { return configuredBudgetNanos; }
+    public long getLastBudgetNanos() { return lastBudgetNanos; }
+    public long getLastUsedNanos() { return lastUsedNanos; }
+    public int getLastExecuted() { return lastExecuted; }
+    public int getCarriedOver() { return carriedOver; }
+    public long getDropped() { return dropped; }
+}
@@ -0,0 +1,224 @@
+package cn.kurt6.landlord;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 全插件共用的分层时间轮，所有房间的倒计时与超时都挂在这里
+ * 由一个每tick执行的任务驱动，添加/取消均为O(1)，与房间数量无关
+ */
+public class TimingWheel {
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;  // 每层64个槽
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;                    // 最长约 64^4 tick
+    private static final long MAX_DELAY = (1L << (WHEEL_BITS * LEVELS)) - 1;
+
+    private final Landlord plugin;
+    private final Timeout[][] wheels = new Timeout[LEVELS][WHEEL_SIZE]; // 每个槽是双向链表的头
+    private long currentTick = 0;
+    private int pending = 0;
+    private BukkitTask bukkitTask;
+    private ScheduledTask foliaTask;
+
+    /**
+     * 定时任务句柄，可随时取消
+     */
+    public final class Timeout {
+        private final Runnable task;
+        private final Player context;   // Folia下回到该玩家的实体线程执行
+        private final long period;      // 大于0表示周期任务
+        private long deadline;
+        private int level = -1;         // 所在层，-1表示不在轮上
+        private int slot;
+        private Timeout prev;
+        private Timeout next;
+        private volatile boolean cancelled = false;
+
+        private Timeout(Runnable task, Player context, long deadline, long period) {
+            this.task = task;
+            this.context = context;
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        public void cancel() {
+            TimingWheel.this.cancel(this);
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    public TimingWheel(Landlord plugin) {
+        this.plugin = plugin;
+    }
+
+    public void start() {
+        if (plugin.isFolia()) {
+            foliaTask = Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin, t -> tick(), 1L, 1L);
+        } else {
+            bukkitTask = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    public synchronized void stop() {
+        if (bukkitTask != null) bukkitTask.cancel();
+        if (foliaTask != null) foliaTask.cancel();
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+                for (Timeout t = wheels[level][slot]; t != null; t = t.next) {
+                    t.cancelled = true;
+                    t.level = -1;
+                }
+                wheels[level][slot] = null;
+            }
+        }
+        pending = 0;
+    }
+
+    /**
+     * 延迟delay tick后执行一次
+     */
+    public Timeout schedule(Runnable task, long delay, Player context) {
+        return add(new Timeout(task, context, 0, 0), delay);
+    }
+
+    /**
+     * 延迟delay tick后开始，每period tick执行一次，直到取消
+     */
+    public Timeout scheduleRepeating(Runnable task, long delay, long period, Player context) {
+        return add(new Timeout(task, context, 0, Math.max(1L, period)), delay);
+    }
+
+    public synchronized int getPending() {
+        return pending;
+    }
+
+    private synchronized Timeout add(Timeout timeout, long delay) {
+        timeout.deadline = currentTick + Math.max(1L, Math.min(delay, MAX_DELAY));
+        insert(timeout);
+        return timeout;
+    }
+
+    private synchronized void cancel(Timeout timeout) {
+        timeout.cancelled = true;
+        unlink(timeout);
+    }
+
+    // 驱动任务：每tick推进一格，必要时把高层槽位下放到低层
+    private void tick() {
+        List<Timeout> expired = new ArrayList<>();
+        synchronized (this) {
+            currentTick++;
+            for (int level = LEVELS - 1; level > 0; level--) {
+                long shift = (long) WHEEL_BITS * level;
+                if ((currentTick & ((1L << shift) - 1)) == 0) {
+                    cascade(level, (int) ((currentTick >>> shift) & WHEEL_MASK));
+                }
+            }
+
+            int slot = (int) (currentTick & WHEEL_MASK);
+            Timeout head = wheels[0][slot];
+            wheels[0][slot] = null;
+            while (head != null) {
+                Timeout next = head.next;
+                head.prev = null;
+                head.next = null;
+                head.level = -1;
+                pending--;
+                if (!head.cancelled) {
+                    expired.add(head);
+                    // 周期任务在触发时立即重新挂上，回调中取消同样有效
+                    if (head.period > 0) {
+                        head.deadline = currentTick + head.period;
+                        insert(head);
+                    }
+                }
+                head = next;
+            }
+        }
+
+        for (Timeout timeout : expired) {
+            dispatch(timeout);
+        }
+    }
+
+    private void dispatch(Timeout timeout) {
+        try {
+            if (plugin.isFolia() && timeout.context != null) {
+                timeout.context.getScheduler().run(plugin, t -> runSafely(timeout), null);
+            } else {
+                runSafely(timeout);
+            }
+        } catch (Exception e) {
+            plugin.getLogger().warning("调度定时任务时出现错误: " + e.getMessage());
+        }
+    }
+
+    private void runSafely(Timeout timeout) {
+        if (timeout.cancelled) return;
+        try {
+            timeout.task.run();
+        } catch (Exception e) {
+            plugin.getLogger().warning("定时任务执行出错: " + e.getMessage());
+        }
+    }
+
+    private void cascade(int level, int slot) {
+        Timeout head = wheels[level][slot];
+        wheels[level][slot] = null;
+        while (head != null) {
+            Timeout next = head.next;
+            head.prev = null;
+            head.next = null;
+            head.level = -1;
+            pending--;
+            insert(head);
+            head = next;
+        }
+    }
+
+    private void insert(Timeout timeout) {
+        long delta = Math.max(0L, timeout.deadline - currentTick);
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << (WHEEL_BITS * (level + 1)))) {
+            level++;
+        }
+        // 下放时delta可能为0，此时正好落在本tick即将处理的槽
+        int slot = (int) ((timeout.deadline >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+
+        Timeout head = wheels[level][slot];
+        timeout.next = head;
+        timeout.prev = null;
+        if (head != null) head.prev = timeout;
+        wheels[level][slot] = timeout;
+        timeout.level = level;
+        timeout.slot = slot;
+        pending++;
+    }
+
+    private void unlink(Timeout timeout) {
+        if (timeout.level < 0) return;
+        int level = timeout.level;
+        int slot = timeout.slot;
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else if (wheels[level][slot] == timeout) {
+            wheels[level][slot] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.level = -1;
+        pending--;
+    }
+}
@@ -0,0 +1,95 @@
+package cn.kurt6.landlord;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * 默认存储：stats.yml，按玩家名保存
+ */
+public class YamlStatsStorage implements StatsStorage {
+    private final Landlord plugin;
+    private final File statsFile;
+    private final YamlConfiguration statsConfig;
+
+    public YamlStatsStorage(Landlord plugin) {
+        this.plugin = plugin;
+        statsFile = new File(plugin.getDataFolder(), "stats.yml");
+        if (!statsFile.exists()) {
+            plugin.saveResource("stats.yml", false);
+        }
+        statsConfig = YamlConfiguration.loadConfiguration(statsFile);
+    }
+
+    @Override
+    public StatsManager.PlayerStats load(UUID playerId, String playerName) {
+        return loadByName(playerName);
+    }
+
+    @Override
+    public StatsManager.PlayerStats loadByName(String playerName) {
+        String path = "players." + playerName;
+        if (!statsConfig.contains(path)) {
+            return new StatsManager.PlayerStats();
+        }
+        return new StatsManager.PlayerStats(
+                statsConfig.getInt(path + ".gamesPlayed"),
+                statsConfig.getInt(path + ".gamesWon"),
+                statsConfig.getInt(path + ".gamesLost"),
+                statsConfig.getInt(path + ".points"),
+                statsConfig.getDouble(path + ".netMoney", 0) // 只保留净收益
+        );
+    }
+
+    @Override
+    public void save(UUID playerId, String playerName, StatsManager.PlayerStats stats) {
+        String path = "players." + playerName;
+        statsConfig.set(path + ".gamesPlayed", stats.getGamesPlayed());
+        statsConfig.set(path + ".gamesWon", stats.getGamesWon());
+        statsConfig.set(path + ".gamesLost", stats.getGamesLost());
+        statsConfig.set(path + ".points", stats.getPoints());
+        statsConfig.set(path + ".netMoney", stats.getNetMoney()); // 只保留净收益
+    }
+
+    @Override
+    public void forEach(BiConsumer<String, StatsManager.PlayerStats> action) {
+        ConfigurationSection playersSection = statsConfig.getConfigurationSection("players");
+        if (playersSection == null) {
+            return;
+        }
+        for (String playerName : playersSection.getKeys(false)) {
+            action.accept(playerName, loadByName(playerName));
+        }
+    }
+
+    @Override
+    public void flush() {
+        write(statsConfig.saveToString());
+    }
+
+    // 序列化必须持锁，写文件可以在锁外
+    @Override
+    public Runnable prepareFlush() {
+        String data = statsConfig.saveToString();
+        return () -> write(data);
+    }
+
+    private synchronized void write(String data) {
+        try {
+            Files.write(statsFile.toPath(), data.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            plugin.getLogger().severe("无法保存统计文件: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+}